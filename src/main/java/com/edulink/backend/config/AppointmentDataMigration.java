@@ -0,0 +1,132 @@
+package com.edulink.backend.config;
+
+import com.edulink.backend.model.entity.Appointment;
+import com.edulink.backend.model.entity.AppointmentReminder;
+import com.edulink.backend.service.AppointmentReminderService;
+import com.edulink.backend.service.RecurringAppointmentService;
+import com.mongodb.client.result.UpdateResult;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationExpression;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.aggregation.ArithmeticOperators;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Backfills stored fields that were added to appointments after documents already existed.
+ * Every step only touches documents that are missing the field, so it is safe to run on each startup.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AppointmentDataMigration implements CommandLineRunner {
+
+    private final MongoTemplate mongoTemplate;
+    private final RecurringAppointmentService recurringAppointmentService;
+    private final AppointmentReminderService appointmentReminderService;
+
+    @Override
+    public void run(String... args) {
+        try {
+            backfillEndAt();
+            backfillParticipantIds();
+            backfillSeriesState();
+            armUpcomingReminders();
+        } catch (Exception e) {
+            log.error("❌ Appointment data migration failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * endAt = scheduledAt + durationMinutes (30 when unset), matching Appointment.getEndTime().
+     */
+    private void backfillEndAt() {
+        Query missingEndAt = new Query(Criteria.where("endAt").exists(false).and("scheduledAt").exists(true));
+
+        AggregationUpdate setEndAt = AggregationUpdate.update()
+                .set("endAt").toValue(ArithmeticOperators.Add.valueOf("scheduledAt")
+                        .add(ArithmeticOperators.Multiply.valueOf(
+                                        ConditionalOperators.ifNull("durationMinutes").then(30))
+                                .multiplyBy(60_000)));
+
+        UpdateResult result = mongoTemplate.updateMulti(missingEndAt, setEndAt, Appointment.class);
+        if (result.getModifiedCount() > 0) {
+            log.info("Backfilled endAt on {} appointments", result.getModifiedCount());
+        }
+    }
+
+    /**
+     * participantIds = the non-null studentId and lecturerId, matching Appointment.refreshDerivedFields().
+     */
+    private void backfillParticipantIds() {
+        Query missingParticipants = new Query(Criteria.where("participantIds").exists(false));
+
+        Document participants = new Document("$setUnion", List.of(new Document("$filter", new Document()
+                .append("input", List.of("$studentId", "$lecturerId"))
+                .append("cond", new Document("$ne", Arrays.asList("$$this", null))))));
+        AggregationUpdate setParticipantIds = AggregationUpdate.update()
+                .set("participantIds").toValue((AggregationExpression) context -> participants);
+
+        UpdateResult result = mongoTemplate.updateMulti(missingParticipants, setParticipantIds, Appointment.class);
+        if (result.getModifiedCount() > 0) {
+            log.info("Backfilled participantIds on {} appointments", result.getModifiedCount());
+        }
+    }
+
+    /**
+     * nextOccurrenceAt, generatedUntil and instanceCount on recurring parents.
+     */
+    private void backfillSeriesState() {
+        int updated = recurringAppointmentService.backfillSeriesState();
+        if (updated > 0) {
+            log.info("Backfilled series state on {} recurring appointments", updated);
+        }
+    }
+
+    /**
+     * Reminders of confirmed appointments booked before reminders were stored.
+     * Only upcoming confirmed appointments without any reminder row are selected (an anti-join on
+     * appointment_reminders), so appointments armed since are not read again on later startups.
+     */
+    private void armUpcomingReminders() {
+        Document hasReminder = new Document("$lookup", new Document()
+                .append("from", mongoTemplate.getCollectionName(AppointmentReminder.class))
+                .append("let", new Document("appointmentId", new Document("$toString", "$_id")))
+                .append("pipeline", List.of(
+                        new Document("$match", new Document("$expr",
+                                new Document("$eq", List.of("$appointmentId", "$$appointmentId")))),
+                        new Document("$limit", 1),
+                        new Document("$project", new Document("_id", 1))))
+                .append("as", "reminders"));
+
+        Aggregation withoutReminders = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("status").is(Appointment.AppointmentStatus.CONFIRMED)
+                        .and("scheduledAt").gt(LocalDateTime.now())),
+                context -> hasReminder,
+                Aggregation.match(Criteria.where("reminders").size(0)),
+                Aggregation.project().andExclude("reminders"));
+
+        int armed = 0;
+        try (Stream<Appointment> appointments = mongoTemplate.aggregateStream(withoutReminders, Appointment.class, Appointment.class)) {
+            for (Appointment appointment : (Iterable<Appointment>) appointments::iterator) {
+                appointmentReminderService.sync(appointment);
+                armed++;
+            }
+        }
+        if (armed > 0) {
+            log.info("Armed reminders of {} upcoming appointments", armed);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.edulink.backend.config;
+
+import com.edulink.backend.service.EmailSender;
+import com.edulink.backend.service.LoggingEmailSender;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MailConfig {
+
+    /**
+     * Fallback sender used until a real {@link EmailSender} bean is defined
+     */
+    @Bean
+    @ConditionalOnMissingBean(EmailSender.class)
+    public EmailSender emailSender() {
+        return new LoggingEmailSender();
+    }
+}
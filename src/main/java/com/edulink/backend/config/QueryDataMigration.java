@@ -0,0 +1,161 @@
+package com.edulink.backend.config;
+
+import com.edulink.backend.model.entity.Query;
+import com.edulink.backend.model.entity.QueryMessage;
+import com.edulink.backend.model.entity.QueryStatusChange;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Moves the messages and status history that used to be embedded in query documents into the
+ * query_messages and query_status_history collections. Moved rows are upserted under stable ids
+ * and the arrays are only unset afterwards, so an interrupted run is completed by the next startup.
+ *
+ * Replies can arrive while a query is being moved, and take their seq from messageCount, which
+ * legacy documents lack. Moved messages therefore take the seqs up to 0, below any reply, and
+ * messageCount is raised by their number in the same update that unsets the arrays.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class QueryDataMigration implements CommandLineRunner {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public void run(String... args) {
+        try {
+            moveEmbeddedThreads();
+        } catch (Exception e) {
+            log.error("❌ Query data migration failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private void moveEmbeddedThreads() {
+        org.springframework.data.mongodb.core.query.Query embedded = new org.springframework.data.mongodb.core.query.Query(embedded());
+        embedded.fields().include("messages", "statusHistory");
+
+        int moved = 0;
+        try (Stream<LegacyQuery> queries = mongoTemplate.stream(embedded, LegacyQuery.class,
+                mongoTemplate.getCollectionName(Query.class))) {
+            for (LegacyQuery legacy : (Iterable<LegacyQuery>) queries::iterator) {
+                moveThread(legacy);
+                moved++;
+            }
+        }
+        if (moved > 0) {
+            log.info("Moved embedded messages and status history of {} queries into their own collections", moved);
+        }
+    }
+
+    private void moveThread(LegacyQuery legacy) {
+        FindAndReplaceOptions upsert = FindAndReplaceOptions.options().upsert();
+
+        List<LegacyMessage> messages = legacy.getMessages() != null ? legacy.getMessages() : List.of();
+        if (!messages.isEmpty()) {
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, QueryMessage.class);
+            for (int i = 0; i < messages.size(); i++) {
+                LegacyMessage message = messages.get(i);
+                String id = message.getId() != null ? message.getId() : legacy.getId() + ":message:" + i;
+                bulk.replaceOne(byId(id), QueryMessage.builder()
+                        .id(id)
+                        .queryId(legacy.getId())
+                        .seq(i + 1 - messages.size())
+                        .sender(message.getSender())
+                        .senderType(message.getSenderType())
+                        .senderName(message.getSenderName())
+                        .content(message.getContent())
+                        .timestamp(message.getTimestamp())
+                        .attachments(message.getAttachments() != null ? message.getAttachments() : new ArrayList<>())
+                        .isRead(message.isRead())
+                        .readAt(message.getReadAt())
+                        .build(), upsert);
+            }
+            bulk.execute();
+        }
+
+        List<LegacyStatusEntry> history = legacy.getStatusHistory() != null ? legacy.getStatusHistory() : List.of();
+        if (!history.isEmpty()) {
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, QueryStatusChange.class);
+            for (int i = 0; i < history.size(); i++) {
+                LegacyStatusEntry entry = history.get(i);
+                String id = legacy.getId() + ":status:" + i;
+                bulk.replaceOne(byId(id), QueryStatusChange.builder()
+                        .id(id)
+                        .queryId(legacy.getId())
+                        .status(entry.getStatus())
+                        .timestamp(entry.getTimestamp())
+                        .changedBy(entry.getChangedBy())
+                        .changedByName(entry.getChangedByName())
+                        .note(entry.getNote())
+                        .reason(entry.getReason())
+                        .build(), upsert);
+            }
+            bulk.execute();
+        }
+
+        // Only once, should another node be moving the same query
+        mongoTemplate.updateFirst(byId(legacy.getId()).addCriteria(embedded()), new Update()
+                .inc("messageCount", messages.size())
+                .unset("messages")
+                .unset("statusHistory"), Query.class);
+    }
+
+    private static Criteria embedded() {
+        return new Criteria().orOperator(Criteria.where("messages").exists(true), Criteria.where("statusHistory").exists(true));
+    }
+
+    // The entity shares its simple name with Mongo's Query, which is used fully qualified here
+    private static org.springframework.data.mongodb.core.query.Query byId(String id) {
+        return new org.springframework.data.mongodb.core.query.Query(Criteria.where("_id").is(id));
+    }
+
+    // Shape of the arrays as they were embedded in query documents
+
+    @Data
+    @NoArgsConstructor
+    static class LegacyQuery {
+        private String id;
+        private List<LegacyMessage> messages;
+        private List<LegacyStatusEntry> statusHistory;
+    }
+
+    @Data
+    @NoArgsConstructor
+    static class LegacyMessage {
+        private String id;
+        private String sender;
+        private String senderType;
+        private String senderName;
+        private String content;
+        private LocalDateTime timestamp;
+        private List<Query.Attachment> attachments;
+        private boolean isRead;
+        private LocalDateTime readAt;
+    }
+
+    @Data
+    @NoArgsConstructor
+    static class LegacyStatusEntry {
+        private Query.QueryStatus status;
+        private LocalDateTime timestamp;
+        private String changedBy;
+        private String changedByName;
+        private String note;
+        private String reason;
+    }
+}
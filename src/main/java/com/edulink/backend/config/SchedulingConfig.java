@@ -0,0 +1,16 @@
+package com.edulink.backend.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Turns on the @Scheduled jobs (schedulers, metrics reconciliation, index refreshes).
+ * The appointment jobs are further gated by their own appointment.* settings.
+ * Set spring.task.scheduling.enabled=false to run an instance without them.
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "spring.task.scheduling.enabled", havingValue = "true", matchIfMissing = true)
+public class SchedulingConfig {
+}
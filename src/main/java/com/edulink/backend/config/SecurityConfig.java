@@ -61,6 +61,7 @@ public class SecurityConfig {
                 .requestMatchers("/api/auth/check-email").permitAll()
                 .requestMatchers("/api/auth/refresh").permitAll()
                 .requestMatchers("/api/files/**").permitAll()
+                .requestMatchers(HttpMethod.GET, "/api/calendar/feed/**").permitAll() // Token in the URL
                 .requestMatchers("/actuator/health").permitAll()
                 .requestMatchers("/actuator/info").permitAll()
                 .requestMatchers("/ws/**").permitAll()
@@ -152,6 +153,10 @@ public class SecurityConfig {
                 .requestMatchers(HttpMethod.DELETE, "/api/resources/**").hasRole("LECTURER")
                 .requestMatchers(HttpMethod.GET, "/api/resources/{resourceId}/download").authenticated()
                 
+                // =================== SEARCH ENDPOINTS ===================
+                .requestMatchers(HttpMethod.POST, "/api/search/reindex").hasRole("ADMIN")
+                .requestMatchers("/api/search/**").authenticated()
+
                 // =================== ROLE-SPECIFIC ENDPOINTS ===================
                 // Student-specific endpoints
                 .requestMatchers("/api/student/**").hasRole("STUDENT")
@@ -0,0 +1,69 @@
+package com.edulink.backend.controller;
+
+import com.edulink.backend.dto.response.ApiResponse;
+import com.edulink.backend.dto.response.AppointmentUtilizationResponse;
+import com.edulink.backend.model.entity.User;
+import com.edulink.backend.service.AppointmentUtilizationService;
+import com.edulink.backend.service.UserService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Appointment analytics served from pre-aggregated utilization cubes.
+ */
+@RestController
+@RequestMapping("/api/appointments/analytics")
+@RequiredArgsConstructor
+@Slf4j
+public class AppointmentAnalyticsController {
+
+    private final AppointmentUtilizationService appointmentUtilizationService;
+    private final UserService userService;
+
+    /**
+     * Utilization by weekday and hour. Lecturers get their own; admins get the given lecturer,
+     * or all lecturers combined when none is given.
+     */
+    @GetMapping("/utilization")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<ApiResponse<AppointmentUtilizationResponse>> getUtilization(
+            @RequestParam(required = false) String lecturerId) {
+        User currentUser = userService.getCurrentUser();
+
+        AppointmentUtilizationResponse utilization;
+        if (currentUser.getRole() == User.UserRole.ADMIN) {
+            utilization = lecturerId != null
+                    ? appointmentUtilizationService.getLecturerUtilization(lecturerId)
+                    : appointmentUtilizationService.getOverallUtilization();
+        } else if (currentUser.getRole() == User.UserRole.LECTURER) {
+            utilization = appointmentUtilizationService.getLecturerUtilization(currentUser.getId());
+        } else {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(ApiResponse.error("Only lecturers and admins can view utilization"));
+        }
+
+        return ResponseEntity.ok(ApiResponse.success(utilization, "Utilization retrieved successfully"));
+    }
+
+    @GetMapping("/popular-times")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<List<AppointmentUtilizationResponse.Bucket>>> getPopularTimes(
+            @RequestParam(defaultValue = "10") int limit) {
+        List<AppointmentUtilizationResponse.Bucket> popularTimes =
+                appointmentUtilizationService.getPopularTimes(Math.max(1, Math.min(limit, 168)));
+        return ResponseEntity.ok(ApiResponse.success(popularTimes, "Popular appointment times retrieved successfully"));
+    }
+
+    @GetMapping("/lecturers")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<List<AppointmentUtilizationResponse>>> getLecturerUtilization() {
+        List<AppointmentUtilizationResponse> rankings = appointmentUtilizationService.getLecturerRankings();
+        return ResponseEntity.ok(ApiResponse.success(rankings, "Lecturer utilization retrieved successfully"));
+    }
+}
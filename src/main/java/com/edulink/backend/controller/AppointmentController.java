@@ -5,21 +5,25 @@ import com.edulink.backend.dto.request.AppointmentRequest;
 import com.edulink.backend.dto.request.AppointmentStatusUpdateRequest;
 import com.edulink.backend.dto.request.AppointmentUpdateRequest;
 import com.edulink.backend.dto.response.ApiResponse;
+import com.edulink.backend.dto.response.AppointmentPageResponse;
 import com.edulink.backend.dto.response.AppointmentResponse;
 import com.edulink.backend.dto.response.TimeSlotResponse;
-import com.edulink.backend.dto.response.UserProfileResponse;
 import com.edulink.backend.model.entity.Appointment;
-import com.edulink.backend.model.entity.Course;
 import com.edulink.backend.model.entity.User;
-import com.edulink.backend.model.entity.LecturerAvailability;
+import com.edulink.backend.repository.AppointmentFilter;
 import com.edulink.backend.repository.AppointmentRepository;
-import com.edulink.backend.repository.CourseRepository;
 import com.edulink.backend.repository.UserRepository;
-import com.edulink.backend.repository.LecturerAvailabilityRepository;
+import com.edulink.backend.service.AppointmentMetricsService;
+import com.edulink.backend.service.AppointmentResponseAssembler;
+import com.edulink.backend.service.AvailabilityService;
+import com.edulink.backend.service.RecurringAppointmentService;
+import com.edulink.backend.service.SlotReservationService;
 import com.edulink.backend.service.UserService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -27,10 +31,11 @@ import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
 import java.util.List;
 import java.util.stream.Collectors;
-import java.util.ArrayList;
 
 @RestController
 @RequestMapping("/api/appointments")
@@ -40,10 +45,14 @@ public class AppointmentController {
 
     private final AppointmentRepository appointmentRepository;
     private final UserRepository userRepository;
-    private final CourseRepository courseRepository;
     private final UserService userService;
-    // ✅ ADD THIS: Inject LecturerAvailabilityRepository
-    private final LecturerAvailabilityRepository lecturerAvailabilityRepository;
+    private final AvailabilityService availabilityService;
+    private final SlotReservationService slotReservationService;
+    private final AppointmentMetricsService appointmentMetricsService;
+    private final AppointmentResponseAssembler appointmentResponseAssembler;
+    private final RecurringAppointmentService recurringAppointmentService;
+
+    private static final int MAX_PAGE_SIZE = 100;
 
     // =================== CREATE APPOINTMENT ===================
     @PostMapping
@@ -99,6 +108,7 @@ public class AppointmentController {
 
         // Create appointment
         Appointment appointment = Appointment.builder()
+                .id(new ObjectId().toHexString())
                 .studentId(studentId)
                 .lecturerId(lecturerId)
                 .subject(request.getSubject())
@@ -120,18 +130,26 @@ public class AppointmentController {
                 .lastModifiedBy(currentUser.getId())
                 .build();
 
-        Appointment savedAppointment = appointmentRepository.save(appointment);
+        recurringAppointmentService.initializeSeries(appointment);
+
+        // Atomically claim the time slot; the conflict queries above cannot see a concurrent booking
+        Appointment savedAppointment = saveWithReservation(appointment, true);
 
         // Create recurring instances if needed
-        if (request.isRecurring() && request.getRecurringEndDate() != null) {
-            createRecurringInstances(savedAppointment, request);
+        RecurringAppointmentService.SeriesExpansion expansion =
+                recurringAppointmentService.expandNewSeries(savedAppointment, currentUser.getId());
+
+        AppointmentResponse response = appointmentResponseAssembler.toResponse(savedAppointment);
+        if (savedAppointment.isRecurring()) {
+            response.setRecurringInstancesCreated(expansion.created());
+            response.setRecurringConflicts(expansion.conflicts());
         }
 
         return new ResponseEntity<>(
                 ApiResponse.<AppointmentResponse>builder()
                         .success(true)
                         .message("Appointment created successfully")
-                        .data(mapToAppointmentResponse(savedAppointment))
+                        .data(response)
                         .build(),
                 HttpStatus.CREATED
         );
@@ -143,34 +161,17 @@ public class AppointmentController {
     public ResponseEntity<ApiResponse<List<AppointmentResponse>>> getMyAppointments(
             @RequestParam(required = false) String status,
             @RequestParam(required = false) String type,
-            @RequestParam(required = false) String courseId) {
+            @RequestParam(required = false) String courseId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String mode) {
         
         User currentUser = userService.getCurrentUser();
-        
-        Appointment.AppointmentStatus statusFilter = null;
-        if (status != null) {
-            try {
-                statusFilter = Appointment.AppointmentStatus.valueOf(status.toUpperCase());
-            } catch (IllegalArgumentException e) {
-                throw new RuntimeException("Invalid status: " + status);
-            }
-        }
-        
-        Appointment.AppointmentType typeFilter = null;
-        if (type != null) {
-            try {
-                typeFilter = Appointment.AppointmentType.valueOf(type.toUpperCase());
-            } catch (IllegalArgumentException e) {
-                throw new RuntimeException("Invalid type: " + type);
-            }
-        }
+        AppointmentFilter filter = buildFilter(currentUser, status, type, courseId, from, to, mode);
 
-        List<Appointment> appointments = appointmentRepository.findAppointmentsByFilters(
-                currentUser.getId(), statusFilter, typeFilter, courseId);
+        List<Appointment> appointments = appointmentRepository.findByFilter(filter);
 
-        List<AppointmentResponse> appointmentResponses = appointments.stream()
-                .map(this::mapToAppointmentResponse)
-                .collect(Collectors.toList());
+        List<AppointmentResponse> appointmentResponses = appointmentResponseAssembler.toResponses(appointments);
 
         return ResponseEntity.ok(
                 ApiResponse.<List<AppointmentResponse>>builder()
@@ -181,6 +182,51 @@ public class AppointmentController {
         );
     }
 
+    // =================== GET APPOINTMENTS (KEYSET PAGINATED) ===================
+    @GetMapping("/page")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<ApiResponse<AppointmentPageResponse>> getMyAppointmentsPage(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) String courseId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String mode,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+
+        User currentUser = userService.getCurrentUser();
+        AppointmentFilter filter = buildFilter(currentUser, status, type, courseId, from, to, mode);
+
+        int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        if (cursor != null && !cursor.isBlank()) {
+            applyCursor(filter, cursor);
+        }
+        // Fetch one extra row to learn whether another page exists
+        filter.setLimit(pageSize + 1);
+
+        List<Appointment> appointments = appointmentRepository.findByFilter(filter);
+        boolean hasMore = appointments.size() > pageSize;
+        if (hasMore) {
+            appointments = appointments.subList(0, pageSize);
+        }
+        Appointment last = appointments.isEmpty() ? null : appointments.get(appointments.size() - 1);
+
+        AppointmentPageResponse page = AppointmentPageResponse.builder()
+                .appointments(appointmentResponseAssembler.toResponses(appointments))
+                .nextCursor(hasMore ? encodeCursor(last) : null)
+                .hasMore(hasMore)
+                .build();
+
+        return ResponseEntity.ok(
+                ApiResponse.<AppointmentPageResponse>builder()
+                        .success(true)
+                        .message("Appointments retrieved successfully")
+                        .data(page)
+                        .build()
+        );
+    }
+
     // =================== GET SPECIFIC APPOINTMENT ===================
     @GetMapping("/{appointmentId}")
     @PreAuthorize("isAuthenticated()")
@@ -199,7 +245,7 @@ public class AppointmentController {
                 ApiResponse.<AppointmentResponse>builder()
                         .success(true)
                         .message("Appointment retrieved successfully")
-                        .data(mapToAppointmentResponse(appointment))
+                        .data(appointmentResponseAssembler.toResponse(appointment))
                         .build()
         );
     }
@@ -283,13 +329,16 @@ public class AppointmentController {
         appointment.setLastModifiedAt(LocalDateTime.now());
         appointment.setLastModifiedBy(currentUser.getId());
 
-        Appointment updatedAppointment = appointmentRepository.save(appointment);
+        boolean timeChanged = request.getScheduledAt() != null || request.getDurationMinutes() != null;
+        Appointment updatedAppointment = timeChanged && SlotReservationService.holdsSlot(appointment.getStatus())
+                ? saveWithReservation(appointment, false)
+                : appointmentRepository.save(appointment);
 
         return ResponseEntity.ok(
                 ApiResponse.<AppointmentResponse>builder()
                         .success(true)
                         .message("Appointment updated successfully")
-                        .data(mapToAppointmentResponse(updatedAppointment))
+                        .data(appointmentResponseAssembler.toResponse(updatedAppointment))
                         .build()
         );
     }
@@ -354,12 +403,15 @@ public class AppointmentController {
         appointment.setLastModifiedBy(currentUser.getId());
 
         Appointment updatedAppointment = appointmentRepository.save(appointment);
+        if (!SlotReservationService.holdsSlot(newStatus)) {
+            slotReservationService.release(appointmentId);
+        }
 
         return ResponseEntity.ok(
                 ApiResponse.<AppointmentResponse>builder()
                         .success(true)
                         .message("Appointment status updated successfully")
-                        .data(mapToAppointmentResponse(updatedAppointment))
+                        .data(appointmentResponseAssembler.toResponse(updatedAppointment))
                         .build()
         );
     }
@@ -384,6 +436,8 @@ public class AppointmentController {
         }
 
         appointmentRepository.delete(appointment);
+        slotReservationService.release(appointmentId);
+        appointmentMetricsService.recordDeleted(appointment);
 
         return ResponseEntity.ok(
                 ApiResponse.<Void>builder()
@@ -414,8 +468,8 @@ public class AppointmentController {
         LocalDate requestedDate = LocalDate.parse(date);
         
         // ✅ FIXED: Use real availability data instead of hardcoded times
-        List<TimeSlotResponse> availableSlots = generateRealAvailableTimeSlots(
-                lecturer, lecturerId, requestedDate, durationMinutes);
+        List<TimeSlotResponse> availableSlots = availabilityService.getBookableTimeSlotsForDate(
+                lecturer, requestedDate, durationMinutes);
 
         log.info("Generated {} available time slots for lecturer {} on {}", availableSlots.size(), lecturerId, date);
 
@@ -438,7 +492,15 @@ public class AppointmentController {
         LocalDateTime endOfDay = now.toLocalDate().atTime(23, 59, 59);
 
         Object stats;
-        if (currentUser.getRole() == User.UserRole.LECTURER) {
+        if (appointmentMetricsService.isReady()) {
+            AppointmentMetricsService.UserCounts counts = appointmentMetricsService.getUserCounts(currentUser.getId(), now);
+
+            stats = new Object() {
+                public final long today = counts.today;
+                public final long upcoming = counts.upcoming;
+                public final long pending = counts.pending;
+            };
+        } else if (currentUser.getRole() == User.UserRole.LECTURER) {
             long todayCount = appointmentRepository.findTodayAppointmentsByLecturerId(
                     currentUser.getId(), startOfDay, endOfDay).size();
             long upcomingCount = appointmentRepository.findUpcomingAppointmentsByLecturerId(
@@ -476,201 +538,79 @@ public class AppointmentController {
     }
 
     // =================== HELPER METHODS ===================
-    private AppointmentResponse mapToAppointmentResponse(Appointment appointment) {
-        User student = userRepository.findById(appointment.getStudentId()).orElse(null);
-        User lecturer = userRepository.findById(appointment.getLecturerId()).orElse(null);
-        
-        String courseName = null;
-        if (appointment.getCourseId() != null) {
-            courseName = courseRepository.findById(appointment.getCourseId())
-                    .map(Course::getName)
-                    .orElse(null);
-        }
-
-        return AppointmentResponse.builder()
-                .id(appointment.getId())
-                .subject(appointment.getSubject())
-                .description(appointment.getDescription())
-                .scheduledAt(appointment.getScheduledAt())
-                .durationMinutes(appointment.getDurationMinutes())
-                .location(appointment.getLocation())
-                .type(appointment.getType())
-                .status(appointment.getStatus())
-                .meetingLink(appointment.getMeetingLink())
-                .notes(appointment.getNotes())
-                .bookedAt(appointment.getBookedAt())
-                .lastModifiedAt(appointment.getLastModifiedAt())
-                .lastModifiedBy(appointment.getLastModifiedBy())
-                .student(student != null ? UserService.mapToUserProfileResponse(student) : null)
-                .lecturer(lecturer != null ? UserService.mapToUserProfileResponse(lecturer) : null)
-                .courseId(appointment.getCourseId())
-                .courseName(courseName)
-                .isRecurring(appointment.isRecurring())
-                .recurringPattern(appointment.getRecurringPattern())
-                .recurringEndDate(appointment.getRecurringEndDate())
-                .parentAppointmentId(appointment.getParentAppointmentId())
-                .attachmentIds(appointment.getAttachmentIds())
-                .endTime(appointment.getEndTime())
-                .isUpcoming(appointment.isUpcoming())
-                .isPast(appointment.isPast())
-                .isToday(appointment.isToday())
-                .createdAt(appointment.getCreatedAt())
-                .updatedAt(appointment.getUpdatedAt())
+
+    private AppointmentFilter buildFilter(User currentUser, String status, String type, String courseId,
+                                          LocalDateTime from, LocalDateTime to, String mode) {
+        AppointmentFilter filter = AppointmentFilter.builder()
+                .userId(currentUser.getId())
+                .role(currentUser.getRole())
+                .courseId(courseId)
+                .from(from)
+                .to(to)
                 .build();
-    }
 
-    private void createRecurringInstances(Appointment parentAppointment, AppointmentRequest request) {
-        // Implementation for creating recurring appointment instances
-        LocalDateTime current = parentAppointment.getScheduledAt();
-        LocalDateTime endDate = request.getRecurringEndDate();
-        
-        while (current.isBefore(endDate)) {
-            if (request.getRecurringPattern() == Appointment.RecurringPattern.WEEKLY) {
-                current = current.plusWeeks(1);
-            } else if (request.getRecurringPattern() == Appointment.RecurringPattern.BIWEEKLY) {
-                current = current.plusWeeks(2);
-            } else if (request.getRecurringPattern() == Appointment.RecurringPattern.MONTHLY) {
-                current = current.plusMonths(1);
+        if (status != null) {
+            try {
+                filter.setStatus(Appointment.AppointmentStatus.valueOf(status.toUpperCase()));
+            } catch (IllegalArgumentException e) {
+                throw new RuntimeException("Invalid status: " + status);
             }
-            
-            if (current.isBefore(endDate)) {
-                Appointment recurringInstance = Appointment.builder()
-                        .studentId(parentAppointment.getStudentId())
-                        .lecturerId(parentAppointment.getLecturerId())
-                        .subject(parentAppointment.getSubject())
-                        .description(parentAppointment.getDescription())
-                        .scheduledAt(current)
-                        .durationMinutes(parentAppointment.getDurationMinutes())
-                        .location(parentAppointment.getLocation())
-                        .type(parentAppointment.getType())
-                        .status(Appointment.AppointmentStatus.PENDING)
-                        .courseId(parentAppointment.getCourseId())
-                        .meetingLink(parentAppointment.getMeetingLink())
-                        .meetingPassword(parentAppointment.getMeetingPassword())
-                        .isRecurring(false)
-                        .parentAppointmentId(parentAppointment.getId())
-                        .bookedAt(LocalDateTime.now())
-                        .lastModifiedAt(LocalDateTime.now())
-                        .lastModifiedBy(parentAppointment.getLastModifiedBy())
-                        .build();
-                
-                appointmentRepository.save(recurringInstance);
+        }
+        if (type != null) {
+            try {
+                filter.setType(Appointment.AppointmentType.valueOf(type.toUpperCase()));
+            } catch (IllegalArgumentException e) {
+                throw new RuntimeException("Invalid type: " + type);
+            }
+        }
+        if (mode != null) {
+            try {
+                filter.setMode(AppointmentFilter.TimeMode.valueOf(mode.toUpperCase()));
+            } catch (IllegalArgumentException e) {
+                throw new RuntimeException("Invalid mode: " + mode);
             }
         }
+        return filter;
     }
 
-    // =================== 🔥 NEW: REAL AVAILABILITY TIME SLOT GENERATION ===================
-    private List<TimeSlotResponse> generateRealAvailableTimeSlots(User lecturer, String lecturerId, 
-                                                                LocalDate date, Integer durationMinutes) {
-        log.info("Generating real available time slots for lecturer: {} on date: {}", lecturerId, date);
-        
-        List<TimeSlotResponse> availableSlots = new ArrayList<>();
-        
-        // ✅ Step 1: Get lecturer's availability for this date
-        String dayOfWeek = date.getDayOfWeek().name(); // Convert to "MONDAY", "TUESDAY", etc.
-        
-        // Query for both specific date availability and recurring availability
-        List<LecturerAvailability> availabilitySlots = lecturerAvailabilityRepository.findByLecturerIdAndDate(
-                lecturerId, date, dayOfWeek);
-        
-        log.info("Found {} availability slots for lecturer {} on {}", availabilitySlots.size(), lecturerId, date);
-        
-        if (availabilitySlots.isEmpty()) {
-            log.info("No availability slots found for lecturer {} on {}", lecturerId, date);
-            return availableSlots; // Return empty list
+    /**
+     * Opaque cursor: base64url of "epochMillis_appointmentId" of the last row on the page.
+     */
+    private static String encodeCursor(Appointment last) {
+        String raw = last.getScheduledAt().toInstant(ZoneOffset.UTC).toEpochMilli() + "_" + last.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void applyCursor(AppointmentFilter filter, String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('_');
+            long epochMillis = Long.parseLong(raw.substring(0, separator));
+            filter.setAfterScheduledAt(LocalDateTime.ofEpochSecond(
+                    Math.floorDiv(epochMillis, 1000), (int) Math.floorMod(epochMillis, 1000) * 1_000_000, ZoneOffset.UTC));
+            filter.setAfterId(raw.substring(separator + 1));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
         }
-        
-        // ✅ Step 2: Get existing appointments for this date
-        LocalDateTime startOfDay = date.atStartOfDay();
-        LocalDateTime endOfDay = date.atTime(23, 59, 59);
-        
-        List<Appointment> existingAppointments = appointmentRepository.findByUserIdAndScheduledAtBetween(
-                lecturerId, startOfDay, endOfDay)
-                .stream()
-                .filter(apt -> apt.getStatus() == Appointment.AppointmentStatus.CONFIRMED || 
-                              apt.getStatus() == Appointment.AppointmentStatus.PENDING)
-                .collect(Collectors.toList());
-        
-        log.info("Found {} existing appointments for lecturer {} on {}", existingAppointments.size(), lecturerId, date);
-        
-        // ✅ Step 3: Generate time slots from availability data
-        for (LecturerAvailability availability : availabilitySlots) {
-            // Only process active availability slots
-            if (!availability.isActive()) {
-                log.debug("Skipping inactive availability slot: {}", availability.getId());
-                continue;
-            }
-            
-            // Check if this availability is valid for the requested date
-            if (!availability.isActiveOn(date)) {
-                log.debug("Availability slot {} is not active on date {}", availability.getId(), date);
-                continue;
-            }
-            
-            // Generate time slots from this availability
-            LocalTime current = availability.getStartTime();
-            LocalTime endTime = availability.getEndTime();
-            Integer slotDuration = availability.getSlotDurationMinutes();
-            
-            // Use the slot's configured duration or the requested duration, whichever is smaller
-            int actualDuration = (slotDuration != null && slotDuration > 0) ? slotDuration : durationMinutes;
-            
-            log.debug("Generating slots from {} to {} with {} minute intervals", current, endTime, actualDuration);
-            
-            while (current.plusMinutes(actualDuration).isBefore(endTime) || 
-                   current.plusMinutes(actualDuration).equals(endTime)) {
-                
-                LocalDateTime slotStart = date.atTime(current);
-                LocalDateTime slotEnd = slotStart.plusMinutes(actualDuration);
-                
-                // ✅ Step 4: Check if this slot conflicts with existing appointments
-                boolean isAvailable = existingAppointments.stream()
-                        .noneMatch(apt -> {
-                            LocalDateTime aptStart = apt.getScheduledAt();
-                            LocalDateTime aptEnd = apt.getEndTime();
-                            // Check for overlap: slot overlaps with appointment if slot starts before apt ends AND slot ends after apt starts
-                            return (slotStart.isBefore(aptEnd) && slotEnd.isAfter(aptStart));
-                        });
-                
-                if (isAvailable) {
-                    // ✅ Create available time slot
-                    TimeSlotResponse slot = TimeSlotResponse.builder()
-                            .id(availability.getId() + "-" + current.toString())
-                            .startTime(slotStart)
-                            .endTime(slotEnd)
-                            .durationMinutes(actualDuration)
-                            .location(availability.getLocation() != null ? availability.getLocation() : "Office")
-                            .type(mapAvailabilityTypeToAppointmentType(availability.getAllowedType()))
-                            .isAvailable(true)
-                            .isRecurring(availability.isRecurring())
-                            .recurringPattern(availability.isRecurring() ? 
-                                (availability.getDayOfWeek() != null ? 
-                                    Appointment.RecurringPattern.WEEKLY : null) : null)
-                            .lecturer(UserService.mapToUserProfileResponse(lecturer))
-                            .build();
-                    
-                    availableSlots.add(slot);
-                    
-                    log.debug("Added available slot: {} - {}", slotStart, slotEnd);
-                } else {
-                    log.debug("Slot {} - {} is not available (conflicts with existing appointment)", slotStart, slotEnd);
-                }
-                
-                // Move to next slot
-                current = current.plusMinutes(actualDuration);
+    }
+
+    /**
+     * Claim the appointment's slot, save it and make the claim permanent.
+     * Throws IllegalStateException when a concurrent booking won the slot.
+     */
+    private Appointment saveWithReservation(Appointment appointment, boolean isNew) {
+        slotReservationService.reserve(appointment);
+        Appointment saved;
+        try {
+            saved = appointmentRepository.save(appointment);
+        } catch (RuntimeException e) {
+            // A failed reschedule keeps its old claims; the new ones lapse with their short hold
+            if (isNew) {
+                slotReservationService.release(appointment.getId());
             }
+            throw e;
         }
-        
-        log.info("Generated {} available time slots from {} availability configurations", 
-                availableSlots.size(), availabilitySlots.size());
-        
-        return availableSlots;
-    }
-    
-    // ✅ Helper method to map AvailabilityType to AppointmentType
-    private Appointment.AppointmentType mapAvailabilityTypeToAppointmentType(Appointment.AppointmentType allowedType) {
-        // If the availability slot specifies what type of appointments it allows, use that
-        // Otherwise default to OFFICE_HOURS
-        return allowedType != null ? allowedType : Appointment.AppointmentType.OFFICE_HOURS;
+        slotReservationService.confirm(saved);
+        return saved;
     }
-}
\ No newline at end of file
+}
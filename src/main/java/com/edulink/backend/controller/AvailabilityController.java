@@ -5,7 +5,9 @@ import com.edulink.backend.dto.request.AvailabilitySlotRequest;
 import com.edulink.backend.dto.request.AvailabilitySlotUpdateRequest;
 import com.edulink.backend.dto.response.ApiResponse;
 import com.edulink.backend.dto.response.AvailabilitySlotResponse;
+import com.edulink.backend.dto.response.BulkAvailabilityResponse;
 import com.edulink.backend.dto.response.GeneratedTimeSlotResponse;
+import com.edulink.backend.model.entity.Appointment;
 import com.edulink.backend.model.entity.LecturerAvailability;
 import com.edulink.backend.service.AvailabilityService;
 import com.edulink.backend.service.UserService;
@@ -20,6 +22,7 @@ import org.springframework.web.bind.annotation.*;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/availability")
@@ -144,6 +147,114 @@ public class AvailabilityController {
         }
     }
 
+    // =================== GET GENERATED TIME SLOTS FOR RANGE ===================
+    @GetMapping("/slots/generated/range")
+    @PreAuthorize("hasRole('LECTURER')")
+    public ResponseEntity<ApiResponse<Map<LocalDate, List<GeneratedTimeSlotResponse>>>> getGeneratedTimeSlotsForRange(
+            @RequestParam String from, // Format: YYYY-MM-DD
+            @RequestParam String to) {
+
+        try {
+            String lecturerId = userService.getCurrentUser().getId();
+
+            Map<LocalDate, List<GeneratedTimeSlotResponse>> timeSlots = availabilityService.getGeneratedTimeSlotsForRange(
+                lecturerId, LocalDate.parse(from), LocalDate.parse(to));
+
+            return ResponseEntity.ok(
+                ApiResponse.<Map<LocalDate, List<GeneratedTimeSlotResponse>>>builder()
+                    .success(true)
+                    .message("Generated time slots retrieved successfully")
+                    .data(timeSlots)
+                    .timestamp(LocalDateTime.now())
+                    .build()
+            );
+
+        } catch (Exception e) {
+            log.error("Error retrieving generated time slots for range", e);
+            return ResponseEntity.badRequest().body(
+                ApiResponse.<Map<LocalDate, List<GeneratedTimeSlotResponse>>>builder()
+                    .success(false)
+                    .message("Failed to retrieve generated time slots: " + e.getMessage())
+                    .timestamp(LocalDateTime.now())
+                    .build()
+            );
+        }
+    }
+
+    // =================== GET BOOKABLE TIME SLOTS OF A LECTURER ===================
+    @GetMapping("/lecturers/{lecturerId}/slots")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<ApiResponse<Map<LocalDate, List<GeneratedTimeSlotResponse>>>> getBookableTimeSlots(
+            @PathVariable String lecturerId,
+            @RequestParam String from, // Format: YYYY-MM-DD
+            @RequestParam String to,
+            @RequestParam(defaultValue = "30") Integer durationMinutes) {
+
+        try {
+            Map<LocalDate, List<GeneratedTimeSlotResponse>> timeSlots = availabilityService.getBookableTimeSlotsForRange(
+                lecturerId, LocalDate.parse(from), LocalDate.parse(to), durationMinutes);
+
+            return ResponseEntity.ok(
+                ApiResponse.<Map<LocalDate, List<GeneratedTimeSlotResponse>>>builder()
+                    .success(true)
+                    .message("Bookable time slots retrieved successfully")
+                    .data(timeSlots)
+                    .timestamp(LocalDateTime.now())
+                    .build()
+            );
+
+        } catch (Exception e) {
+            log.error("Error retrieving bookable time slots", e);
+            return ResponseEntity.badRequest().body(
+                ApiResponse.<Map<LocalDate, List<GeneratedTimeSlotResponse>>>builder()
+                    .success(false)
+                    .message("Failed to retrieve bookable time slots: " + e.getMessage())
+                    .timestamp(LocalDateTime.now())
+                    .build()
+            );
+        }
+    }
+
+    // =================== EARLIEST AVAILABLE SLOTS ===================
+    @GetMapping("/earliest")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<ApiResponse<List<GeneratedTimeSlotResponse>>> getEarliestAvailableSlots(
+            @RequestParam(required = false) String department,
+            @RequestParam(required = false) String courseId,
+            @RequestParam(required = false) Appointment.AppointmentType type,
+            @RequestParam(defaultValue = "30") Integer durationMinutes,
+            @RequestParam(required = false) String from, // Format: YYYY-MM-DDTHH:MM
+            @RequestParam(required = false) String to,
+            @RequestParam(defaultValue = "10") Integer limit) {
+
+        try {
+            List<GeneratedTimeSlotResponse> timeSlots = availabilityService.findEarliestAvailableSlots(
+                department, courseId, type, durationMinutes,
+                from != null ? LocalDateTime.parse(from) : null,
+                to != null ? LocalDateTime.parse(to) : null,
+                limit);
+
+            return ResponseEntity.ok(
+                ApiResponse.<List<GeneratedTimeSlotResponse>>builder()
+                    .success(true)
+                    .message("Earliest available slots retrieved successfully")
+                    .data(timeSlots)
+                    .timestamp(LocalDateTime.now())
+                    .build()
+            );
+
+        } catch (Exception e) {
+            log.error("Error finding earliest available slots", e);
+            return ResponseEntity.badRequest().body(
+                ApiResponse.<List<GeneratedTimeSlotResponse>>builder()
+                    .success(false)
+                    .message("Failed to find earliest available slots: " + e.getMessage())
+                    .timestamp(LocalDateTime.now())
+                    .build()
+            );
+        }
+    }
+
     // =================== UPDATE AVAILABILITY SLOT ===================
     @PutMapping("/slots/{slotId}")
     @PreAuthorize("hasRole('LECTURER')")
@@ -262,25 +373,18 @@ public class AvailabilityController {
     
     @PostMapping("/slots/bulk-create")
     @PreAuthorize("hasRole('LECTURER')")
-    public ResponseEntity<ApiResponse<List<AvailabilitySlotResponse>>> createBulkAvailabilitySlots(
+    public ResponseEntity<ApiResponse<BulkAvailabilityResponse>> createBulkAvailabilitySlots(
             @RequestBody List<@Valid AvailabilitySlotRequest> requests) {
         
         try {
             String lecturerId = userService.getCurrentUser().getId();
-            List<AvailabilitySlotResponse> responses = availabilityService.createBulkAvailabilitySlots(requests, lecturerId);
+            BulkAvailabilityResponse result = availabilityService.createBulkAvailabilitySlots(requests, lecturerId);
             
-            return ResponseEntity.ok(
-                ApiResponse.<List<AvailabilitySlotResponse>>builder()
-                    .success(true)
-                    .message(responses.size() + " availability slots created successfully")
-                    .data(responses)
-                    .timestamp(LocalDateTime.now())
-                    .build()
-            );
+            return bulkResult(result, "created");
         } catch (Exception e) {
             log.error("Error creating bulk availability slots", e);
             return ResponseEntity.badRequest().body(
-                ApiResponse.<List<AvailabilitySlotResponse>>builder()
+                ApiResponse.<BulkAvailabilityResponse>builder()
                     .success(false)
                     .message("Failed to create bulk availability slots: " + e.getMessage())
                     .timestamp(LocalDateTime.now())
@@ -291,22 +395,16 @@ public class AvailabilityController {
 
     @DeleteMapping("/slots/bulk-delete")
     @PreAuthorize("hasRole('LECTURER')")
-    public ResponseEntity<ApiResponse<Void>> deleteBulkAvailabilitySlots(@RequestBody List<String> slotIds) {
+    public ResponseEntity<ApiResponse<BulkAvailabilityResponse>> deleteBulkAvailabilitySlots(@RequestBody List<String> slotIds) {
         try {
             String lecturerId = userService.getCurrentUser().getId();
-            availabilityService.deleteBulkAvailabilitySlots(slotIds, lecturerId);
+            BulkAvailabilityResponse result = availabilityService.deleteBulkAvailabilitySlots(slotIds, lecturerId);
 
-            return ResponseEntity.ok(
-                ApiResponse.<Void>builder()
-                    .success(true)
-                    .message(slotIds.size() + " availability slots deleted successfully")
-                    .timestamp(LocalDateTime.now())
-                    .build()
-            );
+            return bulkResult(result, "deleted");
         } catch (Exception e) {
             log.error("Error deleting bulk availability slots", e);
             return ResponseEntity.badRequest().body(
-                ApiResponse.<Void>builder()
+                ApiResponse.<BulkAvailabilityResponse>builder()
                     .success(false)
                     .message("Failed to delete bulk availability slots: " + e.getMessage())
                     .timestamp(LocalDateTime.now())
@@ -314,4 +412,17 @@ public class AvailabilityController {
             );
         }
     }
-}
\ No newline at end of file
+
+    // Partial success is still a 200; the items say which slots failed and why
+    private ResponseEntity<ApiResponse<BulkAvailabilityResponse>> bulkResult(BulkAvailabilityResponse result, String action) {
+        boolean anySucceeded = result.getSucceeded() > 0 || result.getFailed() == 0;
+        ApiResponse<BulkAvailabilityResponse> body = ApiResponse.<BulkAvailabilityResponse>builder()
+            .success(anySucceeded)
+            .message(result.getSucceeded() + " availability slots " + action
+                + (result.getFailed() > 0 ? ", " + result.getFailed() + " failed" : " successfully"))
+            .data(result)
+            .timestamp(LocalDateTime.now())
+            .build();
+        return anySucceeded ? ResponseEntity.ok(body) : ResponseEntity.badRequest().body(body);
+    }
+}
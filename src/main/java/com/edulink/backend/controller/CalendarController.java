@@ -0,0 +1,88 @@
+package com.edulink.backend.controller;
+
+import com.edulink.backend.dto.response.ApiResponse;
+import com.edulink.backend.dto.response.CalendarFeedResponse;
+import com.edulink.backend.model.entity.User;
+import com.edulink.backend.service.CalendarFeedService;
+import com.edulink.backend.service.UserService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/api/calendar")
+@RequiredArgsConstructor
+@Slf4j
+public class CalendarController {
+
+    private static final MediaType TEXT_CALENDAR = new MediaType("text", "calendar", StandardCharsets.UTF_8);
+
+    private final CalendarFeedService calendarFeedService;
+    private final UserService userService;
+
+    /**
+     * Create or replace the current user's calendar feed URL. The previous URL stops working.
+     */
+    @PostMapping("/token")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<ApiResponse<CalendarFeedResponse>> rotateToken() {
+        User currentUser = userService.getCurrentUser();
+        String token = calendarFeedService.rotateToken(currentUser);
+
+        CalendarFeedResponse response = CalendarFeedResponse.builder()
+                .token(token)
+                .feedUrl(ServletUriComponentsBuilder.fromCurrentContextPath()
+                        .path("/api/calendar/feed/{token}.ics")
+                        .buildAndExpand(token)
+                        .toUriString())
+                .build();
+        return ResponseEntity.ok(ApiResponse.success(response, "Calendar feed URL created"));
+    }
+
+    /**
+     * Disable the current user's calendar feed.
+     */
+    @DeleteMapping("/token")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<ApiResponse<Void>> revokeToken() {
+        calendarFeedService.revokeToken(userService.getCurrentUser());
+        return ResponseEntity.ok(ApiResponse.success("Calendar feed disabled"));
+    }
+
+    /**
+     * iCalendar feed for calendar apps. Authenticated by the token in the URL.
+     * Polls with a matching If-None-Match or If-Modified-Since get 304 without the feed being rendered.
+     */
+    @GetMapping("/feed/{token}.ics")
+    public ResponseEntity<StreamingResponseBody> getFeed(@PathVariable String token, WebRequest webRequest) {
+        Optional<User> owner = calendarFeedService.findOwner(token);
+        if (owner.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        User user = owner.get();
+
+        CalendarFeedService.FeedVersion version = calendarFeedService.version(user);
+        if (webRequest.checkNotModified(version.etag(), version.lastModified().toEpochMilli())) {
+            return null; // 304 with ETag and Last-Modified already set
+        }
+
+        StreamingResponseBody body = output -> calendarFeedService.write(user, output);
+        return ResponseEntity.status(HttpStatus.OK)
+                .contentType(TEXT_CALENDAR)
+                .eTag(version.etag())
+                .lastModified(version.lastModified())
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(body);
+    }
+}
@@ -1,10 +1,13 @@
 // File Path: src/main/java/com/edulink/backend/controller/QueryController.java
 package com.edulink.backend.controller;
 
+import com.edulink.backend.dto.request.BulkQueryUpdateRequest;
 import com.edulink.backend.dto.request.QueryRequest;
 import com.edulink.backend.dto.request.QueryMessageRequest;
 import com.edulink.backend.dto.request.QueryStatusUpdateRequest;
 import com.edulink.backend.dto.response.ApiResponse;
+import com.edulink.backend.dto.response.BulkQueryUpdateResponse;
+import com.edulink.backend.dto.response.QueryMessagePageResponse;
 import com.edulink.backend.dto.response.QueryResponse;
 import com.edulink.backend.dto.response.QueryStatsResponse;
 import com.edulink.backend.model.entity.Query.*;
@@ -19,6 +22,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -135,6 +139,43 @@ public class QueryController {
         }
     }
 
+    /**
+     * Get a page of a query's messages, oldest first
+     * GET /api/queries/{id}/messages?cursor=&limit=
+     */
+    @GetMapping("/{id}/messages")
+    public ResponseEntity<ApiResponse<QueryMessagePageResponse>> getQueryMessages(
+            @PathVariable String id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit,
+            Authentication authentication) {
+        try {
+            String userId = getUserIdFromAuthentication(authentication);
+            log.info("Fetching messages of query: {} for user: {}", id, userId);
+            
+            QueryMessagePageResponse page = queryService.getQueryMessages(id, userId, cursor, limit);
+            
+            return ResponseEntity.ok(ApiResponse.success(page, "Messages retrieved successfully"));
+            
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error("Invalid cursor", e.getMessage()));
+        } catch (Exception e) {
+            log.error("Failed to get messages of query: {} for user: {}", id, authentication.getName(), e);
+            
+            if (e.getMessage().contains("not found")) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(ApiResponse.error("Query not found", e.getMessage()));
+            } else if (e.getMessage().contains("Access denied")) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                        .body(ApiResponse.error("Access denied", e.getMessage()));
+            } else {
+                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                        .body(ApiResponse.error("Failed to retrieve messages", e.getMessage()));
+            }
+        }
+    }
+
     /**
      * Add message to query
      * POST /api/queries/{id}/messages
@@ -208,6 +249,48 @@ public class QueryController {
         }
     }
 
+    /**
+     * Update status and/or priority of many queries (lecturers only)
+     * PUT /api/queries/bulk
+     */
+    @PutMapping("/bulk")
+    public ResponseEntity<ApiResponse<BulkQueryUpdateResponse>> updateQueriesInBulk(
+            @Valid @RequestBody BulkQueryUpdateRequest request,
+            Authentication authentication) {
+        try {
+            String lecturerId = getUserIdFromAuthentication(authentication);
+            String userRole = getUserRoleFromAuthentication(authentication);
+            
+            if (!"LECTURER".equals(userRole)) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                        .body(ApiResponse.error("Access denied", "Only lecturers can update queries"));
+            }
+            
+            BulkQueryUpdateResponse response = queryService.updateQueriesInBulk(lecturerId, request);
+            String message = response.getSucceeded() + " of " + response.getItems().size() + " queries updated";
+            
+            // Partial success is still a success; the items say which queries failed and why
+            if (response.getSucceeded() == 0) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                        .body(ApiResponse.<BulkQueryUpdateResponse>builder()
+                                .success(false)
+                                .message(message)
+                                .data(response)
+                                .timestamp(LocalDateTime.now())
+                                .build());
+            }
+            return ResponseEntity.ok(ApiResponse.success(response, message));
+            
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error("Invalid request", e.getMessage()));
+        } catch (Exception e) {
+            log.error("Failed to bulk update queries for lecturer: {}", authentication.getName(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Failed to update queries", e.getMessage()));
+        }
+    }
+
     /**
      * Mark query as read
      * PUT /api/queries/{id}/mark-read
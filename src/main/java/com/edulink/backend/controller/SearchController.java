@@ -0,0 +1,70 @@
+package com.edulink.backend.controller;
+
+import com.edulink.backend.dto.response.ApiResponse;
+import com.edulink.backend.dto.response.SearchResponse;
+import com.edulink.backend.model.entity.User;
+import com.edulink.backend.service.CampusSearchService;
+import com.edulink.backend.service.UserService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/search")
+@RequiredArgsConstructor
+@Slf4j
+public class SearchController {
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final CampusSearchService campusSearchService;
+    private final UserService userService;
+
+    /**
+     * Search users, courses, announcements, lost-and-found items and resources at once.
+     * Results are limited to what the current user is allowed to see.
+     */
+    @GetMapping
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<ApiResponse<SearchResponse>> search(
+            @RequestParam(name = "q") String query,
+            @RequestParam(name = "type", required = false) String type,
+            @RequestParam(name = "page", defaultValue = "0") int page,
+            @RequestParam(name = "size", defaultValue = "20") int size) {
+        CampusSearchService.DocumentType documentType = null;
+        if (type != null && !type.trim().isEmpty()) {
+            try {
+                documentType = CampusSearchService.DocumentType.valueOf(type.trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest()
+                        .body(ApiResponse.error("Invalid search type: " + type));
+            }
+        }
+
+        try {
+            User currentUser = userService.getCurrentUser();
+            SearchResponse response = campusSearchService.search(query, documentType, currentUser,
+                    Math.max(page, 0), Math.min(Math.max(size, 1), MAX_PAGE_SIZE));
+            return ResponseEntity.ok(ApiResponse.success(response, "Search completed successfully"));
+        } catch (Exception e) {
+            log.error("❌ Error running campus search for '{}': {}", query, e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Search failed", e.getMessage()));
+        }
+    }
+
+    /**
+     * Rebuild the search index from the database (Admin only). Runs in the background.
+     */
+    @PostMapping("/reindex")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<Void>> reindex() {
+        campusSearchService.reindexAsync();
+        log.info("🔎 Campus search reindex requested");
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(ApiResponse.success("Search reindex started"));
+    }
+}
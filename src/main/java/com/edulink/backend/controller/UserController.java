@@ -284,12 +284,12 @@ public class UserController {
         try {
             log.info("Searching users with query: '{}', role: {}", query, role);
             
-            List<User> users;
+            List<UserProfileResponse> userResponses;
             
             if (role != null && !role.trim().isEmpty()) {
                 try {
                     User.UserRole userRole = User.UserRole.valueOf(role.toUpperCase());
-                    users = userService.searchUsersByRole(query, userRole);
+                    userResponses = userService.searchActiveUsers(query, userRole);
                 } catch (IllegalArgumentException e) {
                     return ResponseEntity.status(400)
                             .body(ApiResponse.<List<UserProfileResponse>>builder()
@@ -299,14 +299,9 @@ public class UserController {
                                 .build());
                 }
             } else {
-                users = userService.searchUsers(query);
+                userResponses = userService.searchActiveUsers(query, null);
             }
             
-            List<UserProfileResponse> userResponses = users.stream()
-                    .filter(User::isActive) // Only return active users
-                    .map(UserService::mapToUserProfileResponse)
-                    .collect(Collectors.toList());
-            
             log.info("Found {} users matching search criteria", userResponses.size());
             
             return ResponseEntity.ok(
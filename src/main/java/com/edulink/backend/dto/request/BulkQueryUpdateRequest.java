@@ -0,0 +1,30 @@
+package com.edulink.backend.dto.request;
+
+import com.edulink.backend.model.entity.Query.QueryPriority;
+import com.edulink.backend.model.entity.Query.QueryStatus;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkQueryUpdateRequest {
+
+    @NotEmpty(message = "At least one query is required")
+    @Size(max = 200, message = "At most 200 queries can be updated at once")
+    private List<String> queryIds;
+
+    // At least one of status and priority is required
+    private QueryStatus status;
+    private QueryPriority priority;
+
+    @Size(max = 500, message = "Note must not exceed 500 characters")
+    private String note; // Recorded in the status history when status changes
+}
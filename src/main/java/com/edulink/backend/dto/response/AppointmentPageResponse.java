@@ -0,0 +1,19 @@
+package com.edulink.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AppointmentPageResponse {
+
+    private List<AppointmentResponse> appointments;
+    private String nextCursor;  // Pass back as ?cursor= to get the next page; null on the last page
+    private boolean hasMore;
+}
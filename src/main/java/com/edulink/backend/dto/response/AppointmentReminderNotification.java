@@ -0,0 +1,28 @@
+package com.edulink.backend.dto.response;
+
+import com.edulink.backend.model.entity.Appointment;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Pushed to /user/queue/appointment-reminders when a reminder falls due.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AppointmentReminderNotification {
+
+    private String appointmentId;
+    private String subject;
+    private LocalDateTime scheduledAt;
+    private Integer durationMinutes;
+    private Appointment.AppointmentType type;
+    private String location;
+    private String meetingLink;
+    private int minutesBefore;
+}
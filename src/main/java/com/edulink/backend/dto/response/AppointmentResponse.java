@@ -44,6 +44,8 @@ public class AppointmentResponse {
     private Appointment.RecurringPattern recurringPattern;
     private LocalDateTime recurringEndDate;
     private String parentAppointmentId;
+    private Integer recurringInstancesCreated; // Set when the series is created
+    private List<RecurringConflictResponse> recurringConflicts; // Occurrences skipped on creation
     
     // Attachments
     private List<String> attachmentIds;
@@ -0,0 +1,41 @@
+package com.edulink.backend.dto.response;
+
+import com.edulink.backend.model.entity.Appointment;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.DayOfWeek;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AppointmentUtilizationResponse {
+
+    private String lecturerId; // Null for the all-lecturer rollup
+    private String lecturerName;
+
+    private long totalAppointments;
+    private Map<Appointment.AppointmentStatus, Long> byStatus;
+    private long bookedMinutes; // Confirmed and completed appointments
+    private double completionRate; // Percent of completed among completed, cancelled and no-show
+
+    // Non-empty weekday/hour buckets; omitted from lecturer rankings
+    private List<Bucket> buckets;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Bucket {
+        private DayOfWeek dayOfWeek;
+        private int hour;
+        private long appointments;
+        private Map<Appointment.AppointmentStatus, Long> byStatus;
+        private long bookedMinutes;
+    }
+}
@@ -0,0 +1,34 @@
+package com.edulink.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk availability create or delete, one item per requested slot in request order.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkAvailabilityResponse {
+
+    private int succeeded;
+    private int failed;
+    private List<Item> items;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Item {
+        private int index;
+        private String slotId;
+        private boolean success;
+        private String error;
+        private AvailabilitySlotResponse slot; // Created slot, on successful creates only
+    }
+}
@@ -0,0 +1,35 @@
+package com.edulink.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk query status/priority update, one item per requested query in request order.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkQueryUpdateResponse {
+
+    private int succeeded;
+    private int failed;
+    private List<Item> items;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Item {
+        private int index;
+        private String queryId;
+        private boolean success;
+        private String error;
+        private String status;   // Status after the update, on success only
+        private String priority; // Priority after the update, on success only
+    }
+}
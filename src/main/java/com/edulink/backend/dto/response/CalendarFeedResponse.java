@@ -0,0 +1,16 @@
+package com.edulink.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CalendarFeedResponse {
+
+    private String token;
+    private String feedUrl; // Subscribe to this URL from a calendar app; anyone holding it can read the feed
+}
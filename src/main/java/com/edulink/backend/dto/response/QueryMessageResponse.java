@@ -1,7 +1,7 @@
 // File Path: src/main/java/com/edulink/backend/dto/response/QueryMessageResponse.java
 package com.edulink.backend.dto.response;
 
-import com.edulink.backend.model.entity.Query.QueryMessage;
+import com.edulink.backend.model.entity.QueryMessage;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
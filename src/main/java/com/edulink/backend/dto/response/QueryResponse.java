@@ -2,6 +2,8 @@
 package com.edulink.backend.dto.response;
 
 import com.edulink.backend.model.entity.Query;
+import com.edulink.backend.model.entity.QueryMessage;
+import com.edulink.backend.model.entity.QueryStatusChange;
 import com.edulink.backend.model.entity.User;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -28,6 +30,7 @@ public class QueryResponse {
     private LocalDateTime submittedAt;
     private LocalDateTime lastUpdated;
     private List<QueryMessageResponse> messages;
+    private String nextMessageCursor; // Pass to GET /api/queries/{id}/messages?cursor= for the rest of the thread; null when complete
     private List<StatusHistoryResponse> statusHistory;
     private boolean readByLecturer;
     private boolean readByStudent;
@@ -61,7 +64,11 @@ public class QueryResponse {
                 .build();
     }
 
-    public static QueryResponse fromQueryDetailed(Query query, User student, User lecturer) {
+    /**
+     * Query with a page of its thread (oldest first) and its status history.
+     */
+    public static QueryResponse fromQueryDetailed(Query query, User student, User lecturer, List<QueryMessage> messages,
+                                                  String nextMessageCursor, List<QueryStatusChange> statusHistory) {
         return QueryResponse.builder()
                 .id(query.getId())
                 .title(query.getTitle())
@@ -72,13 +79,14 @@ public class QueryResponse {
                 .course(query.getCourse())
                 .submittedAt(query.getSubmittedAt())
                 .lastUpdated(query.getLastUpdated())
-                .messages(query.getMessages() != null ? 
-                    query.getMessages().stream()
+                .messages(messages != null ?
+                    messages.stream()
                         .map(QueryMessageResponse::fromQueryMessage)
                         .collect(Collectors.toList()) : null)
-                .statusHistory(query.getStatusHistory() != null ?
-                    query.getStatusHistory().stream()
-                        .map(StatusHistoryResponse::fromStatusHistoryEntry)
+                .nextMessageCursor(nextMessageCursor)
+                .statusHistory(statusHistory != null ?
+                    statusHistory.stream()
+                        .map(StatusHistoryResponse::fromStatusChange)
                         .collect(Collectors.toList()) : null)
                 .readByLecturer(query.isReadByLecturer())
                 .readByStudent(query.isReadByStudent())
@@ -0,0 +1,30 @@
+package com.edulink.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * An occurrence of a recurring series that was not created, and why.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecurringConflictResponse {
+
+    public enum Reason {
+        LECTURER_BUSY,
+        STUDENT_BUSY,
+        SLOT_TAKEN // Booked concurrently while the series was being created
+    }
+
+    private LocalDateTime scheduledAt;
+    private LocalDateTime endTime;
+    private Reason reason;
+    private List<String> conflictingAppointmentIds;
+}
@@ -0,0 +1,37 @@
+package com.edulink.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchResponse {
+
+    private String query;
+    private long totalHits;             // Hits for the selected type (or all types)
+    private Map<String, Long> facets;   // Visible hits per document type, ignoring the type filter
+    private List<SearchHit> results;
+    private int page;
+    private int size;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SearchHit {
+        private String type;            // USER, COURSE, ANNOUNCEMENT, LOST_FOUND, RESOURCE
+        private String id;
+        private String title;
+        private String snippet;
+        private double score;
+        private LocalDateTime timestamp;
+    }
+}
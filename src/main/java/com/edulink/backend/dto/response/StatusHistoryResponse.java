@@ -2,7 +2,7 @@
 // File Path: src/main/java/com/edulink/backend/dto/response/StatusHistoryResponse.java
 package com.edulink.backend.dto.response;
 
-import com.edulink.backend.model.entity.Query.StatusHistoryEntry;
+import com.edulink.backend.model.entity.QueryStatusChange;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -22,7 +22,7 @@ public class StatusHistoryResponse {
     private String note;
     private String reason;
 
-    public static StatusHistoryResponse fromStatusHistoryEntry(StatusHistoryEntry entry) {
+    public static StatusHistoryResponse fromStatusChange(QueryStatusChange entry) {
         if (entry == null) return null;
         
         return StatusHistoryResponse.builder()
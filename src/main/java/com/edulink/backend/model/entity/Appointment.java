@@ -4,18 +4,43 @@ package com.edulink.backend.model.entity;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Transient;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 @Document(collection = "appointments")
+@CompoundIndexes({
+    // Conflict detection: active appointments of one participant that end after the requested start.
+    // endAt leads scheduledAt so finished history falls outside the scanned range.
+    @CompoundIndex(name = "lecturer_conflict_idx", def = "{'lecturerId': 1, 'status': 1, 'endAt': 1, 'scheduledAt': 1}"),
+    @CompoundIndex(name = "student_conflict_idx", def = "{'studentId': 1, 'status': 1, 'endAt': 1, 'scheduledAt': 1}"),
+    // Listing and keyset pagination by scheduledAt, with and without a status filter
+    @CompoundIndex(name = "lecturer_schedule_idx", def = "{'lecturerId': 1, 'scheduledAt': -1, '_id': -1}"),
+    @CompoundIndex(name = "student_schedule_idx", def = "{'studentId': 1, 'scheduledAt': -1, '_id': -1}"),
+    @CompoundIndex(name = "lecturer_status_schedule_idx", def = "{'lecturerId': 1, 'status': 1, 'scheduledAt': -1, '_id': -1}"),
+    @CompoundIndex(name = "student_status_schedule_idx", def = "{'studentId': 1, 'status': 1, 'scheduledAt': -1, '_id': -1}"),
+    // Either-participant lookups (calendars, slot generation) as one multikey scan instead of an $or
+    @CompoundIndex(name = "participant_schedule_idx", def = "{'participantIds': 1, 'scheduledAt': -1, '_id': -1}"),
+    // Scheduler sweeps: auto-complete, reminders, cleanup and reports by status and time
+    @CompoundIndex(name = "status_schedule_idx", def = "{'status': 1, 'scheduledAt': 1}"),
+    @CompoundIndex(name = "status_booked_idx", def = "{'status': 1, 'bookedAt': 1}")
+})
 public class Appointment {
     
     @Id
@@ -24,12 +49,14 @@ public class Appointment {
     // Participants
     private String studentId;
     private String lecturerId;
+    private List<String> participantIds; // studentId and lecturerId, kept in sync on every save
     
     // Appointment Details
     private String subject;
     private String description;
     private LocalDateTime scheduledAt; // Date and time of appointment
     private Integer durationMinutes; // Duration in minutes
+    private LocalDateTime endAt; // scheduledAt + durationMinutes, kept in sync on every save
     private String location; // Physical location or "Online"
     private AppointmentType type;
     private AppointmentStatus status;
@@ -51,6 +78,12 @@ public class Appointment {
     private LocalDateTime recurringEndDate;
     private String parentAppointmentId; // For recurring appointment instances
     
+    // Series state, kept on recurring parents only
+    @Indexed(name = "recurring_next_occurrence_idx", sparse = true)
+    private LocalDateTime nextOccurrenceAt; // Next occurrence not yet expanded; null once the series is exhausted
+    private LocalDateTime generatedUntil; // Horizon the series has been expanded up to
+    private Integer instanceCount; // Occurrences expanded so far, including ones skipped for conflicts
+    
     // Attachments/Resources
     private List<String> attachmentIds; // References to uploaded files
     
@@ -61,6 +94,35 @@ public class Appointment {
     @Builder.Default
     private LocalDateTime updatedAt = LocalDateTime.now();
     
+    // Not persisted, maintained by AppointmentDerivedFieldsListener so save listeners can tell what a
+    // save changed: the state as last read from or written to Mongo, and the state the latest save
+    // replaced (null when it was an insert)
+    @Transient
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private StoredState storedState;
+    
+    @Transient
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private StoredState replacedState;
+    
+    /**
+     * The fields counters, timers and indexes are keyed on.
+     */
+    public record StoredState(String lecturerId, String studentId, AppointmentStatus status,
+                              LocalDateTime scheduledAt, Integer durationMinutes) {
+        
+        public static StoredState of(Appointment appointment) {
+            return new StoredState(appointment.getLecturerId(), appointment.getStudentId(), appointment.getStatus(),
+                    appointment.getScheduledAt(), appointment.getDurationMinutes());
+        }
+        
+        public StoredState withStatus(AppointmentStatus newStatus) {
+            return new StoredState(lecturerId, studentId, newStatus, scheduledAt, durationMinutes);
+        }
+    }
+    
     // Enums
     public enum AppointmentType {
         OFFICE_HOURS("Office Hours"),
@@ -152,6 +214,17 @@ public class Appointment {
         return scheduledAt.plusMinutes(durationMinutes != null ? durationMinutes : 30);
     }
     
+    /**
+     * Recompute stored fields derived from other fields. Called before every save.
+     */
+    public void refreshDerivedFields() {
+        this.endAt = scheduledAt != null ? getEndTime() : null;
+        this.participantIds = Stream.of(studentId, lecturerId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .collect(Collectors.toList());
+    }
+    
     public void updateTimestamp() {
         this.updatedAt = LocalDateTime.now();
     }
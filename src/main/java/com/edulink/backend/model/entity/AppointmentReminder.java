@@ -0,0 +1,43 @@
+package com.edulink.backend.model.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * One reminder of a confirmed appointment, due a configured number of minutes before it starts.
+ * sentAt doubles as the sent marker: a dispatcher only sends reminders it managed to stamp,
+ * so a reminder goes out at most once even with several instances polling.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "appointment_reminders")
+@CompoundIndex(name = "reminder_due_idx", def = "{'sentAt': 1, 'dueAt': 1}")
+public class AppointmentReminder {
+
+    @Id
+    private String id; // appointmentId:offsetMinutes, so re-arming the same reminder is an upsert
+
+    @Indexed
+    private String appointmentId;
+
+    private int offsetMinutes; // Minutes before the appointment
+    private LocalDateTime scheduledAt; // Appointment time the reminder was computed for
+    private LocalDateTime dueAt;
+
+    private LocalDateTime sentAt; // Unset until a dispatcher claims the reminder
+    private String dispatchId; // Dispatch batch that claimed it
+
+    // Removed by Mongo's TTL monitor once the appointment has passed
+    @Indexed(expireAfterSeconds = 0)
+    private LocalDateTime expiresAt;
+}
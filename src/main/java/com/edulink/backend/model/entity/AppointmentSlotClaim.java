@@ -0,0 +1,43 @@
+package com.edulink.backend.model.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * One fixed-size time bucket held by an active appointment for one participant.
+ * The unique (participantId, slotStart) index lets only one appointment hold a bucket,
+ * which makes concurrent bookings of the same time mutually exclusive without locks.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "appointment_slot_claims")
+@CompoundIndex(name = "participant_slot_unique_idx", def = "{'participantId': 1, 'slotStart': 1}", unique = true)
+public class AppointmentSlotClaim {
+
+    @Id
+    private String id; // appointmentId:participantId:slotStart, so retries and rollbacks address the same document
+
+    private String participantId; // Lecturer or student holding the bucket
+    private LocalDateTime slotStart;
+
+    @Indexed
+    private String appointmentId;
+
+    // Short hold while the appointment is being saved, then end of appointment plus retention.
+    // Mongo's TTL monitor removes the claim once this passes.
+    @Indexed(expireAfterSeconds = 0)
+    private LocalDateTime expiresAt;
+
+    @Builder.Default
+    private LocalDateTime createdAt = LocalDateTime.now();
+}
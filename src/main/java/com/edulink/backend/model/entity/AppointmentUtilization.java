@@ -0,0 +1,31 @@
+package com.edulink.backend.model.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * Persisted copy of one lecturer's utilization cube (weekday x hour x status), so analytics
+ * can be served before the in-memory counters have been rebuilt after a restart.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "appointment_utilization")
+public class AppointmentUtilization {
+
+    @Id
+    private String id; // Lecturer id
+
+    // Flattened [weekday][hour][status], Monday first; see UtilizationCube
+    private long[] counts;
+    private long[] minutes;
+
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,36 @@
+package com.edulink.backend.model.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * Cluster-wide lease on one scheduled job. A node may run the job only while it holds the lease.
+ *
+ * The document is never deleted: expiry is checked on acquire, and keeping the document keeps
+ * fencingToken increasing for the lifetime of the job.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "job_leases")
+public class JobLease {
+
+    @Id
+    private String id; // Job name
+
+    private String owner; // Node holding (or last holding) the lease
+
+    // Incremented on every acquire; work stamped with an older token belongs to a lost lease
+    private long fencingToken;
+
+    private LocalDateTime acquiredAt;
+    private LocalDateTime expiresAt; // Free to take once this has passed
+    private LocalDateTime releasedAt;
+}
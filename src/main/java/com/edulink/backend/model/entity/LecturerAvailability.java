@@ -198,7 +198,7 @@ public class LecturerAvailability {
     }
     
     // Helper methods
-    private String generateSlotId(LocalDate date, LocalTime time) {
+    public String generateSlotId(LocalDate date, LocalTime time) {
         return id + "-" + date.toString() + "-" + time.toString();
     }
     
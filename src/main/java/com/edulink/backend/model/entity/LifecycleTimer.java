@@ -0,0 +1,48 @@
+package com.edulink.backend.model.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * A pending time-based state change of one document, such as publishing a scheduled announcement.
+ * The document is removed once its transition has run; a claim that is never completed
+ * (the node died mid-run) expires and the timer fires again.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "lifecycle_timers")
+public class LifecycleTimer {
+
+    @Id
+    private String id; // type:targetId, so re-registering a timer moves it instead of adding another
+
+    private TimerType type;
+    private String targetId;
+
+    @Indexed
+    private LocalDateTime dueAt;
+
+    private String claimedBy; // Node running the transition
+    private LocalDateTime claimedUntil;
+
+    public enum TimerType {
+        ANNOUNCEMENT_PUBLISH,
+        ANNOUNCEMENT_EXPIRE,
+        APPOINTMENT_AUTO_COMPLETE,
+        APPOINTMENT_AUTO_CANCEL,
+        QUERY_AUTO_CLOSE
+    }
+
+    public static String idOf(TimerType type, String targetId) {
+        return type.name() + ":" + targetId;
+    }
+}
@@ -3,6 +3,8 @@ package com.edulink.backend.model.entity;
 
 import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.index.Indexed;
 
 import java.time.LocalDateTime;
@@ -10,6 +12,11 @@ import java.util.List;
 import java.util.ArrayList;
 
 @Document(collection = "queries")
+@CompoundIndexes({
+    // Per-participant lists (newest first) and the statistics aggregation's $match
+    @CompoundIndex(name = "lecturer_submitted_idx", def = "{'lecturerId': 1, 'submittedAt': -1}"),
+    @CompoundIndex(name = "student_submitted_idx", def = "{'studentId': 1, 'submittedAt': -1}")
+})
 public class Query {
     
     @Id
@@ -42,9 +49,8 @@ public class Query {
     @Indexed
     private LocalDateTime lastUpdated;
     
-    private List<QueryMessage> messages = new ArrayList<>();
-    
-    private List<StatusHistoryEntry> statusHistory = new ArrayList<>();
+    // Messages and status history live in query_messages and query_status_history
+    private int messageCount = 0;
     
     @Indexed
     private boolean readByLecturer = false;
@@ -77,14 +83,6 @@ public class Query {
         this.lastUpdated = LocalDateTime.now();
         this.createdAt = LocalDateTime.now();
         this.updatedAt = LocalDateTime.now();
-        
-        // Add initial status history entry
-        this.statusHistory.add(new StatusHistoryEntry(
-            QueryStatus.PENDING, 
-            LocalDateTime.now(), 
-            "System", 
-            "Query submitted"
-        ));
     }
 
     // Getters and Setters
@@ -121,11 +119,8 @@ public class Query {
     public LocalDateTime getLastUpdated() { return lastUpdated; }
     public void setLastUpdated(LocalDateTime lastUpdated) { this.lastUpdated = lastUpdated; }
 
-    public List<QueryMessage> getMessages() { return messages; }
-    public void setMessages(List<QueryMessage> messages) { this.messages = messages; }
-
-    public List<StatusHistoryEntry> getStatusHistory() { return statusHistory; }
-    public void setStatusHistory(List<StatusHistoryEntry> statusHistory) { this.statusHistory = statusHistory; }
+    public int getMessageCount() { return messageCount; }
+    public void setMessageCount(int messageCount) { this.messageCount = messageCount; }
 
     public boolean isReadByLecturer() { return readByLecturer; }
     public void setReadByLecturer(boolean readByLecturer) { this.readByLecturer = readByLecturer; }
@@ -146,115 +141,11 @@ public class Query {
     public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
 
     // Helper methods
-    public void addMessage(QueryMessage message) {
-        this.messages.add(message);
-        this.lastUpdated = LocalDateTime.now();
-        this.updatedAt = LocalDateTime.now();
-    }
-
-    public void addStatusHistory(QueryStatus newStatus, String changedBy, String note) {
-        this.statusHistory.add(new StatusHistoryEntry(newStatus, LocalDateTime.now(), changedBy, note));
-        this.status = newStatus;
-        this.lastUpdated = LocalDateTime.now();
-        this.updatedAt = LocalDateTime.now();
-    }
-
     public int getResponseCount() {
-        return messages.size();
+        return messageCount;
     }
 
     // Nested classes for embedded documents
-    public static class QueryMessage {
-        private String id;
-        private String sender; // User ID
-        private String senderType; // STUDENT, LECTURER
-        private String senderName;
-        private String content;
-        private LocalDateTime timestamp;
-        private List<Attachment> attachments = new ArrayList<>();
-        private boolean isRead = false;
-        private LocalDateTime readAt;
-
-        // Constructors
-        public QueryMessage() {}
-
-        public QueryMessage(String sender, String senderType, String senderName, String content) {
-            this.id = java.util.UUID.randomUUID().toString();
-            this.sender = sender;
-            this.senderType = senderType;
-            this.senderName = senderName;
-            this.content = content;
-            this.timestamp = LocalDateTime.now();
-        }
-
-        // Getters and Setters
-        public String getId() { return id; }
-        public void setId(String id) { this.id = id; }
-
-        public String getSender() { return sender; }
-        public void setSender(String sender) { this.sender = sender; }
-
-        public String getSenderType() { return senderType; }
-        public void setSenderType(String senderType) { this.senderType = senderType; }
-
-        public String getSenderName() { return senderName; }
-        public void setSenderName(String senderName) { this.senderName = senderName; }
-
-        public String getContent() { return content; }
-        public void setContent(String content) { this.content = content; }
-
-        public LocalDateTime getTimestamp() { return timestamp; }
-        public void setTimestamp(LocalDateTime timestamp) { this.timestamp = timestamp; }
-
-        public List<Attachment> getAttachments() { return attachments; }
-        public void setAttachments(List<Attachment> attachments) { this.attachments = attachments; }
-
-        public boolean isRead() { return isRead; }
-        public void setRead(boolean read) { isRead = read; }
-
-        public LocalDateTime getReadAt() { return readAt; }
-        public void setReadAt(LocalDateTime readAt) { this.readAt = readAt; }
-    }
-
-    public static class StatusHistoryEntry {
-        private QueryStatus status;
-        private LocalDateTime timestamp;
-        private String changedBy;
-        private String changedByName;
-        private String note;
-        private String reason;
-
-        // Constructors
-        public StatusHistoryEntry() {}
-
-        public StatusHistoryEntry(QueryStatus status, LocalDateTime timestamp, String changedBy, String note) {
-            this.status = status;
-            this.timestamp = timestamp;
-            this.changedBy = changedBy;
-            this.changedByName = changedBy; // Default to same as changedBy
-            this.note = note;
-        }
-
-        // Getters and Setters
-        public QueryStatus getStatus() { return status; }
-        public void setStatus(QueryStatus status) { this.status = status; }
-
-        public LocalDateTime getTimestamp() { return timestamp; }
-        public void setTimestamp(LocalDateTime timestamp) { this.timestamp = timestamp; }
-
-        public String getChangedBy() { return changedBy; }
-        public void setChangedBy(String changedBy) { this.changedBy = changedBy; }
-
-        public String getChangedByName() { return changedByName; }
-        public void setChangedByName(String changedByName) { this.changedByName = changedByName; }
-
-        public String getNote() { return note; }
-        public void setNote(String note) { this.note = note; }
-
-        public String getReason() { return reason; }
-        public void setReason(String reason) { this.reason = reason; }
-    }
-
     public static class Attachment {
         private String id;
         private String name;
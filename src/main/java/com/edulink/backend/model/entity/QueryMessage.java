@@ -0,0 +1,47 @@
+package com.edulink.backend.model.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One message in a query's thread. Messages live in their own collection instead of an
+ * array on the query, so replies are single inserts and a thread is read a page at a time.
+ * seq is the query's messageCount right after this message was counted, giving the thread
+ * a gap-tolerant order that the unique (queryId, seq) index also serves as a page cursor.
+ * Messages moved from the old embedded array have seqs up to 0, before every reply.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "query_messages")
+@CompoundIndex(name = "query_seq_unique_idx", def = "{'queryId': 1, 'seq': 1}", unique = true)
+public class QueryMessage {
+
+    @Id
+    private String id;
+
+    private String queryId;
+    private int seq;
+
+    private String sender; // User ID
+    private String senderType; // STUDENT, LECTURER
+    private String senderName;
+    private String content;
+    private LocalDateTime timestamp;
+
+    @Builder.Default
+    private List<Query.Attachment> attachments = new ArrayList<>();
+
+    private boolean isRead;
+    private LocalDateTime readAt;
+}
@@ -0,0 +1,34 @@
+package com.edulink.backend.model.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * One entry of a query's status history, appended whenever the query changes status.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "query_status_history")
+@CompoundIndex(name = "query_timestamp_idx", def = "{'queryId': 1, 'timestamp': 1}")
+public class QueryStatusChange {
+
+    @Id
+    private String id;
+
+    private String queryId;
+    private Query.QueryStatus status;
+    private LocalDateTime timestamp;
+    private String changedBy;
+    private String changedByName;
+    private String note;
+    private String reason;
+}
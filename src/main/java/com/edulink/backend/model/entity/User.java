@@ -40,6 +40,9 @@ public class User {
     
     private LocalDateTime lastLogin;
     
+    @Indexed(unique = true, sparse = true)
+    private String calendarToken; // Secret in the user's iCalendar feed URL; unset until requested
+    
     @Builder.Default
     private LocalDateTime createdAt = LocalDateTime.now();
     
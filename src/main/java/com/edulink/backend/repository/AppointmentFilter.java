@@ -0,0 +1,46 @@
+package com.edulink.backend.repository;
+
+import com.edulink.backend.model.entity.Appointment;
+import com.edulink.backend.model.entity.User;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Filter and keyset position for listing a user's appointments.
+ * Every field except userId is optional.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AppointmentFilter {
+
+    public enum TimeMode {
+        ALL,        // Newest first
+        UPCOMING,   // scheduledAt >= now, soonest first
+        PAST        // scheduledAt < now, most recent first
+    }
+
+    private String userId;
+    private User.UserRole role;     // Picks the participant field; null matches either side
+
+    private Appointment.AppointmentStatus status;
+    private Appointment.AppointmentType type;
+    private String courseId;
+
+    private LocalDateTime from;     // Inclusive
+    private LocalDateTime to;       // Exclusive
+
+    @Builder.Default
+    private TimeMode mode = TimeMode.ALL;
+
+    // Keyset cursor: the last (scheduledAt, id) of the previous page
+    private LocalDateTime afterScheduledAt;
+    private String afterId;
+
+    private Integer limit;          // null returns every match
+}
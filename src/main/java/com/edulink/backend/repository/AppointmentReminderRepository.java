@@ -0,0 +1,14 @@
+package com.edulink.backend.repository;
+
+import com.edulink.backend.model.entity.AppointmentReminder;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface AppointmentReminderRepository extends MongoRepository<AppointmentReminder, String> {
+
+    /**
+     * Drop every reminder of an appointment
+     */
+    long deleteByAppointmentId(String appointmentId);
+}
@@ -10,7 +10,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
-public interface AppointmentRepository extends MongoRepository<Appointment, String> {
+public interface AppointmentRepository extends MongoRepository<Appointment, String>, AppointmentRepositoryCustom {
 
     /**
      * Find all appointments for a specific student
@@ -33,9 +33,9 @@ public interface AppointmentRepository extends MongoRepository<Appointment, Stri
     List<Appointment> findByLecturerIdAndStatusOrderByScheduledAtDesc(String lecturerId, Appointment.AppointmentStatus status);
 
     /**
-     * Find appointments between two dates for a specific user (student or lecturer)
+     * Find appointments between two dates for a specific user (student or lecturer), served by participant_schedule_idx
      */
-    @Query("{ $or: [ { 'studentId': ?0 }, { 'lecturerId': ?0 } ], 'scheduledAt': { $gte: ?1, $lte: ?2 } }")
+    @Query("{ 'participantIds': ?0, 'scheduledAt': { $gte: ?1, $lte: ?2 } }")
     List<Appointment> findByUserIdAndScheduledAtBetween(String userId, LocalDateTime startDate, LocalDateTime endDate);
 
     /**
@@ -73,42 +73,18 @@ public interface AppointmentRepository extends MongoRepository<Appointment, Stri
     List<Appointment> findByCourseIdOrderByScheduledAtDesc(String courseId);
 
     /**
-     * FIXED: Find conflicting appointments for a lecturer in a time range
-     * Using simple Spring Data method instead of complex query
-     */
-    default List<Appointment> findConflictingAppointmentsForLecturer(String lecturerId, LocalDateTime startTime, LocalDateTime endTime) {
-        List<Appointment> lecturerAppointments = findByLecturerIdOrderByScheduledAtDesc(lecturerId);
-        
-        return lecturerAppointments.stream()
-            .filter(apt -> apt.getStatus() == Appointment.AppointmentStatus.PENDING || 
-                          apt.getStatus() == Appointment.AppointmentStatus.CONFIRMED)
-            .filter(apt -> {
-                LocalDateTime aptStart = apt.getScheduledAt();
-                LocalDateTime aptEnd = apt.getScheduledAt().plusMinutes(apt.getDurationMinutes());
-                // Check if appointments overlap
-                return (startTime.isBefore(aptEnd) && endTime.isAfter(aptStart));
-            })
-            .toList();
-    }
-
-    /**
-     * FIXED: Find conflicting appointments for a student in a time range
-     * Using simple Spring Data method instead of complex query
-     */
-    default List<Appointment> findConflictingAppointmentsForStudent(String studentId, LocalDateTime startTime, LocalDateTime endTime) {
-        List<Appointment> studentAppointments = findByStudentIdOrderByScheduledAtDesc(studentId);
-        
-        return studentAppointments.stream()
-            .filter(apt -> apt.getStatus() == Appointment.AppointmentStatus.PENDING || 
-                          apt.getStatus() == Appointment.AppointmentStatus.CONFIRMED)
-            .filter(apt -> {
-                LocalDateTime aptStart = apt.getScheduledAt();
-                LocalDateTime aptEnd = apt.getScheduledAt().plusMinutes(apt.getDurationMinutes());
-                // Check if appointments overlap
-                return (startTime.isBefore(aptEnd) && endTime.isAfter(aptStart));
-            })
-            .toList();
-    }
+     * Find active (pending or confirmed) appointments of a lecturer overlapping [startTime, endTime).
+     * Served by lecturer_conflict_idx on the stored endAt field.
+     */
+    @Query("{ 'lecturerId': ?0, 'status': { $in: ['PENDING', 'CONFIRMED'] }, 'endAt': { $gt: ?1 }, 'scheduledAt': { $lt: ?2 } }")
+    List<Appointment> findConflictingAppointmentsForLecturer(String lecturerId, LocalDateTime startTime, LocalDateTime endTime);
+
+    /**
+     * Find active (pending or confirmed) appointments of a student overlapping [startTime, endTime).
+     * Served by student_conflict_idx on the stored endAt field.
+     */
+    @Query("{ 'studentId': ?0, 'status': { $in: ['PENDING', 'CONFIRMED'] }, 'endAt': { $gt: ?1 }, 'scheduledAt': { $lt: ?2 } }")
+    List<Appointment> findConflictingAppointmentsForStudent(String studentId, LocalDateTime startTime, LocalDateTime endTime);
 
     /**
      * Count pending appointments for a lecturer
@@ -137,23 +113,18 @@ public interface AppointmentRepository extends MongoRepository<Appointment, Stri
     List<Appointment> findAppointmentsPendingCompletion(LocalDateTime currentTime);
 
     /**
-     * FIXED: Find appointments by multiple filters using simpler approach
+     * Find appointments in a status scheduled inside (start, end), served by status_schedule_idx
      */
-    default List<Appointment> findAppointmentsByFilters(String userId, Appointment.AppointmentStatus status, 
-                                                       Appointment.AppointmentType type, String courseId) {
-        // Get all appointments for user first
-        List<Appointment> appointments = findByUserIdOrderByScheduledAtDesc(userId);
-        
-        return appointments.stream()
-            .filter(apt -> status == null || apt.getStatus() == status)
-            .filter(apt -> type == null || apt.getType() == type)
-            .filter(apt -> courseId == null || (apt.getCourseId() != null && apt.getCourseId().equals(courseId)))
-            .toList();
-    }
-    
+    List<Appointment> findByStatusAndScheduledAtBetween(Appointment.AppointmentStatus status, LocalDateTime start, LocalDateTime end);
+
+    /**
+     * Count appointments in a status
+     */
+    long countByStatus(Appointment.AppointmentStatus status);
+
     /**
-     * Helper method to find all appointments for a user (student or lecturer)
+     * Helper method to find all appointments for a user (student or lecturer), served by participant_schedule_idx
      */
-    @Query("{ $or: [ { 'studentId': ?0 }, { 'lecturerId': ?0 } ] }")
+    @Query(value = "{ 'participantIds': ?0 }", sort = "{ 'scheduledAt': -1, '_id': -1 }")
     List<Appointment> findByUserIdOrderByScheduledAtDesc(String userId);
 }
\ No newline at end of file
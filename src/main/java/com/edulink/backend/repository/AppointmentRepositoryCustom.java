@@ -0,0 +1,58 @@
+package com.edulink.backend.repository;
+
+import com.edulink.backend.model.entity.Appointment;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Dynamic appointment queries that cannot be expressed as derived or @Query methods.
+ */
+public interface AppointmentRepositoryCustom {
+
+    /**
+     * Find appointments matching the filter, ordered by scheduledAt (and id as tie-breaker)
+     * in the direction implied by the filter's mode, starting after its keyset cursor.
+     */
+    List<Appointment> findByFilter(AppointmentFilter filter);
+
+    /**
+     * Find a user's appointments (student or lecturer side) with optional status, type and course filters
+     */
+    List<Appointment> findAppointmentsByFilters(String userId, Appointment.AppointmentStatus status,
+                                                Appointment.AppointmentType type, String courseId);
+
+    // =================== BULK MAINTENANCE ===================
+
+    /**
+     * Ids of appointments in the given status whose scheduledAt is before the cutoff
+     */
+    List<String> findIdsByStatusAndScheduledAtBefore(Appointment.AppointmentStatus status, LocalDateTime cutoff);
+
+    /**
+     * Ids of appointments in the given status that were booked before the cutoff
+     */
+    List<String> findIdsByStatusAndBookedAtBefore(Appointment.AppointmentStatus status, LocalDateTime cutoff);
+
+    /**
+     * Move the given appointments from expectedStatus to newStatus in one updateMulti,
+     * appending a note. Appointments no longer in expectedStatus are left untouched.
+     *
+     * @return the appointments that were actually transitioned, with only id, participants, status and time loaded
+     */
+    List<Appointment> transitionStatus(Collection<String> ids, Appointment.AppointmentStatus expectedStatus,
+                                  Appointment.AppointmentStatus newStatus, String modifiedBy, String note);
+
+    /**
+     * deleteMany of appointments in each given (finished) status scheduled before that status's cutoff,
+     * keeping recurring series parents
+     */
+    long deleteFinishedBefore(Map<Appointment.AppointmentStatus, LocalDateTime> cutoffByStatus);
+
+    /**
+     * Appointment counts per status for appointments scheduled in [from, to)
+     */
+    Map<Appointment.AppointmentStatus, Long> countByStatusScheduledBetween(LocalDateTime from, LocalDateTime to);
+}
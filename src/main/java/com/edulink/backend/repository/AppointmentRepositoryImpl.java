@@ -0,0 +1,196 @@
+package com.edulink.backend.repository;
+
+import com.edulink.backend.model.entity.Appointment;
+import com.edulink.backend.model.entity.User;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationExpression;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * MongoTemplate-backed implementation of {@link AppointmentRepositoryCustom}.
+ * Queries are shaped to hit the (participant, [status,] scheduledAt) indexes on Appointment.
+ */
+@RequiredArgsConstructor
+public class AppointmentRepositoryImpl implements AppointmentRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public List<Appointment> findByFilter(AppointmentFilter filter) {
+        List<Criteria> criteria = new ArrayList<>();
+        criteria.add(participantCriteria(filter.getUserId(), filter.getRole()));
+
+        if (filter.getStatus() != null) {
+            criteria.add(Criteria.where("status").is(filter.getStatus()));
+        }
+        if (filter.getType() != null) {
+            criteria.add(Criteria.where("type").is(filter.getType()));
+        }
+        if (filter.getCourseId() != null) {
+            criteria.add(Criteria.where("courseId").is(filter.getCourseId()));
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        AppointmentFilter.TimeMode mode = filter.getMode() != null ? filter.getMode() : AppointmentFilter.TimeMode.ALL;
+        if (mode == AppointmentFilter.TimeMode.UPCOMING) {
+            criteria.add(Criteria.where("scheduledAt").gte(now));
+        } else if (mode == AppointmentFilter.TimeMode.PAST) {
+            criteria.add(Criteria.where("scheduledAt").lt(now));
+        }
+        if (filter.getFrom() != null) {
+            criteria.add(Criteria.where("scheduledAt").gte(filter.getFrom()));
+        }
+        if (filter.getTo() != null) {
+            criteria.add(Criteria.where("scheduledAt").lt(filter.getTo()));
+        }
+
+        boolean ascending = mode == AppointmentFilter.TimeMode.UPCOMING;
+        if (filter.getAfterScheduledAt() != null && filter.getAfterId() != null) {
+            criteria.add(keysetCriteria(filter.getAfterScheduledAt(), filter.getAfterId(), ascending));
+        }
+
+        Sort.Direction direction = ascending ? Sort.Direction.ASC : Sort.Direction.DESC;
+        Query query = new Query(new Criteria().andOperator(criteria.toArray(new Criteria[0])))
+                .with(Sort.by(direction, "scheduledAt").and(Sort.by(direction, "_id")));
+        if (filter.getLimit() != null) {
+            query.limit(filter.getLimit());
+        }
+
+        return mongoTemplate.find(query, Appointment.class);
+    }
+
+    @Override
+    public List<Appointment> findAppointmentsByFilters(String userId, Appointment.AppointmentStatus status,
+                                                       Appointment.AppointmentType type, String courseId) {
+        return findByFilter(AppointmentFilter.builder()
+                .userId(userId)
+                .status(status)
+                .type(type)
+                .courseId(courseId)
+                .build());
+    }
+
+    // =================== BULK MAINTENANCE ===================
+
+    @Override
+    public List<String> findIdsByStatusAndScheduledAtBefore(Appointment.AppointmentStatus status, LocalDateTime cutoff) {
+        return findIds(new Query(Criteria.where("status").is(status).and("scheduledAt").lt(cutoff)));
+    }
+
+    @Override
+    public List<String> findIdsByStatusAndBookedAtBefore(Appointment.AppointmentStatus status, LocalDateTime cutoff) {
+        return findIds(new Query(Criteria.where("status").is(status).and("bookedAt").lt(cutoff)));
+    }
+
+    @Override
+    public List<Appointment> transitionStatus(Collection<String> ids, Appointment.AppointmentStatus expectedStatus,
+                                         Appointment.AppointmentStatus newStatus, String modifiedBy, String note) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        Date now = Date.from(LocalDateTime.now().atZone(ZoneId.systemDefault()).toInstant());
+        AggregationUpdate update = AggregationUpdate.update()
+                .set("status").toValue(newStatus.name())
+                .set("lastModifiedAt").toValue(now)
+                .set("lastModifiedBy").toValue(modifiedBy)
+                .set("updatedAt").toValue(now)
+                .set("notes").toValue(appendNote(note));
+
+        mongoTemplate.updateMulti(
+                new Query(Criteria.where("_id").in(ids).and("status").is(expectedStatus)), update, Appointment.class);
+
+        Query transitioned = new Query(Criteria.where("_id").in(ids).and("status").is(newStatus));
+        transitioned.fields().include("lecturerId", "studentId", "status", "scheduledAt", "durationMinutes");
+        return mongoTemplate.find(transitioned, Appointment.class);
+    }
+
+    @Override
+    public long deleteFinishedBefore(Map<Appointment.AppointmentStatus, LocalDateTime> cutoffByStatus) {
+        if (cutoffByStatus.isEmpty()) {
+            return 0;
+        }
+        // One (status, scheduledAt < cutoff) branch per status, each a range on status_schedule_idx
+        Criteria[] byStatus = cutoffByStatus.entrySet().stream()
+                .map(entry -> Criteria.where("status").is(entry.getKey()).and("scheduledAt").lt(entry.getValue()))
+                .toArray(Criteria[]::new);
+        Query query = new Query(new Criteria().andOperator(
+                new Criteria().orOperator(byStatus),
+                // Keep recurring series parents
+                new Criteria().orOperator(
+                        Criteria.where("isRecurring").is(false),
+                        Criteria.where("parentAppointmentId").ne(null))));
+        return mongoTemplate.remove(query, Appointment.class).getDeletedCount();
+    }
+
+    @Override
+    public Map<Appointment.AppointmentStatus, Long> countByStatusScheduledBetween(LocalDateTime from, LocalDateTime to) {
+        // Listing every status turns the match into point ranges on status_schedule_idx
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("status").in(Arrays.asList(Appointment.AppointmentStatus.values()))
+                        .and("scheduledAt").gte(from).lt(to)),
+                Aggregation.group("status").count().as("count"));
+
+        Map<Appointment.AppointmentStatus, Long> counts = new EnumMap<>(Appointment.AppointmentStatus.class);
+        for (Document row : mongoTemplate.aggregate(aggregation, Appointment.class, Document.class)) {
+            counts.put(Appointment.AppointmentStatus.valueOf(row.getString("_id")), row.get("count", Number.class).longValue());
+        }
+        return counts;
+    }
+
+    private List<String> findIds(Query query) {
+        query.fields().include("_id");
+        return mongoTemplate.find(query, Document.class, mongoTemplate.getCollectionName(Appointment.class)).stream()
+                .map(document -> document.get("_id").toString())
+                .toList();
+    }
+
+    /**
+     * notes = notes + " | " + note, or just note when there are no notes yet.
+     */
+    private static AggregationExpression appendNote(String note) {
+        Document existing = new Document("$ifNull", List.of("$notes", ""));
+        Document separator = new Document("$cond", List.of(new Document("$gt", List.of(existing, "")), " | ", ""));
+        return context -> new Document("$concat", List.of(existing, separator, note));
+    }
+
+    private static Criteria participantCriteria(String userId, User.UserRole role) {
+        if (role == User.UserRole.LECTURER) {
+            return Criteria.where("lecturerId").is(userId);
+        }
+        if (role == User.UserRole.STUDENT) {
+            return Criteria.where("studentId").is(userId);
+        }
+        return Criteria.where("participantIds").is(userId);
+    }
+
+    /**
+     * Rows strictly after (scheduledAt, id) in the sort direction.
+     */
+    private static Criteria keysetCriteria(LocalDateTime scheduledAt, String id, boolean ascending) {
+        if (ascending) {
+            return new Criteria().orOperator(
+                    Criteria.where("scheduledAt").gt(scheduledAt),
+                    Criteria.where("scheduledAt").is(scheduledAt).and("_id").gt(id));
+        }
+        return new Criteria().orOperator(
+                Criteria.where("scheduledAt").lt(scheduledAt),
+                Criteria.where("scheduledAt").is(scheduledAt).and("_id").lt(id));
+    }
+}
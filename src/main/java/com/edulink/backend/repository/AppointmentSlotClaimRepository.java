@@ -0,0 +1,21 @@
+package com.edulink.backend.repository;
+
+import com.edulink.backend.model.entity.AppointmentSlotClaim;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface AppointmentSlotClaimRepository extends MongoRepository<AppointmentSlotClaim, String> {
+
+    /**
+     * Find every bucket held by an appointment
+     */
+    List<AppointmentSlotClaim> findByAppointmentId(String appointmentId);
+
+    /**
+     * Release every bucket held by an appointment
+     */
+    long deleteByAppointmentId(String appointmentId);
+}
@@ -32,6 +32,16 @@ public interface LecturerAvailabilityRepository extends MongoRepository<Lecturer
            "{ 'recurringStartDate': { $lte: ?1 }, 'recurringEndDate': null } ] } ] }")
     List<LecturerAvailability> findByLecturerIdAndDate(String lecturerId, LocalDate date, String dayOfWeek);
 
+    /**
+     * Find active availability slots for a lecturer that apply to any date in [from, to]
+     */
+    @Query("{ 'lecturerId': ?0, 'isActive': true, $or: [ " +
+           "{ 'isRecurring': false, 'date': { $gte: ?1, $lte: ?2 } }, " +
+           "{ 'isRecurring': true, 'recurringStartDate': { $lte: ?2 }, $or: [ " +
+           "{ 'recurringEndDate': { $gte: ?1 } }, " +
+           "{ 'recurringEndDate': null } ] } ] }")
+    List<LecturerAvailability> findActiveByLecturerIdBetween(String lecturerId, LocalDate from, LocalDate to);
+
     /**
      * Find recurring availability slots for a lecturer
      */
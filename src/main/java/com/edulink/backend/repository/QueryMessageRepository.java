@@ -0,0 +1,22 @@
+package com.edulink.backend.repository;
+
+import com.edulink.backend.model.entity.QueryMessage;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface QueryMessageRepository extends MongoRepository<QueryMessage, String> {
+
+    /**
+     * Find the next page of a query's thread after the given seq (Integer.MIN_VALUE for the start)
+     */
+    List<QueryMessage> findByQueryIdAndSeqGreaterThanOrderBySeqAsc(String queryId, int afterSeq, Pageable pageable);
+
+    /**
+     * Remove a query's whole thread
+     */
+    long deleteByQueryId(String queryId);
+}
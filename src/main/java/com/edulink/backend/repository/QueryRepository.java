@@ -14,7 +14,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
-public interface QueryRepository extends MongoRepository<Query, String> {
+public interface QueryRepository extends MongoRepository<Query, String>, QueryRepositoryCustom {
 
     // Student queries
     List<Query> findByStudentIdOrderBySubmittedAtDesc(String studentId);
@@ -75,4 +75,8 @@ public interface QueryRepository extends MongoRepository<Query, String> {
 
     @org.springframework.data.mongodb.repository.Query("{$and: [{'lecturerId': ?0}, {$or: [{'title': {$regex: ?1, $options: 'i'}}, {'description': {$regex: ?1, $options: 'i'}}]}]}")
     List<Query> findByLecturerIdAndTitleOrDescriptionContaining(String lecturerId, String searchTerm);
-}
\ No newline at end of file
+
+    // Resolved queries still waiting to be auto-closed (id and due time only)
+    @org.springframework.data.mongodb.repository.Query(value = "{ 'status': 'RESOLVED', 'autoCloseAt': { $ne: null } }", fields = "{ 'autoCloseAt': 1 }")
+    List<Query> findPendingAutoClose();
+}
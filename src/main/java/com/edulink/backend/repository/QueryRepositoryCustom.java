@@ -0,0 +1,70 @@
+package com.edulink.backend.repository;
+
+import com.edulink.backend.model.entity.Query;
+import com.edulink.backend.model.entity.Query.QueryPriority;
+import com.edulink.backend.model.entity.Query.QueryStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Single-document atomic updates of a query, so concurrent replies and status changes
+ * never overwrite each other the way a read-modify-save of the whole document would.
+ */
+public interface QueryRepositoryCustom {
+
+    /**
+     * Count one more message on an open query, touch lastUpdated and mark it unread for the other party.
+     * Returns the updated query (its messageCount is the new message's seq), or null when the query
+     * does not exist or is closed.
+     */
+    Query recordMessage(String queryId, boolean fromStudent);
+
+    /**
+     * Set status and autoCloseAt (cleared when null), optionally only while the query is in expectedStatus.
+     * Returns the updated query, or null when nothing matched.
+     */
+    Query updateStatus(String queryId, QueryStatus expectedStatus, QueryStatus newStatus,
+                       LocalDateTime autoCloseAt, boolean markUnreadForStudent);
+
+    /**
+     * Close a resolved query whose autoCloseAt is not after now. Returns the closed query, or null when it was not due.
+     */
+    Query closeIfDue(String queryId, LocalDateTime now);
+
+    /**
+     * Set the read flag of one side without touching the rest of the document
+     */
+    void markRead(String queryId, boolean byStudent);
+
+    /**
+     * Mark every unread query of a lecturer as read in one updateMulti
+     *
+     * @return number of queries that were unread
+     */
+    long markAllReadForLecturer(String lecturerId);
+
+    /**
+     * Apply a status and/or priority to many queries of one lecturer in a single unordered bulkWrite.
+     * Each update only matches while the query still has the status it was read with, so a query
+     * changed in between is left alone. A null newStatus or newPriority leaves that field unchanged;
+     * autoCloseAt is set (or cleared when null) only together with a status.
+     *
+     * @param expectedStatusById status each query was read with, keyed by id
+     * @return ids this call updated, told apart by a marker it stamps on them
+     */
+    List<String> updateInBulk(String lecturerId, Map<String, QueryStatus> expectedStatusById, QueryStatus newStatus,
+                              LocalDateTime autoCloseAt, QueryPriority newPriority);
+
+    /**
+     * Counters of one participant's queries, computed in a single $facet aggregation
+     *
+     * @param lecturer whether userId is the lecturer (otherwise the student) side; also picks the read flag
+     */
+    ParticipantCounts countForParticipant(String userId, boolean lecturer, LocalDateTime weekAgo, LocalDateTime monthAgo);
+
+    record ParticipantCounts(long total, Map<QueryStatus, Long> byStatus, long unread, long highPriority,
+                             long submittedSinceWeekAgo, long submittedSinceMonthAgo) {
+    }
+}
@@ -0,0 +1,177 @@
+package com.edulink.backend.repository;
+
+import com.edulink.backend.model.entity.Query;
+import com.edulink.backend.model.entity.Query.QueryPriority;
+import com.edulink.backend.model.entity.Query.QueryStatus;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * MongoTemplate-backed implementation of {@link QueryRepositoryCustom}.
+ */
+@RequiredArgsConstructor
+public class QueryRepositoryImpl implements QueryRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public Query recordMessage(String queryId, boolean fromStudent) {
+        LocalDateTime now = LocalDateTime.now();
+        Update update = new Update()
+                .inc("messageCount", 1)
+                .set(fromStudent ? "readByLecturer" : "readByStudent", false)
+                .set("lastUpdated", now)
+                .set("updatedAt", now);
+        return mongoTemplate.findAndModify(
+                byId(queryId).addCriteria(Criteria.where("status").ne(QueryStatus.CLOSED)),
+                update, FindAndModifyOptions.options().returnNew(true), Query.class);
+    }
+
+    @Override
+    public Query updateStatus(String queryId, QueryStatus expectedStatus, QueryStatus newStatus,
+                              LocalDateTime autoCloseAt, boolean markUnreadForStudent) {
+        org.springframework.data.mongodb.core.query.Query query = byId(queryId);
+        if (expectedStatus != null) {
+            query.addCriteria(Criteria.where("status").is(expectedStatus));
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        Update update = new Update()
+                .set("status", newStatus)
+                .set("lastUpdated", now)
+                .set("updatedAt", now);
+        if (autoCloseAt != null) {
+            update.set("autoCloseAt", autoCloseAt);
+        } else {
+            update.unset("autoCloseAt");
+        }
+        if (markUnreadForStudent) {
+            update.set("readByStudent", false);
+        }
+        return mongoTemplate.findAndModify(query, update, FindAndModifyOptions.options().returnNew(true), Query.class);
+    }
+
+    @Override
+    public Query closeIfDue(String queryId, LocalDateTime now) {
+        org.springframework.data.mongodb.core.query.Query due = byId(queryId).addCriteria(Criteria
+                .where("status").is(QueryStatus.RESOLVED)
+                .and("autoCloseAt").lte(now));
+        Update close = new Update()
+                .set("status", QueryStatus.CLOSED)
+                .unset("autoCloseAt")
+                .set("lastUpdated", now)
+                .set("updatedAt", now);
+        return mongoTemplate.findAndModify(due, close, FindAndModifyOptions.options().returnNew(true), Query.class);
+    }
+
+    @Override
+    public void markRead(String queryId, boolean byStudent) {
+        mongoTemplate.updateFirst(byId(queryId),
+                Update.update(byStudent ? "readByStudent" : "readByLecturer", true), Query.class);
+    }
+
+    @Override
+    public long markAllReadForLecturer(String lecturerId) {
+        org.springframework.data.mongodb.core.query.Query unread = new org.springframework.data.mongodb.core.query.Query(
+                Criteria.where("lecturerId").is(lecturerId).and("readByLecturer").is(false));
+        return mongoTemplate.updateMulti(unread, Update.update("readByLecturer", true), Query.class).getModifiedCount();
+    }
+
+    @Override
+    public List<String> updateInBulk(String lecturerId, Map<String, QueryStatus> expectedStatusById, QueryStatus newStatus,
+                                     LocalDateTime autoCloseAt, QueryPriority newPriority) {
+        if (expectedStatusById.isEmpty()) {
+            return List.of();
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        // Stamped on every query this request updates, so the outcome does not depend on the
+        // values, which a query may already have had or got from another request
+        String bulkUpdateId = UUID.randomUUID().toString();
+        Update update = new Update()
+                .set("bulkUpdateId", bulkUpdateId)
+                .set("lastUpdated", now)
+                .set("updatedAt", now);
+        if (newStatus != null) {
+            update.set("status", newStatus).set("readByStudent", false);
+            if (autoCloseAt != null) {
+                update.set("autoCloseAt", autoCloseAt);
+            } else {
+                update.unset("autoCloseAt");
+            }
+        }
+        if (newPriority != null) {
+            update.set("priority", newPriority);
+        }
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Query.class);
+        expectedStatusById.forEach((id, expectedStatus) -> bulk.updateOne(byId(id).addCriteria(Criteria
+                .where("lecturerId").is(lecturerId)
+                .and("status").is(expectedStatus)), update));
+        bulk.execute();
+
+        Criteria applied = Criteria.where("_id").in(expectedStatusById.keySet()).and("bulkUpdateId").is(bulkUpdateId);
+        org.springframework.data.mongodb.core.query.Query appliedQuery = new org.springframework.data.mongodb.core.query.Query(applied);
+        appliedQuery.fields().include("_id");
+        return mongoTemplate.find(appliedQuery, Query.class).stream()
+                .map(Query::getId)
+                .toList();
+    }
+
+    @Override
+    public ParticipantCounts countForParticipant(String userId, boolean lecturer, LocalDateTime weekAgo, LocalDateTime monthAgo) {
+        // The $match runs on lecturer_submitted_idx / student_submitted_idx; each facet then scans only that user's queries
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where(lecturer ? "lecturerId" : "studentId").is(userId)),
+                Aggregation.facet(Aggregation.group("status").count().as("count")).as("byStatus")
+                        .and(Aggregation.match(Criteria.where(lecturer ? "readByLecturer" : "readByStudent").is(false)),
+                                Aggregation.count().as("count")).as("unread")
+                        .and(Aggregation.match(Criteria.where("priority").is(QueryPriority.HIGH)),
+                                Aggregation.count().as("count")).as("highPriority")
+                        .and(Aggregation.match(Criteria.where("submittedAt").gt(weekAgo)),
+                                Aggregation.count().as("count")).as("sinceWeekAgo")
+                        .and(Aggregation.match(Criteria.where("submittedAt").gt(monthAgo)),
+                                Aggregation.count().as("count")).as("sinceMonthAgo"));
+
+        Document result = mongoTemplate.aggregate(aggregation, Query.class, Document.class).getUniqueMappedResult();
+        Map<QueryStatus, Long> byStatus = new EnumMap<>(QueryStatus.class);
+        long total = 0;
+        if (result != null) {
+            for (Document row : result.getList("byStatus", Document.class, List.of())) {
+                long count = row.get("count", Number.class).longValue();
+                total += count;
+                if (row.getString("_id") != null) {
+                    byStatus.put(QueryStatus.valueOf(row.getString("_id")), count);
+                }
+            }
+        }
+        return new ParticipantCounts(total, byStatus, facetCount(result, "unread"), facetCount(result, "highPriority"),
+                facetCount(result, "sinceWeekAgo"), facetCount(result, "sinceMonthAgo"));
+    }
+
+    // A $count facet is an empty array rather than zero when nothing matched
+    private static long facetCount(Document result, String facet) {
+        if (result == null) {
+            return 0;
+        }
+        List<Document> rows = result.getList(facet, Document.class, List.of());
+        return rows.isEmpty() ? 0 : rows.get(0).get("count", Number.class).longValue();
+    }
+
+    // The entity shares its simple name with Mongo's Query, which is used fully qualified here
+    private static org.springframework.data.mongodb.core.query.Query byId(String queryId) {
+        return new org.springframework.data.mongodb.core.query.Query(Criteria.where("_id").is(queryId));
+    }
+}
@@ -0,0 +1,21 @@
+package com.edulink.backend.repository;
+
+import com.edulink.backend.model.entity.QueryStatusChange;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface QueryStatusChangeRepository extends MongoRepository<QueryStatusChange, String> {
+
+    /**
+     * Find a query's status history, oldest first
+     */
+    List<QueryStatusChange> findByQueryIdOrderByTimestampAsc(String queryId);
+
+    /**
+     * Remove a query's status history
+     */
+    long deleteByQueryId(String queryId);
+}
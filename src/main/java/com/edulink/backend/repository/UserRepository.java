@@ -7,6 +7,7 @@ import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,6 +17,9 @@ public interface UserRepository extends MongoRepository<User, String> {
     // =================== EXISTING METHODS ===================
     // Find user by email for authentication
     Optional<User> findByEmail(String email);
+
+    // Find the owner of an iCalendar feed token
+    Optional<User> findByCalendarToken(String calendarToken);
     
     // Check if email already exists
     boolean existsByEmail(String email);
@@ -97,6 +101,13 @@ public interface UserRepository extends MongoRepository<User, String> {
     @Query(value = "{}", fields = "{'profile.department': 1}")
     List<User> findAllForDepartments();
     
+    // Participants of query lists, projected to the fields QueryResponse.StudentInfo/LecturerInfo read
+    @Query(value = "{'_id': {'$in': ?0}}", fields = "{'email': 1, 'role': 1, " +
+           "'profile.firstName': 1, 'profile.lastName': 1, 'profile.department': 1, 'profile.phone': 1, " +
+           "'profile.studentId': 1, 'profile.year': 1, 'profile.major': 1, " +
+           "'profile.employeeId': 1, 'profile.office': 1}")
+    List<User> findQueryParticipantsByIdIn(Collection<String> ids);
+    
     // Count users by role
     long countByRole(UserRole role);
     
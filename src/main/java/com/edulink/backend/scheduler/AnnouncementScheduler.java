@@ -2,44 +2,52 @@
 package com.edulink.backend.scheduler;
 
 import com.edulink.backend.service.AnnouncementService;
+import com.edulink.backend.service.JobLeaseService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class AnnouncementScheduler {
 
     private final AnnouncementService announcementService;
+    private final JobLeaseService jobLeaseService;
 
     /**
      * Auto-expire announcements that have passed their expiry date
-     * Runs every hour
+     * Runs every hour, as a backstop for the per-announcement timers
      */
     @Scheduled(fixedRate = 3600000) // 1 hour = 3,600,000 milliseconds
     public void autoExpireAnnouncements() {
-        try {
-            log.debug("🕐 Running auto-expire announcements task...");
-            announcementService.autoExpireAnnouncements();
-        } catch (Exception e) {
-            log.error("❌ Error in auto-expire announcements task: {}", e.getMessage(), e);
-        }
+        jobLeaseService.runExclusive("announcements.auto-expire", Duration.ofMinutes(30), Duration.ofMinutes(55), lease -> {
+            try {
+                log.debug("🕐 Running auto-expire announcements task...");
+                announcementService.autoExpireAnnouncements();
+            } catch (Exception e) {
+                log.error("❌ Error in auto-expire announcements task: {}", e.getMessage(), e);
+            }
+        });
     }
 
     /**
      * Publish scheduled announcements that are ready to be published
-     * Runs every 5 minutes
+     * Runs every hour, as a backstop for the per-announcement timers that publish on time
      */
-    @Scheduled(fixedRate = 300000) // 5 minutes = 300,000 milliseconds
+    @Scheduled(fixedRate = 3600000) // 1 hour = 3,600,000 milliseconds
     public void publishScheduledAnnouncements() {
-        try {
-            log.debug("📅 Running publish scheduled announcements task...");
-            announcementService.publishScheduledAnnouncements();
-        } catch (Exception e) {
-            log.error("❌ Error in publish scheduled announcements task: {}", e.getMessage(), e);
-        }
+        jobLeaseService.runExclusive("announcements.publish-scheduled", Duration.ofMinutes(30), Duration.ofMinutes(55), lease -> {
+            try {
+                log.debug("📅 Running publish scheduled announcements task...");
+                announcementService.publishScheduledAnnouncements();
+            } catch (Exception e) {
+                log.error("❌ Error in publish scheduled announcements task: {}", e.getMessage(), e);
+            }
+        });
     }
 
     /**
@@ -1,267 +1,254 @@
 // src/main/java/com/edulink/backend/scheduler/AppointmentScheduler.java
 package com.edulink.backend.scheduler;
 
+import com.edulink.backend.dto.response.AppointmentUtilizationResponse;
 import com.edulink.backend.model.entity.Appointment;
 import com.edulink.backend.repository.AppointmentRepository;
+import com.edulink.backend.service.AppointmentMetricsService;
+import com.edulink.backend.service.AppointmentReminderService;
+import com.edulink.backend.service.AppointmentService;
+import com.edulink.backend.service.AppointmentUtilizationService;
+import com.edulink.backend.service.JobLeaseService;
+import com.edulink.backend.service.RecurringAppointmentService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class AppointmentScheduler {
 
+    private static final int TRANSITION_BATCH_SIZE = 500;
+
     private final AppointmentRepository appointmentRepository;
+    private final AppointmentService appointmentService;
+    private final AppointmentMetricsService appointmentMetricsService;
+    private final RecurringAppointmentService recurringAppointmentService;
+    private final AppointmentReminderService appointmentReminderService;
+    private final AppointmentUtilizationService appointmentUtilizationService;
+    private final JobLeaseService jobLeaseService;
+
+    @Value("${appointment.auto-status-update.enabled:true}")
+    private boolean autoStatusUpdateEnabled;
+
+    @Value("${appointment.auto-status-update.mark-past-as-completed:false}")
+    private boolean markPastAsCompleted;
+
+    @Value("${appointment.auto-status-update.cleanup-old-appointments:true}")
+    private boolean cleanupOldAppointmentsEnabled;
+
+    @Value("${appointment.auto-status-update.keep-completed-days:365}")
+    private int keepCompletedDays;
+
+    @Value("${appointment.auto-status-update.keep-cancelled-days:90}")
+    private int keepCancelledDays;
+
+    @Value("${appointment.recurring.enabled:true}")
+    private boolean recurringEnabled;
+
+    @Value("${appointment.notifications.enabled:true}")
+    private boolean notificationsEnabled;
+
+    @Value("${appointment.notifications.poll-interval-ms:15000}")
+    private long reminderPollIntervalMs;
 
     /**
-     * Automatically mark past confirmed appointments as completed
-     * Runs every hour
+     * Automatically mark past confirmed appointments as completed, when mark-past-as-completed is on
+     * Runs every hour, as a backstop for the per-appointment timers (appointments saved before they existed)
      */
     @Scheduled(fixedRate = 3600000) // 1 hour = 3,600,000 milliseconds
-    @Transactional
     public void autoCompleteExpiredAppointments() {
-        log.info("Starting auto-completion of expired appointments");
-        
-        try {
-            // Find appointments that should be completed (2 hours past scheduled time)
-            LocalDateTime cutoffTime = LocalDateTime.now().minus(2, ChronoUnit.HOURS);
-            List<Appointment> expiredAppointments = appointmentRepository.findAppointmentsPendingCompletion(cutoffTime);
+        if (!autoStatusUpdateEnabled || !markPastAsCompleted) {
+            return;
+        }
+        jobLeaseService.runExclusive("appointments.auto-complete", Duration.ofMinutes(30), Duration.ofMinutes(55), lease -> {
+            log.info("Starting auto-completion of expired appointments");
+            try {
+                // Find appointments that should be completed (2 hours past scheduled time)
+                LocalDateTime cutoffTime = LocalDateTime.now().minus(AppointmentService.AUTO_COMPLETE_AFTER);
+                List<String> expiredIds = appointmentRepository.findIdsByStatusAndScheduledAtBefore(
+                    Appointment.AppointmentStatus.CONFIRMED, cutoffTime);
             
-            int completedCount = 0;
-            for (Appointment appointment : expiredAppointments) {
-                // Only auto-complete if it's still in CONFIRMED status
-                if (appointment.getStatus() == Appointment.AppointmentStatus.CONFIRMED) {
-                    appointment.setStatus(Appointment.AppointmentStatus.COMPLETED);
-                    appointment.setLastModifiedAt(LocalDateTime.now());
-                    appointment.setLastModifiedBy("SYSTEM_AUTO_COMPLETE");
-                    appointment.setNotes(appointment.getNotes() + 
-                        (appointment.getNotes() != null ? " | " : "") + 
-                        "Auto-completed by system at " + LocalDateTime.now());
-                    
-                    appointmentRepository.save(appointment);
-                    completedCount++;
+                // Only appointments still CONFIRMED at update time are completed
+                List<Appointment> completed = transitionInBatches(lease, expiredIds,
+                    Appointment.AppointmentStatus.CONFIRMED, Appointment.AppointmentStatus.COMPLETED,
+                    "SYSTEM_AUTO_COMPLETE", "Auto-completed by system at " + LocalDateTime.now());
+            
+                if (!completed.isEmpty()) {
+                    log.info("Auto-completed {} expired appointments", completed.size());
+                } else {
+                    log.debug("No expired appointments found to auto-complete");
                 }
-            }
             
-            if (completedCount > 0) {
-                log.info("Auto-completed {} expired appointments", completedCount);
-            } else {
-                log.debug("No expired appointments found to auto-complete");
+            } catch (Exception e) {
+                log.error("Error during auto-completion of expired appointments", e);
             }
-            
-        } catch (Exception e) {
-            log.error("Error during auto-completion of expired appointments", e);
-        }
+        });
     }
 
     /**
-     * Clean up very old appointments (older than 2 years) to prevent database bloat
+     * Clean up finished appointments past their retention (keep-completed-days, keep-cancelled-days)
+     * to prevent database bloat
      * Runs daily at 2 AM
      */
     @Scheduled(cron = "0 0 2 * * ?") // Daily at 2:00 AM
-    @Transactional
     public void cleanupOldAppointments() {
-        log.info("Starting cleanup of old appointments");
-        
-        try {
-            // Delete appointments older than 2 years (except recurring parent appointments)
-            LocalDateTime cutoffDate = LocalDateTime.now().minus(2, ChronoUnit.YEARS);
+        if (!autoStatusUpdateEnabled || !cleanupOldAppointmentsEnabled) {
+            return;
+        }
+        jobLeaseService.runExclusive("appointments.cleanup", Duration.ofHours(1), Duration.ofMinutes(5), lease -> {
+            log.info("Starting cleanup of old appointments");
+            try {
+                // Delete finished appointments past their retention (except recurring parent appointments).
+                // No-shows are kept as long as completed appointments.
+                LocalDateTime now = LocalDateTime.now();
+                Map<Appointment.AppointmentStatus, LocalDateTime> cutoffByStatus = new EnumMap<>(Appointment.AppointmentStatus.class);
+                cutoffByStatus.put(Appointment.AppointmentStatus.COMPLETED, now.minusDays(keepCompletedDays));
+                cutoffByStatus.put(Appointment.AppointmentStatus.NO_SHOW, now.minusDays(keepCompletedDays));
+                cutoffByStatus.put(Appointment.AppointmentStatus.CANCELLED, now.minusDays(keepCancelledDays));
+                long deletedCount = appointmentRepository.deleteFinishedBefore(cutoffByStatus);
             
-            // First, find old appointments that are not recurring parents
-            List<Appointment> oldAppointments = appointmentRepository.findAll().stream()
-                .filter(apt -> apt.getScheduledAt().isBefore(cutoffDate))
-                .filter(apt -> !apt.isRecurring() || apt.getParentAppointmentId() != null) // Keep recurring parents
-                .filter(apt -> apt.getStatus() == Appointment.AppointmentStatus.COMPLETED || 
-                              apt.getStatus() == Appointment.AppointmentStatus.CANCELLED ||
-                              apt.getStatus() == Appointment.AppointmentStatus.NO_SHOW)
-                .toList();
+                if (deletedCount > 0) {
+                    log.info("Cleaned up {} old appointments (completed older than {} days, cancelled older than {} days)",
+                        deletedCount, keepCompletedDays, keepCancelledDays);
+                    // Bulk deletes raise no per-document events
+                    appointmentMetricsService.reconcile();
+                } else {
+                    log.debug("No old appointments found for cleanup");
+                }
             
-            int deletedCount = oldAppointments.size();
-            if (deletedCount > 0) {
-                appointmentRepository.deleteAll(oldAppointments);
-                log.info("Cleaned up {} old appointments (older than 2 years)", deletedCount);
-            } else {
-                log.debug("No old appointments found for cleanup");
+            } catch (Exception e) {
+                log.error("Error during cleanup of old appointments", e);
             }
-            
-        } catch (Exception e) {
-            log.error("Error during cleanup of old appointments", e);
-        }
+        });
     }
 
     /**
-     * Send appointment reminders for appointments in the next 24 hours
-     * Runs every 6 hours
+     * Send appointment reminders that have fallen due
+     * Polls every 15 seconds by default, so reminders go out close to their due time
      */
-    @Scheduled(fixedRate = 21600000) // 6 hours = 21,600,000 milliseconds
+    @Scheduled(fixedDelayString = "${appointment.notifications.poll-interval-ms:15000}")
     public void sendAppointmentReminders() {
-        log.info("Starting appointment reminder notifications");
+        if (!notificationsEnabled) {
+            return;
+        }
         
-        try {
-            LocalDateTime now = LocalDateTime.now();
-            LocalDateTime reminderWindowStart = now.plus(23, ChronoUnit.HOURS);
-            LocalDateTime reminderWindowEnd = now.plus(25, ChronoUnit.HOURS);
-            
-            // Find confirmed appointments in the next 24 hours
-            List<Appointment> upcomingAppointments = appointmentRepository.findAll().stream()
-                .filter(apt -> apt.getStatus() == Appointment.AppointmentStatus.CONFIRMED)
-                .filter(apt -> apt.getScheduledAt().isAfter(reminderWindowStart) && 
-                              apt.getScheduledAt().isBefore(reminderWindowEnd))
-                .toList();
+        jobLeaseService.runExclusive("appointments.reminders", Duration.ofMinutes(5), reminderLeaseHold(), lease -> {
+            try {
+                int remindersSent = appointmentReminderService.dispatchDue(lease::renew);
             
-            int remindersSent = 0;
-            for (Appointment appointment : upcomingAppointments) {
-                try {
-                    // Here you would integrate with your notification system
-                    // For now, we'll just log the reminder
-                    log.info("Reminder: Appointment '{}' for student {} with lecturer {} at {}", 
-                        appointment.getSubject(),
-                        appointment.getStudentId(),
-                        appointment.getLecturerId(),
-                        appointment.getScheduledAt());
-                    
-                    // In a real implementation, you might:
-                    // 1. Send email notifications
-                    // 2. Send push notifications
-                    // 3. Create in-app notifications
-                    // 4. Send SMS reminders
-                    
-                    remindersSent++;
-                    
-                } catch (Exception e) {
-                    log.error("Failed to send reminder for appointment {}", appointment.getId(), e);
+                if (remindersSent > 0) {
+                    log.info("Sent {} appointment reminders", remindersSent);
                 }
-            }
             
-            if (remindersSent > 0) {
-                log.info("Sent {} appointment reminders", remindersSent);
-            } else {
-                log.debug("No appointment reminders to send");
+            } catch (Exception e) {
+                log.error("Error during appointment reminder notifications", e);
             }
-            
-        } catch (Exception e) {
-            log.error("Error during appointment reminder notifications", e);
-        }
+        });
     }
 
     /**
-     * Process recurring appointments - create next instances
+     * Process recurring appointments - create instances inside the rolling horizon
      * Runs daily at 1 AM
      */
     @Scheduled(cron = "0 0 1 * * ?") // Daily at 1:00 AM
-    @Transactional
     public void processRecurringAppointments() {
-        log.info("Starting processing of recurring appointments");
-        
-        try {
-            // Find recurring parent appointments
-            List<Appointment> recurringParents = appointmentRepository.findByIsRecurringTrueAndParentAppointmentIdIsNull();
+        if (!recurringEnabled) {
+            return;
+        }
+        jobLeaseService.runExclusive("appointments.recurring", Duration.ofMinutes(30), Duration.ofMinutes(5), lease -> {
+            log.info("Starting processing of recurring appointments");
+            try {
+                int newInstancesCreated = recurringAppointmentService.expandDueSeries(lease::renew);
             
-            int newInstancesCreated = 0;
-            for (Appointment parent : recurringParents) {
-                try {
-                    // Check if we need to create new instances
-                    if (shouldCreateNextRecurringInstance(parent)) {
-                        createNextRecurringInstance(parent);
-                        newInstancesCreated++;
-                    }
-                } catch (Exception e) {
-                    log.error("Failed to process recurring appointment {}", parent.getId(), e);
+                if (newInstancesCreated > 0) {
+                    log.info("Created {} new recurring appointment instances", newInstancesCreated);
+                } else {
+                    log.debug("No new recurring appointment instances needed");
                 }
-            }
             
-            if (newInstancesCreated > 0) {
-                log.info("Created {} new recurring appointment instances", newInstancesCreated);
-            } else {
-                log.debug("No new recurring appointment instances needed");
+            } catch (Exception e) {
+                log.error("Error during processing of recurring appointments", e);
             }
-            
-        } catch (Exception e) {
-            log.error("Error during processing of recurring appointments", e);
-        }
+        });
     }
 
     /**
-     * Update appointment statistics and metrics
+     * Log appointment statistics
      * Runs every 30 minutes
      */
     @Scheduled(fixedRate = 1800000) // 30 minutes = 1,800,000 milliseconds
     public void updateAppointmentMetrics() {
-        log.debug("Updating appointment metrics");
-        
-        try {
-            // Here you would update various metrics like:
-            // - Appointment completion rates
-            // - Average appointment duration
-            // - Popular appointment times
-            // - Lecturer utilization rates
-            // - Student engagement metrics
-            
-            long totalAppointments = appointmentRepository.count();
-            long pendingAppointments = appointmentRepository.findAll().stream()
-                .mapToLong(apt -> apt.getStatus() == Appointment.AppointmentStatus.PENDING ? 1 : 0)
-                .sum();
-            long confirmedAppointments = appointmentRepository.findAll().stream()
-                .mapToLong(apt -> apt.getStatus() == Appointment.AppointmentStatus.CONFIRMED ? 1 : 0)
-                .sum();
-            long completedAppointments = appointmentRepository.findAll().stream()
-                .mapToLong(apt -> apt.getStatus() == Appointment.AppointmentStatus.COMPLETED ? 1 : 0)
-                .sum();
-            
-            log.debug("Appointment metrics - Total: {}, Pending: {}, Confirmed: {}, Completed: {}", 
-                totalAppointments, pendingAppointments, confirmedAppointments, completedAppointments);
-            
-        } catch (Exception e) {
-            log.error("Error during appointment metrics update", e);
+        if (!appointmentMetricsService.isReady()) {
+            return;
         }
+        // Counts are maintained incrementally and exported as the edulink.appointments gauges.
+        // They live in this node's memory, so this runs on every node without a lease.
+        log.debug("Appointment metrics - Pending: {}, Confirmed: {}, Completed: {}",
+            appointmentMetricsService.getGlobalCount(Appointment.AppointmentStatus.PENDING),
+            appointmentMetricsService.getGlobalCount(Appointment.AppointmentStatus.CONFIRMED),
+            appointmentMetricsService.getGlobalCount(Appointment.AppointmentStatus.COMPLETED));
     }
 
     /**
      * Cancel abandoned pending appointments (pending for more than 48 hours)
-     * Runs daily at 3 AM
+     * Runs daily at 3 AM, as a backstop for the per-appointment timers
      */
     @Scheduled(cron = "0 0 3 * * ?") // Daily at 3:00 AM
-    @Transactional
     public void cancelAbandonedAppointments() {
-        log.info("Starting cancellation of abandoned pending appointments");
-        
-        try {
-            LocalDateTime cutoffTime = LocalDateTime.now().minus(48, ChronoUnit.HOURS);
+        if (!autoStatusUpdateEnabled) {
+            return;
+        }
+        jobLeaseService.runExclusive("appointments.cancel-abandoned", Duration.ofMinutes(30), Duration.ofMinutes(5), lease -> {
+            log.info("Starting cancellation of abandoned pending appointments");
+            try {
+                LocalDateTime cutoffTime = LocalDateTime.now().minus(AppointmentService.AUTO_CANCEL_AFTER);
+                List<String> abandonedIds = appointmentRepository.findIdsByStatusAndBookedAtBefore(
+                    Appointment.AppointmentStatus.PENDING, cutoffTime);
             
-            List<Appointment> abandonedAppointments = appointmentRepository.findAll().stream()
-                .filter(apt -> apt.getStatus() == Appointment.AppointmentStatus.PENDING)
-                .filter(apt -> apt.getBookedAt().isBefore(cutoffTime))
-                .toList();
+                // Appointments confirmed since the scan are left alone
+                List<Appointment> cancelled = transitionInBatches(lease, abandonedIds,
+                    Appointment.AppointmentStatus.PENDING, Appointment.AppointmentStatus.CANCELLED,
+                    "SYSTEM_AUTO_CANCEL", "Auto-cancelled due to no lecturer response within 48 hours");
             
-            int cancelledCount = 0;
-            for (Appointment appointment : abandonedAppointments) {
-                appointment.setStatus(Appointment.AppointmentStatus.CANCELLED);
-                appointment.setLastModifiedAt(LocalDateTime.now());
-                appointment.setLastModifiedBy("SYSTEM_AUTO_CANCEL");
-                appointment.setNotes(appointment.getNotes() + 
-                    (appointment.getNotes() != null ? " | " : "") + 
-                    "Auto-cancelled due to no lecturer response within 48 hours");
-                
-                appointmentRepository.save(appointment);
-                cancelledCount++;
-            }
+                if (!cancelled.isEmpty()) {
+                    log.info("Auto-cancelled {} abandoned pending appointments", cancelled.size());
+                } else {
+                    log.debug("No abandoned pending appointments found");
+                }
             
-            if (cancelledCount > 0) {
-                log.info("Auto-cancelled {} abandoned pending appointments", cancelledCount);
-            } else {
-                log.debug("No abandoned pending appointments found");
+            } catch (Exception e) {
+                log.error("Error during cancellation of abandoned appointments", e);
             }
-            
-        } catch (Exception e) {
-            log.error("Error during cancellation of abandoned appointments", e);
+        });
+    }
+
+    /**
+     * Transition the appointments a batch at a time, renewing the job's lease before each
+     * batch and stopping once another node has taken it over.
+     */
+    private List<Appointment> transitionInBatches(JobLeaseService.Lease lease, List<String> ids,
+                                                 Appointment.AppointmentStatus expectedStatus,
+                                                 Appointment.AppointmentStatus newStatus,
+                                                 String modifiedBy, String note) {
+        List<Appointment> transitioned = new ArrayList<>();
+        for (int from = 0; from < ids.size() && lease.renew(); from += TRANSITION_BATCH_SIZE) {
+            List<String> batch = ids.subList(from, Math.min(from + TRANSITION_BATCH_SIZE, ids.size()));
+            transitioned.addAll(appointmentService.transitionStatus(batch, expectedStatus, newStatus, modifiedBy, note));
         }
+        return transitioned;
     }
 
     /**
@@ -270,116 +257,43 @@ public class AppointmentScheduler {
      */
     @Scheduled(cron = "0 0 6 * * SUN") // Weekly on Sunday at 6:00 AM
     public void generateWeeklyReports() {
-        log.info("Generating weekly appointment reports");
-        
-        try {
-            LocalDateTime weekStart = LocalDateTime.now().minus(7, ChronoUnit.DAYS);
-            LocalDateTime weekEnd = LocalDateTime.now();
+        jobLeaseService.runExclusive("appointments.weekly-report", Duration.ofMinutes(30), Duration.ofMinutes(5), lease -> {
+            log.info("Generating weekly appointment reports");
+            try {
+                LocalDateTime weekStart = LocalDateTime.now().minus(7, ChronoUnit.DAYS);
+                LocalDateTime weekEnd = LocalDateTime.now();
             
-            List<Appointment> weeklyAppointments = appointmentRepository.findAll().stream()
-                .filter(apt -> apt.getScheduledAt().isAfter(weekStart) && 
-                              apt.getScheduledAt().isBefore(weekEnd))
-                .toList();
+                Map<Appointment.AppointmentStatus, Long> weeklyCounts =
+                    appointmentRepository.countByStatusScheduledBetween(weekStart, weekEnd);
             
-            // Generate various reports
-            long totalWeeklyAppointments = weeklyAppointments.size();
-            long completedThisWeek = weeklyAppointments.stream()
-                .mapToLong(apt -> apt.getStatus() == Appointment.AppointmentStatus.COMPLETED ? 1 : 0)
-                .sum();
-            long cancelledThisWeek = weeklyAppointments.stream()
-                .mapToLong(apt -> apt.getStatus() == Appointment.AppointmentStatus.CANCELLED ? 1 : 0)
-                .sum();
+                // Generate various reports
+                long totalWeeklyAppointments = weeklyCounts.values().stream().mapToLong(Long::longValue).sum();
+                long completedThisWeek = weeklyCounts.getOrDefault(Appointment.AppointmentStatus.COMPLETED, 0L);
+                long cancelledThisWeek = weeklyCounts.getOrDefault(Appointment.AppointmentStatus.CANCELLED, 0L);
             
-            double completionRate = totalWeeklyAppointments > 0 ? 
-                (double) completedThisWeek / totalWeeklyAppointments * 100 : 0;
+                double completionRate = totalWeeklyAppointments > 0 ? 
+                    (double) completedThisWeek / totalWeeklyAppointments * 100 : 0;
             
-            log.info("Weekly Report - Total appointments: {}, Completed: {}, Cancelled: {}, Completion rate: {:.2f}%",
-                totalWeeklyAppointments, completedThisWeek, cancelledThisWeek, completionRate);
+                log.info("Weekly Report - Total appointments: {}, Completed: {}, Cancelled: {}, Completion rate: {}%",
+                    totalWeeklyAppointments, completedThisWeek, cancelledThisWeek, String.format("%.2f", completionRate));
             
-            // Here you could:
-            // 1. Store these metrics in a separate analytics table
-            // 2. Send reports to administrators
-            // 3. Generate charts and visualizations
-            // 4. Trigger alerts if metrics are concerning
+                // Popular times, lecturer utilization and all-time completion rates are kept
+                // incrementally and served by /api/appointments/analytics
+                List<AppointmentUtilizationResponse.Bucket> popularTimes = appointmentUtilizationService.getPopularTimes(3);
+                if (!popularTimes.isEmpty()) {
+                    log.info("Weekly Report - Busiest times: {}", popularTimes.stream()
+                        .map(bucket -> bucket.getDayOfWeek() + " " + bucket.getHour() + ":00 (" + bucket.getAppointments() + ")")
+                        .collect(Collectors.joining(", ")));
+                }
             
-        } catch (Exception e) {
-            log.error("Error during weekly report generation", e);
-        }
+            } catch (Exception e) {
+                log.error("Error during weekly report generation", e);
+            }
+        });
     }
 
-    // =================== HELPER METHODS ===================
-    
-    private boolean shouldCreateNextRecurringInstance(Appointment parent) {
-        // Check if the next instance in the sequence should be created
-        LocalDateTime now = LocalDateTime.now();
-        LocalDateTime nextInstanceTime = calculateNextRecurrenceTime(parent);
-        
-        // Create instances up to 30 days in advance
-        LocalDateTime creationThreshold = now.plus(30, ChronoUnit.DAYS);
-        
-        if (nextInstanceTime.isAfter(creationThreshold)) {
-            return false; // Too far in the future
-        }
-        
-        if (parent.getRecurringEndDate() != null && nextInstanceTime.isAfter(parent.getRecurringEndDate())) {
-            return false; // Past the end date
-        }
-        
-        // Check if this instance already exists
-        List<Appointment> existingInstances = appointmentRepository.findByParentAppointmentIdOrderByScheduledAtAsc(parent.getId());
-        return existingInstances.stream()
-            .noneMatch(instance -> instance.getScheduledAt().equals(nextInstanceTime));
-    }
-    
-    private LocalDateTime calculateNextRecurrenceTime(Appointment parent) {
-        // Get the last created instance or use parent time if no instances exist
-        List<Appointment> instances = appointmentRepository.findByParentAppointmentIdOrderByScheduledAtAsc(parent.getId());
-        
-        LocalDateTime lastInstanceTime = instances.isEmpty() ? 
-            parent.getScheduledAt() : 
-            instances.get(instances.size() - 1).getScheduledAt();
-        
-        return switch (parent.getRecurringPattern()) {
-            case WEEKLY -> lastInstanceTime.plus(1, ChronoUnit.WEEKS);
-            case BIWEEKLY -> lastInstanceTime.plus(2, ChronoUnit.WEEKS);
-            case MONTHLY -> lastInstanceTime.plus(1, ChronoUnit.MONTHS);
-        };
-    }
-    
-    private void createNextRecurringInstance(Appointment parent) {
-        LocalDateTime nextTime = calculateNextRecurrenceTime(parent);
-        
-        // Check for conflicts before creating
-        List<Appointment> conflicts = appointmentRepository.findConflictingAppointmentsForLecturer(
-            parent.getLecturerId(), nextTime, nextTime.plus(parent.getDurationMinutes(), ChronoUnit.MINUTES));
-        
-        if (!conflicts.isEmpty()) {
-            log.warn("Skipping recurring instance for appointment {} at {} due to conflicts", 
-                parent.getId(), nextTime);
-            return;
-        }
-        
-        Appointment newInstance = Appointment.builder()
-            .studentId(parent.getStudentId())
-            .lecturerId(parent.getLecturerId())
-            .subject(parent.getSubject())
-            .description(parent.getDescription())
-            .scheduledAt(nextTime)
-            .durationMinutes(parent.getDurationMinutes())
-            .location(parent.getLocation())
-            .type(parent.getType())
-            .status(Appointment.AppointmentStatus.PENDING)
-            .courseId(parent.getCourseId())
-            .meetingLink(parent.getMeetingLink())
-            .meetingPassword(parent.getMeetingPassword())
-            .isRecurring(false)
-            .parentAppointmentId(parent.getId())
-            .bookedAt(LocalDateTime.now())
-            .lastModifiedAt(LocalDateTime.now())
-            .lastModifiedBy("SYSTEM_RECURRING")
-            .build();
-        
-        appointmentRepository.save(newInstance);
-        log.info("Created new recurring instance for appointment {} at {}", parent.getId(), nextTime);
+    // One poll per interval across the cluster, with slack for timers firing slightly early
+    private Duration reminderLeaseHold() {
+        return Duration.ofMillis(reminderPollIntervalMs * 4 / 5);
     }
-}
\ No newline at end of file
+}
@@ -3,10 +3,12 @@ package com.edulink.backend.service;
 
 import com.edulink.backend.model.entity.Announcement;
 import com.edulink.backend.model.entity.Course;
+import com.edulink.backend.model.entity.LifecycleTimer;
 import com.edulink.backend.model.entity.User;
 import com.edulink.backend.repository.AnnouncementRepository;
 import com.edulink.backend.repository.CourseRepository;
 import com.edulink.backend.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -29,6 +31,13 @@ public class AnnouncementService {
     private final CourseRepository courseRepository;
     private final SimpMessagingTemplate messagingTemplate;
     private final UserService userService;
+    private final LifecycleTimerService lifecycleTimerService;
+
+    @PostConstruct
+    void registerTimerHandlers() {
+        lifecycleTimerService.registerHandler(LifecycleTimer.TimerType.ANNOUNCEMENT_PUBLISH, this::publishIfDue);
+        lifecycleTimerService.registerHandler(LifecycleTimer.TimerType.ANNOUNCEMENT_EXPIRE, this::expireIfDue);
+    }
 
     /**
      * Create a new announcement
@@ -44,6 +53,7 @@ public class AnnouncementService {
         }
         
         Announcement savedAnnouncement = announcementRepository.save(announcement);
+        syncTimers(savedAnnouncement);
         
         // Broadcast real-time if published
         if (savedAnnouncement.getStatus() == Announcement.AnnouncementStatus.PUBLISHED) {
@@ -74,7 +84,9 @@ public class AnnouncementService {
         existing.setPinned(updateData.isPinned());
         existing.setUpdatedAt(LocalDateTime.now());
         
-        return announcementRepository.save(existing);
+        Announcement saved = announcementRepository.save(existing);
+        syncTimers(saved);
+        return saved;
     }
 
     /**
@@ -89,6 +101,7 @@ public class AnnouncementService {
         announcement.setUpdatedAt(LocalDateTime.now());
         
         Announcement published = announcementRepository.save(announcement);
+        syncTimers(published);
         broadcastAnnouncementAsync(published);
         
         return published;
@@ -152,6 +165,8 @@ public class AnnouncementService {
      */
     public void deleteAnnouncement(String id) {
         announcementRepository.deleteById(id);
+        lifecycleTimerService.cancel(LifecycleTimer.TimerType.ANNOUNCEMENT_PUBLISH, id);
+        lifecycleTimerService.cancel(LifecycleTimer.TimerType.ANNOUNCEMENT_EXPIRE, id);
     }
 
     /**
@@ -188,10 +203,59 @@ public class AnnouncementService {
         
         if (!readyToPublish.isEmpty()) {
             announcementRepository.saveAll(readyToPublish);
+            readyToPublish.forEach(this::syncTimers);
             log.info("Published {} scheduled announcements", readyToPublish.size());
         }
     }
 
+    // =================== LIFECYCLE TIMERS ===================
+
+    /**
+     * Arm the publish timer of a scheduled announcement and the expiry timer of a published one,
+     * and drop whichever no longer applies.
+     */
+    private void syncTimers(Announcement announcement) {
+        if (announcement.getStatus() == Announcement.AnnouncementStatus.SCHEDULED && announcement.getScheduledFor() != null) {
+            lifecycleTimerService.schedule(LifecycleTimer.TimerType.ANNOUNCEMENT_PUBLISH,
+                    announcement.getId(), announcement.getScheduledFor());
+        } else {
+            lifecycleTimerService.cancel(LifecycleTimer.TimerType.ANNOUNCEMENT_PUBLISH, announcement.getId());
+        }
+
+        if (announcement.getStatus() == Announcement.AnnouncementStatus.PUBLISHED && announcement.getExpiresAt() != null) {
+            lifecycleTimerService.schedule(LifecycleTimer.TimerType.ANNOUNCEMENT_EXPIRE,
+                    announcement.getId(), announcement.getExpiresAt());
+        } else {
+            lifecycleTimerService.cancel(LifecycleTimer.TimerType.ANNOUNCEMENT_EXPIRE, announcement.getId());
+        }
+    }
+
+    private void publishIfDue(String announcementId) {
+        announcementRepository.findById(announcementId)
+            .filter(announcement -> announcement.getStatus() == Announcement.AnnouncementStatus.SCHEDULED)
+            .ifPresent(announcement -> {
+                announcement.setStatus(Announcement.AnnouncementStatus.PUBLISHED);
+                announcement.setPublishedAt(LocalDateTime.now());
+                announcement.setUpdatedAt(LocalDateTime.now());
+                announcementRepository.save(announcement);
+                syncTimers(announcement);
+                broadcastAnnouncementAsync(announcement);
+                log.info("Published scheduled announcement {}", announcementId);
+            });
+    }
+
+    private void expireIfDue(String announcementId) {
+        announcementRepository.findById(announcementId)
+            .filter(announcement -> announcement.getStatus() == Announcement.AnnouncementStatus.PUBLISHED
+                    && announcement.isExpired())
+            .ifPresent(announcement -> {
+                announcement.setStatus(Announcement.AnnouncementStatus.EXPIRED);
+                announcement.setUpdatedAt(LocalDateTime.now());
+                announcementRepository.save(announcement);
+                log.info("Expired announcement {}", announcementId);
+            });
+    }
+
     /**
      * Check if announcement is targeted to specific user
      */
@@ -0,0 +1,31 @@
+package com.edulink.backend.service;
+
+import com.edulink.backend.model.entity.Appointment;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterConvertEvent;
+import org.springframework.data.mongodb.core.mapping.event.BeforeConvertEvent;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the stored, query-only fields of an appointment (such as endAt) in sync
+ * with the fields they are derived from, whichever code path saves it.
+ *
+ * Also tracks the appointment's stored state: set when it is read, and moved to
+ * replacedState when it is saved again, so after-save listeners see what changed.
+ */
+@Component
+public class AppointmentDerivedFieldsListener extends AbstractMongoEventListener<Appointment> {
+
+    @Override
+    public void onBeforeConvert(BeforeConvertEvent<Appointment> event) {
+        Appointment appointment = event.getSource();
+        appointment.refreshDerivedFields();
+        appointment.setReplacedState(appointment.getStoredState());
+        appointment.setStoredState(Appointment.StoredState.of(appointment));
+    }
+
+    @Override
+    public void onAfterConvert(AfterConvertEvent<Appointment> event) {
+        event.getSource().setStoredState(Appointment.StoredState.of(event.getSource()));
+    }
+}
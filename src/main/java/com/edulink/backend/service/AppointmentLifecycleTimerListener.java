@@ -0,0 +1,30 @@
+package com.edulink.backend.service;
+
+import com.edulink.backend.model.entity.Appointment;
+import com.edulink.backend.util.MongoEvents;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.stereotype.Component;
+
+/**
+ * Re-arms or drops the auto-complete and auto-cancel timers of an appointment whenever a save
+ * changes its status or time, or it is deleted.
+ */
+@Component
+@RequiredArgsConstructor
+public class AppointmentLifecycleTimerListener extends AbstractMongoEventListener<Appointment> {
+
+    private final AppointmentService appointmentService;
+
+    @Override
+    public void onAfterSave(AfterSaveEvent<Appointment> event) {
+        appointmentService.syncLifecycleTimers(event.getSource());
+    }
+
+    @Override
+    public void onAfterDelete(AfterDeleteEvent<Appointment> event) {
+        appointmentService.cancelLifecycleTimers(MongoEvents.deletedIds(event));
+    }
+}
@@ -0,0 +1,23 @@
+package com.edulink.backend.service;
+
+import com.edulink.backend.model.entity.Appointment;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.stereotype.Component;
+
+/**
+ * Feeds appointment saves into {@link AppointmentMetricsService}. Delete events carry only the
+ * deleted ids, so the deleting code records deletions itself.
+ */
+@Component
+@RequiredArgsConstructor
+public class AppointmentMetricsListener extends AbstractMongoEventListener<Appointment> {
+
+    private final AppointmentMetricsService appointmentMetricsService;
+
+    @Override
+    public void onAfterSave(AfterSaveEvent<Appointment> event) {
+        appointmentMetricsService.recordSaved(event.getSource());
+    }
+}
@@ -0,0 +1,413 @@
+package com.edulink.backend.service;
+
+import com.edulink.backend.model.entity.Appointment;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+/**
+ * In-memory appointment counters, globally and per participant.
+ *
+ * Only counts are kept: per status, per participant and status, and per participant and start
+ * time of their pending/confirmed appointments. Saves (see {@link AppointmentMetricsListener}),
+ * deletes and the bulk status transitions apply the difference between an appointment's
+ * previous and new state, so reads never touch Mongo. Writes that bypass these paths are
+ * picked up by the periodic {@link #reconcile()}, which recomputes every count with one
+ * $group aggregation.
+ *
+ * Status counts are O(1). Today/upcoming counts walk the participant's active start times
+ * from today on. Earlier ones are not tracked: each reconcile drops them, so past
+ * appointments left pending or confirmed do not pile up.
+ *
+ * The same updates maintain a {@link UtilizationCube} per lecturer for the analytics
+ * endpoints; {@link AppointmentUtilizationService} persists the changed ones.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AppointmentMetricsService {
+
+    private static final Appointment.AppointmentStatus[] STATUSES = Appointment.AppointmentStatus.values();
+
+    private final MongoTemplate mongoTemplate;
+    private final MeterRegistry meterRegistry;
+
+    private final Object lock = new Object();
+    private Counters counters = new Counters(LocalDate.now().atStartOfDay());
+    // Changes recorded while a reconcile is scanning Mongo, replayed onto its result
+    private List<Consumer<Counters>> pendingDuringReconcile;
+    private volatile boolean ready;
+
+    @PostConstruct
+    void registerGauges() {
+        for (Appointment.AppointmentStatus status : STATUSES) {
+            Gauge.builder("edulink.appointments", this, metrics -> metrics.getGlobalCount(status))
+                    .description("Appointments by status")
+                    .tag("status", status.name())
+                    .register(meterRegistry);
+        }
+        Gauge.builder("edulink.appointments.participants", this, metrics -> metrics.getParticipantCount())
+                .description("Users with at least one appointment")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        reconcile();
+    }
+
+    /**
+     * Recompute the counters from Mongo and swap them in. Changes recorded during the
+     * aggregation are replayed onto its result; one that raced the scan may be counted
+     * twice until the next run, which logs and corrects the drift.
+     */
+    @Scheduled(fixedDelayString = "${appointment.metrics.reconcile-interval-ms:900000}",
+            initialDelayString = "${appointment.metrics.reconcile-interval-ms:900000}")
+    public void reconcile() {
+        synchronized (lock) {
+            if (pendingDuringReconcile != null) {
+                return; // Already running
+            }
+            pendingDuringReconcile = new ArrayList<>();
+        }
+
+        try {
+            Counters fresh = new Counters(LocalDate.now().atStartOfDay());
+            for (Document row : mongoTemplate.getCollection(mongoTemplate.getCollectionName(Appointment.class))
+                    .aggregate(countPipeline())) {
+                fresh.load(row);
+            }
+
+            synchronized (lock) {
+                pendingDuringReconcile.forEach(change -> change.accept(fresh));
+                logDrift(counters, fresh);
+                fresh.utilizationRebuilt = true;
+                counters = fresh;
+                ready = true;
+            }
+            log.debug("Appointment metrics reconciled: {} participants", fresh.users.size());
+        } catch (Exception e) {
+            log.error("❌ Error reconciling appointment metrics: {}", e.getMessage(), e);
+        } finally {
+            synchronized (lock) {
+                pendingDuringReconcile = null;
+            }
+        }
+    }
+
+    // =================== UPDATES ===================
+
+    /**
+     * Record a save, moving the appointment's counts from the state the save replaced
+     * (none for an insert) to its new state.
+     */
+    public void recordSaved(Appointment appointment) {
+        Appointment.StoredState previous = appointment.getReplacedState();
+        Appointment.StoredState next = Appointment.StoredState.of(appointment);
+        if (!next.equals(previous)) {
+            mutate(state -> state.replace(previous, next));
+        }
+    }
+
+    /**
+     * Record the deletion of an appointment, as last read from Mongo.
+     */
+    public void recordDeleted(Appointment appointment) {
+        Appointment.StoredState previous = appointment.getStoredState() != null
+                ? appointment.getStoredState() : Appointment.StoredState.of(appointment);
+        mutate(state -> state.replace(previous, null));
+    }
+
+    /**
+     * Record a bulk status change that did not go through repository saves.
+     *
+     * @param appointments the transitioned appointments, carrying their new status
+     */
+    public void recordStatusChange(Collection<Appointment> appointments, Appointment.AppointmentStatus previousStatus) {
+        if (!appointments.isEmpty()) {
+            List<Appointment.StoredState> states = appointments.stream().map(Appointment.StoredState::of).toList();
+            mutate(state -> states.forEach(next -> state.replace(next.withStatus(previousStatus), next)));
+        }
+    }
+
+    private void mutate(Consumer<Counters> change) {
+        synchronized (lock) {
+            change.accept(counters);
+            if (pendingDuringReconcile != null) {
+                pendingDuringReconcile.add(change);
+            }
+        }
+    }
+
+    // =================== READS ===================
+
+    /**
+     * Whether the counters have been loaded. Callers fall back to Mongo queries until then.
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    public long getGlobalCount(Appointment.AppointmentStatus status) {
+        synchronized (lock) {
+            return counters.global[status.ordinal()];
+        }
+    }
+
+    public long getParticipantCount() {
+        synchronized (lock) {
+            return counters.users.size();
+        }
+    }
+
+    /**
+     * Dashboard counts of one lecturer or student. Today and upcoming include pending and
+     * confirmed appointments only, like the repository queries they replace.
+     */
+    public UserCounts getUserCounts(String userId, LocalDateTime now) {
+        LocalDateTime startOfDay = now.toLocalDate().atStartOfDay();
+        LocalDateTime startOfTomorrow = startOfDay.plusDays(1);
+
+        synchronized (lock) {
+            UserCounters user = counters.users.get(userId);
+            if (user == null) {
+                return new UserCounts(0, 0, 0, 0);
+            }
+            long today = sum(user.activeStarts.subMap(startOfDay, true, startOfTomorrow, false));
+            long upcoming = sum(user.activeStarts.tailMap(now, true));
+            long total = 0;
+            for (long count : user.byStatus) {
+                total += count;
+            }
+            return new UserCounts(today, upcoming, user.byStatus[Appointment.AppointmentStatus.PENDING.ordinal()], total);
+        }
+    }
+
+    /**
+     * Utilization of one lecturer, or null when they have no appointments.
+     */
+    public UtilizationCube getUtilization(String lecturerId) {
+        synchronized (lock) {
+            UtilizationCube cube = counters.utilization.get(lecturerId);
+            return cube != null ? cube.copy() : null;
+        }
+    }
+
+    public Map<String, UtilizationCube> getAllUtilization() {
+        synchronized (lock) {
+            Map<String, UtilizationCube> copies = new HashMap<>();
+            counters.utilization.forEach((lecturerId, cube) -> copies.put(lecturerId, cube.copy()));
+            return copies;
+        }
+    }
+
+    /**
+     * Take the lecturer cubes changed since the previous call. A lecturer mapped to null has
+     * no appointments left. After a reconcile every cube is returned and {@code complete} is set.
+     */
+    public UtilizationChanges drainUtilizationChanges() {
+        synchronized (lock) {
+            Map<String, UtilizationCube> changed = new HashMap<>();
+            for (String lecturerId : counters.utilizationChanged) {
+                UtilizationCube cube = counters.utilization.get(lecturerId);
+                changed.put(lecturerId, cube != null ? cube.copy() : null);
+            }
+            UtilizationChanges changes = new UtilizationChanges(changed, counters.utilizationRebuilt);
+            counters.utilizationChanged.clear();
+            counters.utilizationRebuilt = false;
+            return changes;
+        }
+    }
+
+    public record UtilizationChanges(Map<String, UtilizationCube> cubes, boolean complete) {
+    }
+
+    private static long sum(Map<LocalDateTime, Integer> starts) {
+        long sum = 0;
+        for (int count : starts.values()) {
+            sum += count;
+        }
+        return sum;
+    }
+
+    private void logDrift(Counters previous, Counters fresh) {
+        if (!ready) {
+            return;
+        }
+        for (Appointment.AppointmentStatus status : STATUSES) {
+            long before = previous.global[status.ordinal()];
+            long after = fresh.global[status.ordinal()];
+            if (before != after) {
+                log.info("Appointment metrics drift corrected for {}: {} -> {}", status, before, after);
+            }
+        }
+    }
+
+    public static class UserCounts {
+        public final long today;
+        public final long upcoming;
+        public final long pending;
+        public final long total;
+
+        public UserCounts(long today, long upcoming, long pending, long total) {
+            this.today = today;
+            this.upcoming = upcoming;
+            this.pending = pending;
+            this.total = total;
+        }
+    }
+
+    // =================== STATE ===================
+
+    /**
+     * One row per (participant, lecturer side, status), split further by start time for
+     * pending/confirmed appointments and by weekday and hour on the lecturer side, which
+     * feeds the utilization cubes. The student side is dropped when it is the lecturer.
+     */
+    private static List<Document> countPipeline() {
+        String zone = ZoneId.systemDefault().getId();
+        Document lecturerSide = new Document("$eq", List.of("$side", 0L));
+        Document active = new Document("$in", List.of("$status", List.of(
+                Appointment.AppointmentStatus.PENDING.name(), Appointment.AppointmentStatus.CONFIRMED.name())));
+        Document localStart = new Document("date", "$scheduledAt").append("timezone", zone);
+
+        return List.of(
+                new Document("$match", new Document("status", new Document("$ne", null))),
+                new Document("$project", new Document("status", 1)
+                        .append("scheduledAt", 1)
+                        .append("durationMinutes", 1)
+                        .append("participants", List.of("$lecturerId", new Document("$cond", List.of(
+                                new Document("$eq", List.of("$studentId", "$lecturerId")), null, "$studentId"))))),
+                new Document("$unwind", new Document("path", "$participants").append("includeArrayIndex", "side")),
+                new Document("$group", new Document("_id", new Document("user", "$participants")
+                        .append("lecturer", lecturerSide)
+                        .append("status", "$status")
+                        .append("start", new Document("$cond", List.of(active, "$scheduledAt", null)))
+                        .append("day", new Document("$cond", List.of(lecturerSide, new Document("$isoDayOfWeek", localStart), null)))
+                        .append("hour", new Document("$cond", List.of(lecturerSide, new Document("$hour", localStart), null))))
+                        .append("count", new Document("$sum", 1))
+                        .append("minutes", new Document("$sum", new Document("$ifNull", List.of("$durationMinutes", 0))))));
+    }
+
+    private static class UserCounters {
+        final long[] byStatus = new long[STATUSES.length];
+        // Start time -> number of pending/confirmed appointments starting then
+        final TreeMap<LocalDateTime, Integer> activeStarts = new TreeMap<>();
+        int appointments;
+    }
+
+    private static class Counters {
+        final Map<String, UserCounters> users = new HashMap<>();
+        final long[] global = new long[STATUSES.length];
+        // Active start times before this are not kept in activeStarts
+        final LocalDateTime startsFrom;
+        final Map<String, UtilizationCube> utilization = new HashMap<>();
+        // Lecturers whose cube changed since it was last persisted
+        final Set<String> utilizationChanged = new HashSet<>();
+        boolean utilizationRebuilt;
+
+        Counters(LocalDateTime startsFrom) {
+            this.startsFrom = startsFrom;
+        }
+
+        void replace(Appointment.StoredState previous, Appointment.StoredState next) {
+            if (previous != null && previous.status() != null) {
+                apply(previous, -1);
+            }
+            if (next != null && next.status() != null) {
+                apply(next, 1);
+            }
+        }
+
+        /**
+         * Add one row of {@link #countPipeline()}.
+         */
+        void load(Document row) {
+            Document key = row.get("_id", Document.class);
+            Appointment.AppointmentStatus status = Appointment.AppointmentStatus.valueOf(key.getString("status"));
+            boolean lecturerSide = key.getBoolean("lecturer");
+            String userId = key.getString("user");
+            int count = row.get("count", Number.class).intValue();
+            Date start = key.getDate("start");
+
+            if (lecturerSide) {
+                global[status.ordinal()] += count;
+            }
+            if (userId != null) {
+                UserCounters user = users.computeIfAbsent(userId, id -> new UserCounters());
+                user.byStatus[status.ordinal()] += count;
+                user.appointments += count;
+                LocalDateTime startAt = start != null ? LocalDateTime.ofInstant(start.toInstant(), ZoneId.systemDefault()) : null;
+                if (startAt != null && !startAt.isBefore(startsFrom)) {
+                    user.activeStarts.merge(startAt, count, Integer::sum);
+                }
+            }
+            if (lecturerSide && userId != null && key.get("day") != null) {
+                UtilizationCube cube = utilization.computeIfAbsent(userId, id -> new UtilizationCube());
+                cube.add(DayOfWeek.of(key.get("day", Number.class).intValue()), key.get("hour", Number.class).intValue(),
+                        status, count, row.get("minutes", Number.class).longValue());
+            }
+        }
+
+        private void apply(Appointment.StoredState state, int delta) {
+            global[state.status().ordinal()] += delta;
+            applyToUser(state.lecturerId(), state, delta);
+            if (state.studentId() != null && !state.studentId().equals(state.lecturerId())) {
+                applyToUser(state.studentId(), state, delta);
+            }
+            applyToUtilization(state, delta);
+        }
+
+        private void applyToUtilization(Appointment.StoredState state, int delta) {
+            String lecturerId = state.lecturerId();
+            if (lecturerId == null || state.scheduledAt() == null) {
+                return;
+            }
+            UtilizationCube cube = utilization.computeIfAbsent(lecturerId, id -> new UtilizationCube());
+            cube.add(state.scheduledAt(), state.durationMinutes(), state.status(), delta);
+            if (delta < 0 && cube.isEmpty()) {
+                utilization.remove(lecturerId);
+            }
+            utilizationChanged.add(lecturerId);
+        }
+
+        private void applyToUser(String userId, Appointment.StoredState state, int delta) {
+            if (userId == null) {
+                return;
+            }
+            UserCounters user = users.computeIfAbsent(userId, id -> new UserCounters());
+            user.byStatus[state.status().ordinal()] += delta;
+            user.appointments += delta;
+            if (state.scheduledAt() != null && !state.scheduledAt().isBefore(startsFrom)
+                    && SlotReservationService.holdsSlot(state.status())) {
+                user.activeStarts.merge(state.scheduledAt(), delta, (a, b) -> a + b == 0 ? null : a + b);
+            }
+            if (user.appointments == 0) {
+                users.remove(userId);
+            }
+        }
+    }
+}
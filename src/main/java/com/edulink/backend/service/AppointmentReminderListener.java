@@ -0,0 +1,29 @@
+package com.edulink.backend.service;
+
+import com.edulink.backend.model.entity.Appointment;
+import com.edulink.backend.util.MongoEvents;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.stereotype.Component;
+
+/**
+ * Re-arms or drops the reminders of an appointment whenever it is saved or deleted.
+ */
+@Component
+@RequiredArgsConstructor
+public class AppointmentReminderListener extends AbstractMongoEventListener<Appointment> {
+
+    private final AppointmentReminderService appointmentReminderService;
+
+    @Override
+    public void onAfterSave(AfterSaveEvent<Appointment> event) {
+        appointmentReminderService.sync(event.getSource());
+    }
+
+    @Override
+    public void onAfterDelete(AfterDeleteEvent<Appointment> event) {
+        MongoEvents.deletedIds(event).forEach(appointmentReminderService::remove);
+    }
+}
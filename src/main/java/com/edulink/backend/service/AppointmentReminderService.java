@@ -0,0 +1,260 @@
+package com.edulink.backend.service;
+
+import com.edulink.backend.dto.response.AppointmentReminderNotification;
+import com.edulink.backend.model.entity.Appointment;
+import com.edulink.backend.model.entity.AppointmentReminder;
+import com.edulink.backend.model.entity.User;
+import com.edulink.backend.repository.AppointmentReminderRepository;
+import com.edulink.backend.repository.AppointmentRepository;
+import com.edulink.backend.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Appointment reminders, one per configured offset (appointment.notifications.reminder-minutes).
+ *
+ * Reminders are stored with their due time when an appointment is saved as confirmed, and
+ * dropped or re-armed when it is cancelled or rescheduled. {@link #dispatchDue} claims due
+ * reminders in batches by stamping sentAt, then pushes them to both participants over
+ * WebSocket and, when enabled, by e-mail.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AppointmentReminderService {
+
+    private static final int BATCH_SIZE = 500;
+    private static final int MAIL_THREADS = 4;
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("EEE d MMM yyyy, HH:mm");
+
+    private final AppointmentReminderRepository reminderRepository;
+    private final AppointmentRepository appointmentRepository;
+    private final UserRepository userRepository;
+    private final MongoTemplate mongoTemplate;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final EmailSender emailSender;
+    private final Environment environment;
+
+    @Value("${appointment.notifications.email-enabled:false}")
+    private boolean emailEnabled;
+
+    @Value("${mail.templates.appointment-reminder:appointment-reminder}")
+    private String reminderTemplate;
+
+    private List<Integer> reminderMinutes;
+
+    private final AtomicInteger mailThreadCount = new AtomicInteger();
+    private final ExecutorService mailer = Executors.newFixedThreadPool(MAIL_THREADS, runnable -> {
+        Thread thread = new Thread(runnable, "appointment-reminder-mail-" + mailThreadCount.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @PostConstruct
+    void loadOffsets() {
+        // YAML lists are not resolvable through @Value
+        reminderMinutes = Binder.get(environment)
+                .bind("appointment.notifications.reminder-minutes", Bindable.listOf(Integer.class))
+                .orElse(List.of(1440, 60, 15));
+        log.info("Appointment reminders at {} minutes before start", reminderMinutes);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        mailer.shutdown();
+    }
+
+    // =================== SCHEDULING ===================
+
+    /**
+     * Bring the stored reminders of an appointment in line with its current state.
+     * Reminders already sent for the same appointment time are kept as they are.
+     */
+    public void sync(Appointment appointment) {
+        if (appointment.getId() == null) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        if (appointment.getStatus() != Appointment.AppointmentStatus.CONFIRMED
+                || appointment.getScheduledAt() == null || !appointment.getScheduledAt().isAfter(now)) {
+            reminderRepository.deleteByAppointmentId(appointment.getId());
+            return;
+        }
+
+        // Rescheduled: reminders computed for the old time no longer apply
+        mongoTemplate.remove(new Query(Criteria.where("appointmentId").is(appointment.getId())
+                .and("scheduledAt").ne(appointment.getScheduledAt())), AppointmentReminder.class);
+
+        BulkOperations bulk = null;
+        for (int offset : reminderMinutes) {
+            LocalDateTime dueAt = appointment.getScheduledAt().minusMinutes(offset);
+            if (!dueAt.isAfter(now)) {
+                continue; // Booked or confirmed too late for this one
+            }
+            if (bulk == null) {
+                bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, AppointmentReminder.class);
+            }
+            bulk.upsert(new Query(Criteria.where("_id").is(appointment.getId() + ":" + offset)), new Update()
+                    .setOnInsert("appointmentId", appointment.getId())
+                    .setOnInsert("offsetMinutes", offset)
+                    .setOnInsert("scheduledAt", appointment.getScheduledAt())
+                    .setOnInsert("dueAt", dueAt)
+                    .setOnInsert("expiresAt", appointment.getEndTime().plusDays(1)));
+        }
+        if (bulk != null) {
+            bulk.execute();
+        }
+    }
+
+    public void remove(String appointmentId) {
+        reminderRepository.deleteByAppointmentId(appointmentId);
+    }
+
+    // =================== DISPATCH ===================
+
+    /**
+     * Send every reminder that is due and not yet sent.
+     *
+     * @param stillLeased checked before each batch; dispatch stops once it returns false
+     * @return number of reminders delivered
+     */
+    public int dispatchDue(BooleanSupplier stillLeased) {
+        int delivered = 0;
+        while (stillLeased.getAsBoolean()) {
+            LocalDateTime now = LocalDateTime.now();
+            Query dueQuery = new Query(Criteria.where("sentAt").is(null).and("dueAt").lte(now))
+                    .with(Sort.by(Sort.Direction.ASC, "dueAt"))
+                    .limit(BATCH_SIZE);
+            dueQuery.fields().include("_id");
+            List<String> dueIds = mongoTemplate.find(dueQuery, AppointmentReminder.class).stream()
+                    .map(AppointmentReminder::getId)
+                    .toList();
+            if (dueIds.isEmpty()) {
+                break;
+            }
+
+            // Claim: only reminders still unsent get this batch's id, so each is sent once
+            String dispatchId = UUID.randomUUID().toString();
+            mongoTemplate.updateMulti(new Query(Criteria.where("_id").in(dueIds).and("sentAt").is(null)),
+                    new Update().set("sentAt", now).set("dispatchId", dispatchId), AppointmentReminder.class);
+            List<AppointmentReminder> claimed = mongoTemplate.find(new Query(Criteria.where("_id").in(dueIds)
+                    .and("dispatchId").is(dispatchId)), AppointmentReminder.class);
+
+            delivered += deliver(claimed);
+            if (dueIds.size() < BATCH_SIZE) {
+                break;
+            }
+        }
+        return delivered;
+    }
+
+    private int deliver(List<AppointmentReminder> reminders) {
+        if (reminders.isEmpty()) {
+            return 0;
+        }
+
+        Map<String, Appointment> appointments = appointmentRepository.findAllById(reminders.stream()
+                        .map(AppointmentReminder::getAppointmentId)
+                        .collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(Appointment::getId, Function.identity()));
+
+        Set<String> participantIds = new HashSet<>();
+        appointments.values().forEach(appointment -> {
+            participantIds.add(appointment.getStudentId());
+            participantIds.add(appointment.getLecturerId());
+        });
+        Map<String, User> users = userRepository.findAllById(participantIds).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+
+        int delivered = 0;
+        for (AppointmentReminder reminder : reminders) {
+            Appointment appointment = appointments.get(reminder.getAppointmentId());
+            // Status may have changed through a bulk update that did not resync the reminders
+            if (appointment == null || appointment.getStatus() != Appointment.AppointmentStatus.CONFIRMED
+                    || !appointment.getScheduledAt().equals(reminder.getScheduledAt())) {
+                continue;
+            }
+
+            AppointmentReminderNotification notification = AppointmentReminderNotification.builder()
+                    .appointmentId(appointment.getId())
+                    .subject(appointment.getSubject())
+                    .scheduledAt(appointment.getScheduledAt())
+                    .durationMinutes(appointment.getDurationMinutes())
+                    .type(appointment.getType())
+                    .location(appointment.getLocation())
+                    .meetingLink(appointment.getMeetingLink())
+                    .minutesBefore(reminder.getOffsetMinutes())
+                    .build();
+
+            for (String participantId : List.of(appointment.getStudentId(), appointment.getLecturerId())) {
+                User user = users.get(participantId);
+                if (user == null) {
+                    continue;
+                }
+                try {
+                    // WebSocket sessions are keyed by the e-mail the JWT was issued for
+                    messagingTemplate.convertAndSendToUser(user.getEmail(), "/queue/appointment-reminders", notification);
+                } catch (Exception e) {
+                    log.error("❌ Failed to push reminder {} to {}: {}", reminder.getId(), participantId, e.getMessage());
+                }
+                if (emailEnabled) {
+                    mailer.execute(() -> sendMail(user, appointment, reminder.getOffsetMinutes()));
+                }
+            }
+            delivered++;
+        }
+        return delivered;
+    }
+
+    private void sendMail(User user, Appointment appointment, int minutesBefore) {
+        try {
+            String subject = "Reminder: " + appointment.getSubject() + " " + describeOffset(minutesBefore);
+            String body = String.format("Hi %s,%n%nYour appointment \"%s\" starts %s (%s).%nLocation: %s%n",
+                    user.getProfile() != null ? user.getProfile().getFirstName() : user.getEmail(),
+                    appointment.getSubject(),
+                    describeOffset(minutesBefore),
+                    appointment.getScheduledAt().format(TIME_FORMAT),
+                    appointment.getMeetingLink() != null ? appointment.getMeetingLink() : appointment.getLocation());
+            emailSender.send(user.getEmail(), reminderTemplate, subject, body);
+        } catch (Exception e) {
+            log.error("❌ Failed to e-mail reminder of appointment {} to {}: {}",
+                    appointment.getId(), user.getEmail(), e.getMessage());
+        }
+    }
+
+    private static String describeOffset(int minutes) {
+        if (minutes % 60 == 0) {
+            return minutes == 60 ? "in 1 hour" : "in " + (minutes / 60) + " hours";
+        }
+        return "in " + minutes + " minutes";
+    }
+}
@@ -0,0 +1,99 @@
+package com.edulink.backend.service;
+
+import com.edulink.backend.dto.response.AppointmentResponse;
+import com.edulink.backend.model.entity.Appointment;
+import com.edulink.backend.model.entity.Course;
+import com.edulink.backend.model.entity.User;
+import com.edulink.backend.repository.CourseRepository;
+import com.edulink.backend.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Builds {@link AppointmentResponse}s. Lists resolve their students, lecturers and courses
+ * with one findAllById per collection instead of three lookups per appointment.
+ */
+@Component
+@RequiredArgsConstructor
+public class AppointmentResponseAssembler {
+
+    private final UserRepository userRepository;
+    private final CourseRepository courseRepository;
+
+    public AppointmentResponse toResponse(Appointment appointment) {
+        return toResponses(List.of(appointment)).get(0);
+    }
+
+    public List<AppointmentResponse> toResponses(List<Appointment> appointments) {
+        if (appointments.isEmpty()) {
+            return List.of();
+        }
+
+        Set<String> userIds = new HashSet<>();
+        Set<String> courseIds = new HashSet<>();
+        for (Appointment appointment : appointments) {
+            userIds.add(appointment.getStudentId());
+            userIds.add(appointment.getLecturerId());
+            if (appointment.getCourseId() != null) {
+                courseIds.add(appointment.getCourseId());
+            }
+        }
+        userIds.remove(null);
+
+        Map<String, User> users = userRepository.findAllById(userIds).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        Map<String, String> courseNames = courseIds.isEmpty() ? Map.of()
+                : courseRepository.findAllById(courseIds).stream()
+                        .filter(course -> course.getName() != null)
+                        .collect(Collectors.toMap(Course::getId, Course::getName));
+
+        return appointments.stream()
+                .map(appointment -> map(appointment, users, courseNames))
+                .collect(Collectors.toList());
+    }
+
+    private static AppointmentResponse map(Appointment appointment, Map<String, User> users,
+                                           Map<String, String> courseNames) {
+        User student = appointment.getStudentId() != null ? users.get(appointment.getStudentId()) : null;
+        User lecturer = appointment.getLecturerId() != null ? users.get(appointment.getLecturerId()) : null;
+        String courseName = appointment.getCourseId() != null ? courseNames.get(appointment.getCourseId()) : null;
+
+        return AppointmentResponse.builder()
+                .id(appointment.getId())
+                .subject(appointment.getSubject())
+                .description(appointment.getDescription())
+                .scheduledAt(appointment.getScheduledAt())
+                .durationMinutes(appointment.getDurationMinutes())
+                .location(appointment.getLocation())
+                .type(appointment.getType())
+                .status(appointment.getStatus())
+                .meetingLink(appointment.getMeetingLink())
+                .notes(appointment.getNotes())
+                .bookedAt(appointment.getBookedAt())
+                .lastModifiedAt(appointment.getLastModifiedAt())
+                .lastModifiedBy(appointment.getLastModifiedBy())
+                .student(student != null ? UserService.mapToUserProfileResponse(student) : null)
+                .lecturer(lecturer != null ? UserService.mapToUserProfileResponse(lecturer) : null)
+                .courseId(appointment.getCourseId())
+                .courseName(courseName)
+                .isRecurring(appointment.isRecurring())
+                .recurringPattern(appointment.getRecurringPattern())
+                .recurringEndDate(appointment.getRecurringEndDate())
+                .parentAppointmentId(appointment.getParentAppointmentId())
+                .attachmentIds(appointment.getAttachmentIds())
+                .endTime(appointment.getEndTime())
+                .isUpcoming(appointment.isUpcoming())
+                .isPast(appointment.isPast())
+                .isToday(appointment.isToday())
+                .createdAt(appointment.getCreatedAt())
+                .updatedAt(appointment.getUpdatedAt())
+                .build();
+    }
+}
@@ -6,22 +6,30 @@ import com.edulink.backend.dto.request.AppointmentStatusUpdateRequest;
 import com.edulink.backend.dto.request.AppointmentUpdateRequest;
 import com.edulink.backend.dto.response.AppointmentResponse;
 import com.edulink.backend.dto.response.TimeSlotResponse;
+import com.edulink.backend.dto.response.UserProfileResponse;
 import com.edulink.backend.model.entity.Appointment;
 import com.edulink.backend.model.entity.Course;
+import com.edulink.backend.model.entity.LifecycleTimer;
 import com.edulink.backend.model.entity.User;
 import com.edulink.backend.repository.AppointmentRepository;
 import com.edulink.backend.repository.CourseRepository;
 import com.edulink.backend.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -31,9 +39,43 @@ import java.util.stream.Collectors;
 @Transactional
 public class AppointmentService {
 
+    // Confirmed appointments are completed this long after they start
+    public static final Duration AUTO_COMPLETE_AFTER = Duration.ofHours(2);
+    // Pending appointments the lecturer has not answered are cancelled this long after booking
+    public static final Duration AUTO_CANCEL_AFTER = Duration.ofHours(48);
+
     private final AppointmentRepository appointmentRepository;
     private final UserRepository userRepository;
     private final CourseRepository courseRepository;
+    private final SlotReservationService slotReservationService;
+    private final AppointmentMetricsService appointmentMetricsService;
+    private final AppointmentResponseAssembler appointmentResponseAssembler;
+    private final RecurringAppointmentService recurringAppointmentService;
+    private final LifecycleTimerService lifecycleTimerService;
+    private final LecturerSlotIndex lecturerSlotIndex;
+    private final SlotListCache slotListCache;
+
+    @Value("${appointment.auto-status-update.enabled:true}")
+    private boolean autoStatusUpdateEnabled;
+
+    @Value("${appointment.auto-status-update.mark-past-as-completed:false}")
+    private boolean markPastAsCompleted;
+
+    @PostConstruct
+    void registerTimerHandlers() {
+        lifecycleTimerService.registerHandler(LifecycleTimer.TimerType.APPOINTMENT_AUTO_COMPLETE, appointmentId -> {
+            // Timers armed before mark-past-as-completed was switched off are dropped unfired
+            if (autoStatusUpdateEnabled && markPastAsCompleted) {
+                transitionWhenDue(appointmentId, Appointment.AppointmentStatus.CONFIRMED,
+                        Appointment.AppointmentStatus.COMPLETED, "SYSTEM_AUTO_COMPLETE",
+                        "Auto-completed by system at " + LocalDateTime.now());
+            }
+        });
+        lifecycleTimerService.registerHandler(LifecycleTimer.TimerType.APPOINTMENT_AUTO_CANCEL, appointmentId ->
+                transitionWhenDue(appointmentId, Appointment.AppointmentStatus.PENDING,
+                        Appointment.AppointmentStatus.CANCELLED, "SYSTEM_AUTO_CANCEL",
+                        "Auto-cancelled due to no lecturer response within 48 hours"));
+    }
 
     // =================== CREATE APPOINTMENT ===================
     public AppointmentResponse createAppointment(AppointmentRequest request, String currentUserId) {
@@ -74,15 +116,31 @@ public class AppointmentService {
 
         // Create appointment
         Appointment appointment = buildAppointment(request, studentId, lecturerId, currentUserId);
-        Appointment savedAppointment = appointmentRepository.save(appointment);
+        appointment.setId(new ObjectId().toHexString());
 
-        // Create recurring instances if needed
-        if (request.isRecurring() && request.getRecurringEndDate() != null) {
-            createRecurringInstances(savedAppointment, request, currentUserId);
+        recurringAppointmentService.initializeSeries(appointment);
+
+        // Claim the slot atomically; validateNoConflicts cannot see a concurrent booking
+        slotReservationService.reserve(appointment);
+        Appointment savedAppointment;
+        try {
+            savedAppointment = appointmentRepository.save(appointment);
+        } catch (RuntimeException e) {
+            slotReservationService.release(appointment.getId());
+            throw e;
         }
+        slotReservationService.confirm(savedAppointment);
+
+        // Create recurring instances if needed
+        RecurringAppointmentService.SeriesExpansion expansion = createRecurringInstances(savedAppointment, currentUserId);
 
         log.info("Appointment created successfully with ID: {}", savedAppointment.getId());
-        return mapToAppointmentResponse(savedAppointment);
+        AppointmentResponse response = appointmentResponseAssembler.toResponse(savedAppointment);
+        if (savedAppointment.isRecurring()) {
+            response.setRecurringInstancesCreated(expansion.created());
+            response.setRecurringConflicts(expansion.conflicts());
+        }
+        return response;
     }
 
     // =================== GET APPOINTMENTS ===================
@@ -94,9 +152,7 @@ public class AppointmentService {
                 userId, status, type, courseId);
 
         List<Appointment> appointments = appointmentRepository.findAppointmentsByFilters(userId, status, type, courseId);
-        return appointments.stream()
-                .map(this::mapToAppointmentResponse)
-                .collect(Collectors.toList());
+        return appointmentResponseAssembler.toResponses(appointments);
     }
 
     public AppointmentResponse getAppointmentById(String appointmentId, String currentUserId) {
@@ -104,7 +160,7 @@ public class AppointmentService {
 
         Appointment appointment = getAppointmentEntityById(appointmentId);
         validateParticipant(appointment, currentUserId);
-        return mapToAppointmentResponse(appointment);
+        return appointmentResponseAssembler.toResponse(appointment);
     }
 
     public List<AppointmentResponse> getUpcomingAppointments(String userId) {
@@ -118,9 +174,7 @@ public class AppointmentService {
             appointments = appointmentRepository.findUpcomingAppointmentsByStudentId(userId, now);
         }
 
-        return appointments.stream()
-                .map(this::mapToAppointmentResponse)
-                .collect(Collectors.toList());
+        return appointmentResponseAssembler.toResponses(appointments);
     }
 
     public List<AppointmentResponse> getTodayAppointments(String userId) {
@@ -136,9 +190,7 @@ public class AppointmentService {
             appointments = appointmentRepository.findTodayAppointmentsByStudentId(userId, startOfDay, endOfDay);
         }
 
-        return appointments.stream()
-                .map(this::mapToAppointmentResponse)
-                .collect(Collectors.toList());
+        return appointmentResponseAssembler.toResponses(appointments);
     }
 
     // =================== UPDATE APPOINTMENT ===================
@@ -202,10 +254,23 @@ public class AppointmentService {
         appointment.setLastModifiedAt(LocalDateTime.now());
         appointment.setLastModifiedBy(currentUserId);
 
-        Appointment updatedAppointment = appointmentRepository.save(appointment);
+        boolean timeChanged = request.getScheduledAt() != null || request.getDurationMinutes() != null;
+        boolean reclaim = timeChanged && SlotReservationService.holdsSlot(appointment.getStatus());
+        List<String> reservedClaims = reclaim ? slotReservationService.reserve(appointment) : List.of();
+
+        Appointment updatedAppointment;
+        try {
+            updatedAppointment = appointmentRepository.save(appointment);
+        } catch (RuntimeException e) {
+            slotReservationService.abandon(reservedClaims);
+            throw e;
+        }
+        if (reclaim) {
+            slotReservationService.confirm(updatedAppointment);
+        }
         log.info("Appointment {} updated successfully", appointmentId);
         
-        return mapToAppointmentResponse(updatedAppointment);
+        return appointmentResponseAssembler.toResponse(updatedAppointment);
     }
 
     // =================== UPDATE APPOINTMENT STATUS ===================
@@ -230,9 +295,12 @@ public class AppointmentService {
         appointment.setLastModifiedBy(currentUserId);
 
         Appointment updatedAppointment = appointmentRepository.save(appointment);
+        if (!SlotReservationService.holdsSlot(request.getStatus())) {
+            slotReservationService.release(appointmentId);
+        }
         log.info("Appointment {} status updated to {}", appointmentId, request.getStatus());
         
-        return mapToAppointmentResponse(updatedAppointment);
+        return appointmentResponseAssembler.toResponse(updatedAppointment);
     }
 
     // =================== DELETE APPOINTMENT ===================
@@ -249,11 +317,17 @@ public class AppointmentService {
         // Delete related recurring instances if this is a parent appointment
         if (appointment.isRecurring() && appointment.getParentAppointmentId() == null) {
             List<Appointment> recurringInstances = appointmentRepository.findByParentAppointmentIdOrderByScheduledAtAsc(appointmentId);
-            appointmentRepository.deleteAll(recurringInstances);
+            lifecycleTimerService.batch(() -> appointmentRepository.deleteAll(recurringInstances));
+            recurringInstances.forEach(instance -> {
+                slotReservationService.release(instance.getId());
+                appointmentMetricsService.recordDeleted(instance);
+            });
             log.info("Deleted {} recurring instances for appointment {}", recurringInstances.size(), appointmentId);
         }
 
         appointmentRepository.delete(appointment);
+        slotReservationService.release(appointmentId);
+        appointmentMetricsService.recordDeleted(appointment);
         log.info("Appointment {} deleted successfully", appointmentId);
     }
 
@@ -267,16 +341,12 @@ public class AppointmentService {
         LocalDateTime endOfDay = date.atTime(23, 59, 59);
 
         // Get existing appointments for the day
-        List<Appointment> existingAppointments = appointmentRepository.findByUserIdAndScheduledAtBetween(
-                lecturerId, startOfDay, endOfDay)
-                .stream()
-                .filter(apt -> apt.getStatus() == Appointment.AppointmentStatus.CONFIRMED || 
-                              apt.getStatus() == Appointment.AppointmentStatus.PENDING)
-                .collect(Collectors.toList());
+        DayOccupancy occupancy = DayOccupancy.of(date,
+                appointmentRepository.findByUserIdAndScheduledAtBetween(lecturerId, startOfDay, endOfDay));
 
         // Generate available time slots
         List<TimeSlotResponse> availableSlots = generateAvailableTimeSlots(
-                lecturer, date, existingAppointments, durationMinutes);
+                lecturer, date, occupancy, durationMinutes);
 
         log.info("Found {} available time slots for lecturer {} on {}", availableSlots.size(), lecturerId, date);
         return availableSlots;
@@ -289,6 +359,11 @@ public class AppointmentService {
         LocalDateTime endOfDay = now.toLocalDate().atTime(23, 59, 59);
 
         User user = getUserById(userId);
+
+        if (appointmentMetricsService.isReady()) {
+            AppointmentMetricsService.UserCounts counts = appointmentMetricsService.getUserCounts(userId, now);
+            return new AppointmentStatistics(counts.today, counts.upcoming, counts.pending, counts.total);
+        }
         
         if (user.getRole() == User.UserRole.LECTURER) {
             long todayCount = appointmentRepository.findTodayAppointmentsByLecturerId(userId, startOfDay, endOfDay).size();
@@ -308,62 +383,101 @@ public class AppointmentService {
     }
 
     // =================== RECURRING APPOINTMENTS ===================
-    public void createRecurringInstances(Appointment parentAppointment, AppointmentRequest request, String currentUserId) {
+    public RecurringAppointmentService.SeriesExpansion createRecurringInstances(Appointment parentAppointment,
+                                                                                String currentUserId) {
         log.info("Creating recurring instances for appointment {}", parentAppointment.getId());
 
-        LocalDateTime current = parentAppointment.getScheduledAt();
-        LocalDateTime endDate = request.getRecurringEndDate();
-        List<Appointment> recurringInstances = new ArrayList<>();
-
-        while (current.isBefore(endDate)) {
-            // Calculate next occurrence
-            if (request.getRecurringPattern() == Appointment.RecurringPattern.WEEKLY) {
-                current = current.plusWeeks(1);
-            } else if (request.getRecurringPattern() == Appointment.RecurringPattern.BIWEEKLY) {
-                current = current.plusWeeks(2);
-            } else if (request.getRecurringPattern() == Appointment.RecurringPattern.MONTHLY) {
-                current = current.plusMonths(1);
+        RecurringAppointmentService.SeriesExpansion expansion =
+                recurringAppointmentService.expandNewSeries(parentAppointment, currentUserId);
+        if (expansion.created() > 0 || !expansion.conflicts().isEmpty()) {
+            log.info("Created {} recurring instances for appointment {}, skipped {} conflicting occurrences",
+                    expansion.created(), parentAppointment.getId(), expansion.conflicts().size());
+        }
+        return expansion;
+    }
+
+    // =================== LIFECYCLE TIMERS ===================
+
+    /**
+     * Arm the auto-complete or auto-cancel timer matching the appointment's current status,
+     * and drop the one that no longer applies. Called after every save; saves that change
+     * neither the status nor the scheduled time (the timers' due times derive from them)
+     * write nothing, and an insert writes at most the one timer it needs.
+     */
+    public void syncLifecycleTimers(Appointment appointment) {
+        if (!autoStatusUpdateEnabled || appointment.getId() == null) {
+            return;
+        }
+
+        Appointment.StoredState previous = appointment.getReplacedState();
+        Appointment.AppointmentStatus previousStatus = previous != null ? previous.status() : null;
+        boolean statusChanged = previous == null || previousStatus != appointment.getStatus();
+        boolean timeChanged = previous == null || !Objects.equals(previous.scheduledAt(), appointment.getScheduledAt());
+
+        if (statusChanged || timeChanged) {
+            if (markPastAsCompleted && appointment.getStatus() == Appointment.AppointmentStatus.CONFIRMED
+                    && appointment.getScheduledAt() != null) {
+                lifecycleTimerService.schedule(LifecycleTimer.TimerType.APPOINTMENT_AUTO_COMPLETE, appointment.getId(),
+                        appointment.getScheduledAt().plus(AUTO_COMPLETE_AFTER));
+            } else if (previousStatus == Appointment.AppointmentStatus.CONFIRMED) {
+                lifecycleTimerService.cancel(LifecycleTimer.TimerType.APPOINTMENT_AUTO_COMPLETE, appointment.getId());
             }
+        }
 
-            if (current.isBefore(endDate)) {
-                // Check for conflicts before creating
-                try {
-                    validateNoConflicts(parentAppointment.getStudentId(), parentAppointment.getLecturerId(), 
-                                      current, parentAppointment.getDurationMinutes(), null);
-
-                    Appointment recurringInstance = Appointment.builder()
-                            .studentId(parentAppointment.getStudentId())
-                            .lecturerId(parentAppointment.getLecturerId())
-                            .subject(parentAppointment.getSubject())
-                            .description(parentAppointment.getDescription())
-                            .scheduledAt(current)
-                            .durationMinutes(parentAppointment.getDurationMinutes())
-                            .location(parentAppointment.getLocation())
-                            .type(parentAppointment.getType())
-                            .status(Appointment.AppointmentStatus.PENDING)
-                            .courseId(parentAppointment.getCourseId())
-                            .meetingLink(parentAppointment.getMeetingLink())
-                            .meetingPassword(parentAppointment.getMeetingPassword())
-                            .isRecurring(false)
-                            .parentAppointmentId(parentAppointment.getId())
-                            .bookedAt(LocalDateTime.now())
-                            .lastModifiedAt(LocalDateTime.now())
-                            .lastModifiedBy(currentUserId)
-                            .build();
-
-                    recurringInstances.add(recurringInstance);
-                } catch (Exception e) {
-                    log.warn("Skipping recurring instance at {} due to conflict: {}", current, e.getMessage());
-                }
+        if (statusChanged) {
+            if (appointment.getStatus() == Appointment.AppointmentStatus.PENDING && appointment.getBookedAt() != null) {
+                lifecycleTimerService.schedule(LifecycleTimer.TimerType.APPOINTMENT_AUTO_CANCEL, appointment.getId(),
+                        appointment.getBookedAt().plus(AUTO_CANCEL_AFTER));
+            } else if (previousStatus == Appointment.AppointmentStatus.PENDING) {
+                lifecycleTimerService.cancel(LifecycleTimer.TimerType.APPOINTMENT_AUTO_CANCEL, appointment.getId());
             }
         }
+    }
+
+    /**
+     * Drop both timers of the appointments, in one bulk write.
+     */
+    public void cancelLifecycleTimers(Collection<String> appointmentIds) {
+        lifecycleTimerService.batch(() -> appointmentIds.forEach(appointmentId -> {
+            lifecycleTimerService.cancel(LifecycleTimer.TimerType.APPOINTMENT_AUTO_COMPLETE, appointmentId);
+            lifecycleTimerService.cancel(LifecycleTimer.TimerType.APPOINTMENT_AUTO_CANCEL, appointmentId);
+        }));
+    }
 
-        if (!recurringInstances.isEmpty()) {
-            appointmentRepository.saveAll(recurringInstances);
-            log.info("Created {} recurring instances for appointment {}", recurringInstances.size(), parentAppointment.getId());
+    private void transitionWhenDue(String appointmentId, Appointment.AppointmentStatus expectedStatus,
+                                   Appointment.AppointmentStatus newStatus, String modifiedBy, String note) {
+        // No-op if the appointment has moved on since the timer was armed
+        List<Appointment> transitioned = transitionStatus(List.of(appointmentId), expectedStatus, newStatus, modifiedBy, note);
+        if (!transitioned.isEmpty()) {
+            log.info("Appointment {} moved from {} to {} on its timer", appointmentId, expectedStatus, newStatus);
         }
     }
 
+    /**
+     * Move appointments still in expectedStatus to newStatus in one update (timers, scheduler sweeps).
+     * Bulk updates raise no save events, so this applies what the save listeners would: frees their
+     * slots, updates the counters and the slot index, and drops the cached slot lists of their
+     * lecturers and students on those days. Both statuses must not be the same.
+     *
+     * @return the appointments that were actually transitioned
+     */
+    public List<Appointment> transitionStatus(Collection<String> appointmentIds, Appointment.AppointmentStatus expectedStatus,
+                                              Appointment.AppointmentStatus newStatus, String modifiedBy, String note) {
+        List<Appointment> transitioned = appointmentRepository.transitionStatus(appointmentIds,
+                expectedStatus, newStatus, modifiedBy, note);
+        if (transitioned.isEmpty()) {
+            return transitioned;
+        }
+        List<String> transitionedIds = transitioned.stream().map(Appointment::getId).toList();
+        if (!SlotReservationService.holdsSlot(newStatus)) {
+            slotReservationService.releaseAll(transitionedIds);
+        }
+        appointmentMetricsService.recordStatusChange(transitioned, expectedStatus);
+        transitioned.forEach(lecturerSlotIndex::indexAppointment);
+        transitioned.forEach(slotListCache::invalidateAppointment);
+        return transitioned;
+    }
+
     // =================== HELPER METHODS ===================
     private Appointment buildAppointment(AppointmentRequest request, String studentId, String lecturerId, String currentUserId) {
         return Appointment.builder()
@@ -389,53 +503,11 @@ public class AppointmentService {
                 .build();
     }
 
-    private AppointmentResponse mapToAppointmentResponse(Appointment appointment) {
-        User student = userRepository.findById(appointment.getStudentId()).orElse(null);
-        User lecturer = userRepository.findById(appointment.getLecturerId()).orElse(null);
-        
-        String courseName = null;
-        if (appointment.getCourseId() != null) {
-            courseName = courseRepository.findById(appointment.getCourseId())
-                    .map(Course::getName)
-                    .orElse(null);
-        }
-
-        return AppointmentResponse.builder()
-                .id(appointment.getId())
-                .subject(appointment.getSubject())
-                .description(appointment.getDescription())
-                .scheduledAt(appointment.getScheduledAt())
-                .durationMinutes(appointment.getDurationMinutes())
-                .location(appointment.getLocation())
-                .type(appointment.getType())
-                .status(appointment.getStatus())
-                .meetingLink(appointment.getMeetingLink())
-                .notes(appointment.getNotes())
-                .bookedAt(appointment.getBookedAt())
-                .lastModifiedAt(appointment.getLastModifiedAt())
-                .lastModifiedBy(appointment.getLastModifiedBy())
-                .student(student != null ? UserService.mapToUserProfileResponse(student) : null)
-                .lecturer(lecturer != null ? UserService.mapToUserProfileResponse(lecturer) : null)
-                .courseId(appointment.getCourseId())
-                .courseName(courseName)
-                .isRecurring(appointment.isRecurring())
-                .recurringPattern(appointment.getRecurringPattern())
-                .recurringEndDate(appointment.getRecurringEndDate())
-                .parentAppointmentId(appointment.getParentAppointmentId())
-                .attachmentIds(appointment.getAttachmentIds())
-                .endTime(appointment.getEndTime())
-                .isUpcoming(appointment.isUpcoming())
-                .isPast(appointment.isPast())
-                .isToday(appointment.isToday())
-                .createdAt(appointment.getCreatedAt())
-                .updatedAt(appointment.getUpdatedAt())
-                .build();
-    }
-
-    private List<TimeSlotResponse> generateAvailableTimeSlots(User lecturer, LocalDate date, 
-                                                            List<Appointment> existingAppointments, 
+    private List<TimeSlotResponse> generateAvailableTimeSlots(User lecturer, LocalDate date,
+                                                            DayOccupancy occupancy,
                                                             Integer durationMinutes) {
         List<TimeSlotResponse> slots = new ArrayList<>();
+        UserProfileResponse lecturerProfile = UserService.mapToUserProfileResponse(lecturer);
         
         // Generate slots from 9 AM to 5 PM with 30-minute intervals
         LocalTime startTime = LocalTime.of(9, 0);
@@ -449,14 +521,7 @@ public class AppointmentService {
             LocalDateTime slotEnd = slotStart.plusMinutes(durationMinutes);
             
             // Check if this slot conflicts with existing appointments
-            boolean isAvailable = existingAppointments.stream()
-                    .noneMatch(apt -> {
-                        LocalDateTime aptStart = apt.getScheduledAt();
-                        LocalDateTime aptEnd = apt.getEndTime();
-                        return (slotStart.isBefore(aptEnd) && slotEnd.isAfter(aptStart));
-                    });
-            
-            if (isAvailable) {
+            if (occupancy.isFree(slotStart, slotEnd)) {
                 slots.add(TimeSlotResponse.builder()
                         .id(date + "-" + current.toString())
                         .startTime(slotStart)
@@ -466,7 +531,7 @@ public class AppointmentService {
                         .type(Appointment.AppointmentType.OFFICE_HOURS)
                         .isAvailable(true)
                         .isRecurring(false)
-                        .lecturer(UserService.mapToUserProfileResponse(lecturer))
+                        .lecturer(lecturerProfile)
                         .build());
             }
             
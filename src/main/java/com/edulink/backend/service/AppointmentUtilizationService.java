@@ -0,0 +1,227 @@
+package com.edulink.backend.service;
+
+import com.edulink.backend.dto.response.AppointmentUtilizationResponse;
+import com.edulink.backend.model.entity.Appointment;
+import com.edulink.backend.model.entity.AppointmentUtilization;
+import com.edulink.backend.model.entity.User;
+import com.edulink.backend.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Appointment analytics (popular times, lecturer utilization, completion rates) answered from
+ * the per-lecturer {@link UtilizationCube}s that {@link AppointmentMetricsService} keeps up to
+ * date, instead of scanning appointments.
+ *
+ * Changed cubes are written to appointment_utilization periodically, by one node at a time
+ * under a job lease; nodes that do not get the lease keep their changes for a later run.
+ * Until the in-memory counters are loaded after a restart, reads are served from those documents.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AppointmentUtilizationService {
+
+    private static final Appointment.AppointmentStatus[] STATUSES = Appointment.AppointmentStatus.values();
+
+    private final AppointmentMetricsService appointmentMetricsService;
+    private final UserRepository userRepository;
+    private final MongoTemplate mongoTemplate;
+    private final JobLeaseService jobLeaseService;
+
+    @Value("${appointment.metrics.utilization-persist-interval-ms:300000}")
+    private long persistIntervalMs;
+
+    // =================== PERSISTENCE ===================
+
+    @Scheduled(fixedDelayString = "${appointment.metrics.utilization-persist-interval-ms:300000}",
+            initialDelayString = "${appointment.metrics.utilization-persist-interval-ms:300000}")
+    public void persist() {
+        if (!appointmentMetricsService.isReady()) {
+            return;
+        }
+        // One writer at a time, so a node's full rewrite never deletes rows another node just wrote
+        jobLeaseService.runExclusive("appointments.utilization-persist", Duration.ofMinutes(5),
+                Duration.ofMillis(persistIntervalMs * 4 / 5), lease -> persistChanges());
+    }
+
+    private void persistChanges() {
+        AppointmentMetricsService.UtilizationChanges changes = appointmentMetricsService.drainUtilizationChanges();
+        if (changes.cubes().isEmpty() && !changes.complete()) {
+            return;
+        }
+
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, AppointmentUtilization.class);
+            changes.cubes().forEach((lecturerId, cube) -> {
+                Query byId = new Query(Criteria.where("_id").is(lecturerId));
+                if (cube == null) {
+                    bulk.remove(byId);
+                } else {
+                    bulk.upsert(byId, new Update()
+                            .set("counts", cube.countsArray())
+                            .set("minutes", cube.minutesArray())
+                            .set("updatedAt", now));
+                }
+            });
+            if (!changes.cubes().isEmpty()) {
+                bulk.execute();
+            }
+            if (changes.complete()) {
+                // Rebuilt from scratch: lecturers missing from it have no appointments left
+                mongoTemplate.remove(new Query(Criteria.where("_id").nin(changes.cubes().keySet())),
+                        AppointmentUtilization.class);
+            }
+            log.debug("Persisted utilization of {} lecturers", changes.cubes().size());
+        } catch (Exception e) {
+            // The next reconcile marks every cube changed again
+            log.error("❌ Error persisting appointment utilization: {}", e.getMessage(), e);
+        }
+    }
+
+    // =================== READS ===================
+
+    public AppointmentUtilizationResponse getLecturerUtilization(String lecturerId) {
+        UtilizationCube cube = appointmentMetricsService.isReady()
+                ? appointmentMetricsService.getUtilization(lecturerId)
+                : loadPersisted(lecturerId);
+        User lecturer = userRepository.findById(lecturerId).orElse(null);
+
+        AppointmentUtilizationResponse response = summarize(cube != null ? cube : new UtilizationCube(), true);
+        response.setLecturerId(lecturerId);
+        response.setLecturerName(lecturer != null ? lecturer.getFullName() : null);
+        return response;
+    }
+
+    /**
+     * All lecturers combined.
+     */
+    public AppointmentUtilizationResponse getOverallUtilization() {
+        UtilizationCube total = new UtilizationCube();
+        allCubes().values().forEach(total::addAll);
+        return summarize(total, true);
+    }
+
+    /**
+     * The weekday/hour buckets with the most appointments across all lecturers.
+     */
+    public List<AppointmentUtilizationResponse.Bucket> getPopularTimes(int limit) {
+        return getOverallUtilization().getBuckets().stream()
+                .sorted(Comparator.comparingLong(AppointmentUtilizationResponse.Bucket::getAppointments).reversed())
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Per-lecturer totals, busiest first, without the hourly breakdown.
+     */
+    public List<AppointmentUtilizationResponse> getLecturerRankings() {
+        Map<String, UtilizationCube> cubes = allCubes();
+        Map<String, User> lecturers = userRepository.findAllById(cubes.keySet()).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+
+        List<AppointmentUtilizationResponse> rankings = new ArrayList<>();
+        cubes.forEach((lecturerId, cube) -> {
+            AppointmentUtilizationResponse summary = summarize(cube, false);
+            summary.setLecturerId(lecturerId);
+            User lecturer = lecturers.get(lecturerId);
+            summary.setLecturerName(lecturer != null ? lecturer.getFullName() : null);
+            rankings.add(summary);
+        });
+        rankings.sort(Comparator.comparingLong(AppointmentUtilizationResponse::getTotalAppointments).reversed());
+        return rankings;
+    }
+
+    private Map<String, UtilizationCube> allCubes() {
+        if (appointmentMetricsService.isReady()) {
+            return appointmentMetricsService.getAllUtilization();
+        }
+        Map<String, UtilizationCube> cubes = new HashMap<>();
+        mongoTemplate.findAll(AppointmentUtilization.class).forEach(persisted ->
+                cubes.put(persisted.getId(), UtilizationCube.of(persisted.getCounts(), persisted.getMinutes())));
+        return cubes;
+    }
+
+    private UtilizationCube loadPersisted(String lecturerId) {
+        AppointmentUtilization persisted = mongoTemplate.findById(lecturerId, AppointmentUtilization.class);
+        return persisted != null ? UtilizationCube.of(persisted.getCounts(), persisted.getMinutes()) : null;
+    }
+
+    private static AppointmentUtilizationResponse summarize(UtilizationCube cube, boolean withBuckets) {
+        long[] totals = new long[STATUSES.length];
+        long bookedMinutes = 0;
+        List<AppointmentUtilizationResponse.Bucket> buckets = withBuckets ? new ArrayList<>() : null;
+
+        for (DayOfWeek day : DayOfWeek.values()) {
+            for (int hour = 0; hour < UtilizationCube.HOURS; hour++) {
+                long bucketCount = 0;
+                long bucketMinutes = 0;
+                Map<Appointment.AppointmentStatus, Long> bucketByStatus = new EnumMap<>(Appointment.AppointmentStatus.class);
+                for (Appointment.AppointmentStatus status : STATUSES) {
+                    long count = cube.count(day, hour, status);
+                    if (count == 0) {
+                        continue;
+                    }
+                    totals[status.ordinal()] += count;
+                    bucketCount += count;
+                    bucketByStatus.put(status, count);
+                    if (status == Appointment.AppointmentStatus.CONFIRMED
+                            || status == Appointment.AppointmentStatus.COMPLETED) {
+                        bucketMinutes += cube.minutes(day, hour, status);
+                    }
+                }
+                bookedMinutes += bucketMinutes;
+                if (withBuckets && bucketCount > 0) {
+                    buckets.add(AppointmentUtilizationResponse.Bucket.builder()
+                            .dayOfWeek(day)
+                            .hour(hour)
+                            .appointments(bucketCount)
+                            .byStatus(bucketByStatus)
+                            .bookedMinutes(bucketMinutes)
+                            .build());
+                }
+            }
+        }
+
+        Map<Appointment.AppointmentStatus, Long> byStatus = new EnumMap<>(Appointment.AppointmentStatus.class);
+        long total = 0;
+        for (Appointment.AppointmentStatus status : STATUSES) {
+            byStatus.put(status, totals[status.ordinal()]);
+            total += totals[status.ordinal()];
+        }
+        long completed = totals[Appointment.AppointmentStatus.COMPLETED.ordinal()];
+        long finished = completed
+                + totals[Appointment.AppointmentStatus.CANCELLED.ordinal()]
+                + totals[Appointment.AppointmentStatus.NO_SHOW.ordinal()];
+
+        return AppointmentUtilizationResponse.builder()
+                .totalAppointments(total)
+                .byStatus(byStatus)
+                .bookedMinutes(bookedMinutes)
+                .completionRate(finished > 0 ? (double) completed / finished * 100 : 0)
+                .buckets(buckets)
+                .build();
+    }
+
+}
@@ -0,0 +1,100 @@
+package com.edulink.backend.service;
+
+import com.edulink.backend.model.entity.LecturerAvailability;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Finds availability rules of the same kind that apply at the same time on some date.
+ * BLOCKED rules exist to block time inside open ones, so they are only compared with each other.
+ *
+ * Each rule is reduced to a weekday, a date interval (a single day for one-time rules, the
+ * recurring bounds otherwise) and a time-of-day interval. Rules are grouped by weekday and
+ * swept in start-time order, so only rules whose times actually intersect get their date
+ * intervals compared.
+ */
+final class AvailabilityOverlaps {
+
+    private AvailabilityOverlaps() {
+    }
+
+    /**
+     * Index pairs {i, j} with i &lt; j of overlapping rules. Rules without a time range or a day are skipped.
+     */
+    static List<int[]> find(List<LecturerAvailability> rules) {
+        Map<LecturerAvailability.DayOfWeek, List<Span>> byDay = new EnumMap<>(LecturerAvailability.DayOfWeek.class);
+        for (int i = 0; i < rules.size(); i++) {
+            Span span = Span.of(i, rules.get(i));
+            if (span != null) {
+                byDay.computeIfAbsent(span.day, day -> new ArrayList<>()).add(span);
+            }
+        }
+
+        List<int[]> pairs = new ArrayList<>();
+        for (List<Span> spans : byDay.values()) {
+            spans.sort(Comparator.comparing((Span span) -> span.start).thenComparingInt(span -> span.index));
+            List<Span> open = new ArrayList<>();
+            for (Span span : spans) {
+                for (Iterator<Span> it = open.iterator(); it.hasNext(); ) {
+                    Span other = it.next();
+                    if (!other.end.isAfter(span.start)) {
+                        it.remove(); // Closed before this one opens
+                    } else if (span.blocked == other.blocked && span.sharesDateWith(other)) {
+                        pairs.add(new int[]{Math.min(span.index, other.index), Math.max(span.index, other.index)});
+                    }
+                }
+                open.add(span);
+            }
+        }
+        return pairs;
+    }
+
+    private static final class Span {
+        final int index;
+        final LecturerAvailability.DayOfWeek day;
+        final LocalDate firstDate; // null = unbounded
+        final LocalDate lastDate;  // null = unbounded
+        final LocalTime start;
+        final LocalTime end;
+        final boolean blocked;
+
+        private Span(int index, LecturerAvailability.DayOfWeek day, LocalDate firstDate, LocalDate lastDate,
+                     LocalTime start, LocalTime end, boolean blocked) {
+            this.index = index;
+            this.day = day;
+            this.firstDate = firstDate;
+            this.lastDate = lastDate;
+            this.start = start;
+            this.end = end;
+            this.blocked = blocked;
+        }
+
+        static Span of(int index, LecturerAvailability rule) {
+            if (rule.getStartTime() == null || rule.getEndTime() == null || !rule.getStartTime().isBefore(rule.getEndTime())) {
+                return null;
+            }
+            boolean blocked = rule.getType() == LecturerAvailability.AvailabilityType.BLOCKED;
+            if (rule.isRecurring()) {
+                return rule.getDayOfWeek() == null ? null : new Span(index, rule.getDayOfWeek(),
+                        rule.getRecurringStartDate(), rule.getRecurringEndDate(), rule.getStartTime(), rule.getEndTime(), blocked);
+            }
+            if (rule.getDate() == null) {
+                return null;
+            }
+            LecturerAvailability.DayOfWeek day = LecturerAvailability.DayOfWeek.valueOf(rule.getDate().getDayOfWeek().name());
+            return new Span(index, day, rule.getDate(), rule.getDate(), rule.getStartTime(), rule.getEndTime(), blocked);
+        }
+
+        boolean sharesDateWith(Span other) {
+            return (firstDate == null || other.lastDate == null || !firstDate.isAfter(other.lastDate))
+                    && (other.firstDate == null || lastDate == null || !other.firstDate.isAfter(lastDate));
+        }
+    }
+}
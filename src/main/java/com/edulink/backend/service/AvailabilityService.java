@@ -4,11 +4,15 @@ package com.edulink.backend.service;
 import com.edulink.backend.dto.request.AvailabilitySlotRequest;
 import com.edulink.backend.dto.request.AvailabilitySlotUpdateRequest;
 import com.edulink.backend.dto.response.AvailabilitySlotResponse;
+import com.edulink.backend.dto.response.BulkAvailabilityResponse;
 import com.edulink.backend.dto.response.GeneratedTimeSlotResponse;
+import com.edulink.backend.dto.response.TimeSlotResponse;
+import com.edulink.backend.dto.response.UserProfileResponse;
 import com.edulink.backend.model.entity.Appointment;
 import com.edulink.backend.model.entity.LecturerAvailability;
 import com.edulink.backend.model.entity.User;
 import com.edulink.backend.repository.AppointmentRepository;
+import com.edulink.backend.repository.CourseRepository;
 import com.edulink.backend.repository.LecturerAvailabilityRepository;
 import com.edulink.backend.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
@@ -20,6 +24,7 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.format.TextStyle;
+import java.time.temporal.ChronoUnit;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -29,9 +34,16 @@ import java.util.stream.Collectors;
 @Transactional
 public class AvailabilityService {
 
+    // Longest range the slot generation accepts, enough for a month view with leading/trailing weeks
+    private static final int MAX_RANGE_DAYS = 42;
+    private static final int MAX_EARLIEST_SLOTS = 50;
+
     private final LecturerAvailabilityRepository availabilityRepository;
     private final AppointmentRepository appointmentRepository;
     private final UserRepository userRepository;
+    private final CourseRepository courseRepository;
+    private final LecturerSlotIndex lecturerSlotIndex;
+    private final SlotListCache slotListCache;
 
     // =================== CREATE AVAILABILITY SLOT ===================
     public AvailabilitySlotResponse createAvailabilitySlot(AvailabilitySlotRequest request, String lecturerId) {
@@ -46,6 +58,10 @@ public class AvailabilityService {
 
         // Build availability slot
         LecturerAvailability availability = buildAvailabilitySlot(request, lecturerId);
+        String overlap = findOverlaps(List.of(availability), lecturerId).get(0);
+        if (overlap != null) {
+            throw new IllegalArgumentException(overlap);
+        }
 
         // Save to database
         LecturerAvailability savedAvailability = availabilityRepository.save(availability);
@@ -86,86 +102,302 @@ public class AvailabilityService {
         return responses;
     }
 
-    // =================== GET GENERATED TIME SLOTS FOR DATE ===================
+    // =================== GET GENERATED TIME SLOTS ===================
     public List<GeneratedTimeSlotResponse> getGeneratedTimeSlotsForDate(String lecturerId, LocalDate date) {
         log.info("Getting generated time slots for lecturer {} on date {}", lecturerId, date);
+        return slotListCache.get(SlotListCache.Kind.GENERATED, lecturerId, date, 0,
+            appointmentIds -> generateTimeSlotsWithStudents(lecturerId, date, date, appointmentIds).get(date));
+    }
+
+    /**
+     * Free slots of one day as offered to students booking an appointment. Availability without
+     * its own slot length is split into slots of {@code durationMinutes}.
+     */
+    public List<TimeSlotResponse> getBookableTimeSlotsForDate(User lecturer, LocalDate date, int durationMinutes) {
+        return slotListCache.get(SlotListCache.Kind.BOOKABLE, lecturer.getId(), date, durationMinutes,
+            appointmentIds -> generateBookableTimeSlots(lecturer, date, durationMinutes, appointmentIds));
+    }
+
+    private List<TimeSlotResponse> generateBookableTimeSlots(User lecturer, LocalDate date, int durationMinutes,
+                                                             Set<String> appointmentIds) {
+        log.info("Generating bookable time slots for lecturer: {} on date: {}", lecturer.getId(), date);
 
-        // Get availability slots for this date
-        String dayOfWeek = date.getDayOfWeek().name();
         List<LecturerAvailability> availabilitySlots = availabilityRepository.findByLecturerIdAndDate(
-            lecturerId, date, dayOfWeek);
+            lecturer.getId(), date, date.getDayOfWeek().name());
+        if (availabilitySlots.isEmpty()) {
+            log.info("No availability slots found for lecturer {} on {}", lecturer.getId(), date);
+            return List.of();
+        }
 
-        // Get existing appointments for this date
-        LocalDateTime startOfDay = date.atStartOfDay();
-        LocalDateTime endOfDay = date.atTime(23, 59, 59);
         List<Appointment> existingAppointments = appointmentRepository.findByUserIdAndScheduledAtBetween(
-            lecturerId, startOfDay, endOfDay)
-            .stream()
-            .filter(apt -> apt.getStatus() == Appointment.AppointmentStatus.CONFIRMED || 
-                          apt.getStatus() == Appointment.AppointmentStatus.PENDING)
-            .collect(Collectors.toList());
+            lecturer.getId(), date.atStartOfDay(), date.atTime(23, 59, 59));
+        existingAppointments.forEach(apt -> appointmentIds.add(apt.getId()));
+        DayOccupancy occupancy = DayOccupancy.of(date, existingAppointments);
 
-        // Generate time slots from availability
-        List<GeneratedTimeSlotResponse> timeSlots = new ArrayList<>();
-        
+        UserProfileResponse lecturerProfile = UserService.mapToUserProfileResponse(lecturer);
+        List<TimeSlotResponse> availableSlots = new ArrayList<>();
         for (LecturerAvailability availability : availabilitySlots) {
-            if (availability.isActiveOn(date)) {
-                List<LecturerAvailability.TimeSlot> generatedSlots = availability.generateTimeSlots(date);
-                
-                for (LecturerAvailability.TimeSlot slot : generatedSlots) {
-                    // Check if slot is available (no conflicting appointments)
-                    boolean isAvailable = existingAppointments.stream()
-                        .noneMatch(apt -> {
-                            LocalDateTime aptStart = apt.getScheduledAt();
-                            LocalDateTime aptEnd = apt.getEndTime();
-                            LocalDateTime slotStart = slot.getStartDateTime();
-                            LocalDateTime slotEnd = slot.getEndDateTime();
-                            return (slotStart.isBefore(aptEnd) && slotEnd.isAfter(aptStart));
-                        });
-
-                    // Find conflicting appointment if any
-                    Optional<Appointment> conflictingAppointment = existingAppointments.stream()
-                        .filter(apt -> {
-                            LocalDateTime aptStart = apt.getScheduledAt();
-                            LocalDateTime aptEnd = apt.getEndTime();
-                            LocalDateTime slotStart = slot.getStartDateTime();
-                            LocalDateTime slotEnd = slot.getEndDateTime();
-                            return (slotStart.isBefore(aptEnd) && slotEnd.isAfter(aptStart));
-                        })
-                        .findFirst();
-
-                    GeneratedTimeSlotResponse.GeneratedTimeSlotResponseBuilder builder = GeneratedTimeSlotResponse.builder()
-                        .slotId(slot.getSlotId())
-                        .availabilityId(availability.getId())
-                        .date(date)
-                        .startTime(slot.getStartTime())
-                        .endTime(slot.getEndTime())
-                        .startDateTime(slot.getStartDateTime())
-                        .endDateTime(slot.getEndDateTime())
-                        .durationMinutes(slot.getDurationMinutes())
-                        .location(slot.getLocation())
-                        .type(slot.getType())
-                        .isAvailable(isAvailable)
-                        .isBooked(!isAvailable);
-
-                    if (conflictingAppointment.isPresent()) {
-                        Appointment apt = conflictingAppointment.get();
-                        User student = userRepository.findById(apt.getStudentId()).orElse(null);
-                        builder.appointmentId(apt.getId())
-                               .appointmentStatus(apt.getStatus().toString())
-                               .studentName(student != null ? student.getFullName() : "Unknown Student");
-                    }
-
-                    timeSlots.add(builder.build());
+            if (!availability.isActiveOn(date) || availability.getStartTime() == null || availability.getEndTime() == null) {
+                continue;
+            }
+
+            // Use the slot's configured duration, or the requested one when it has none
+            Integer slotDuration = availability.getSlotDurationMinutes();
+            int actualDuration = (slotDuration != null && slotDuration > 0) ? slotDuration : durationMinutes;
+            int lastStart = availability.getEndTime().toSecondOfDay() / 60 - actualDuration;
+
+            for (int minute = availability.getStartTime().toSecondOfDay() / 60; minute <= lastStart; minute += actualDuration) {
+                LocalTime current = LocalTime.ofSecondOfDay(minute * 60L);
+                LocalDateTime slotStart = date.atTime(current);
+                LocalDateTime slotEnd = slotStart.plusMinutes(actualDuration);
+                if (!occupancy.isFree(slotStart, slotEnd)) {
+                    continue;
                 }
+
+                availableSlots.add(TimeSlotResponse.builder()
+                    .id(availability.getId() + "-" + current)
+                    .startTime(slotStart)
+                    .endTime(slotEnd)
+                    .durationMinutes(actualDuration)
+                    .location(availability.getLocation() != null ? availability.getLocation() : "Office")
+                    .type(availability.getAllowedType() != null ? availability.getAllowedType() : Appointment.AppointmentType.OFFICE_HOURS)
+                    .isAvailable(true)
+                    .isRecurring(availability.isRecurring())
+                    .recurringPattern(availability.isRecurring() && availability.getDayOfWeek() != null
+                        ? Appointment.RecurringPattern.WEEKLY : null)
+                    .lecturer(lecturerProfile)
+                    .build());
             }
         }
 
-        // Sort by start time
-        timeSlots.sort(Comparator.comparing(GeneratedTimeSlotResponse::getStartTime));
+        log.info("Generated {} bookable time slots from {} availability configurations",
+            availableSlots.size(), availabilitySlots.size());
+        return availableSlots;
+    }
 
-        log.info("Generated {} time slots for lecturer {} on {}", timeSlots.size(), lecturerId, date);
-        return timeSlots;
+    /**
+     * Generated slots of every day in [from, to], booked ones included with their appointment
+     * and student. The availability rules and the appointments of the whole range are loaded
+     * with one query each and recurring rules are expanded in memory.
+     */
+    public Map<LocalDate, List<GeneratedTimeSlotResponse>> getGeneratedTimeSlotsForRange(String lecturerId,
+                                                                                         LocalDate from, LocalDate to) {
+        log.info("Getting generated time slots for lecturer {} from {} to {}", lecturerId, from, to);
+        return generateTimeSlotsWithStudents(lecturerId, from, to, new HashSet<>());
+    }
+
+    private Map<LocalDate, List<GeneratedTimeSlotResponse>> generateTimeSlotsWithStudents(String lecturerId, LocalDate from,
+                                                                                         LocalDate to, Set<String> appointmentIds) {
+        Map<GeneratedTimeSlotResponse, Appointment> bookedSlots = new IdentityHashMap<>();
+        Map<LocalDate, List<GeneratedTimeSlotResponse>> slotsByDate = generateTimeSlots(
+            lecturerId, from, to, null, bookedSlots, appointmentIds);
+
+        // Resolve the students of all booked slots in one lookup
+        if (!bookedSlots.isEmpty()) {
+            Set<String> studentIds = bookedSlots.values().stream()
+                .map(Appointment::getStudentId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+            Map<String, User> students = userRepository.findAllById(studentIds).stream()
+                .collect(Collectors.toMap(User::getId, user -> user));
+            bookedSlots.forEach((timeSlot, apt) -> {
+                User student = apt.getStudentId() != null ? students.get(apt.getStudentId()) : null;
+                timeSlot.setStudentName(student != null ? student.getFullName() : "Unknown Student");
+            });
+        }
+
+        return slotsByDate;
+    }
+
+    /**
+     * Free slots of every day in [from, to], for students picking a time. Availability without
+     * its own slot length is split into slots of {@code defaultDurationMinutes}.
+     */
+    public Map<LocalDate, List<GeneratedTimeSlotResponse>> getBookableTimeSlotsForRange(String lecturerId, LocalDate from,
+                                                                                       LocalDate to, Integer defaultDurationMinutes) {
+        log.info("Getting bookable time slots for lecturer {} from {} to {}", lecturerId, from, to);
+
+        Map<LocalDate, List<GeneratedTimeSlotResponse>> slotsByDate = generateTimeSlots(
+            lecturerId, from, to, defaultDurationMinutes, null, new HashSet<>());
+        slotsByDate.values().forEach(daySlots -> daySlots.removeIf(slot -> !slot.isAvailable()));
+        return slotsByDate;
+    }
+
+    private Map<LocalDate, List<GeneratedTimeSlotResponse>> generateTimeSlots(String lecturerId, LocalDate from, LocalDate to,
+                                                                              Integer defaultDurationMinutes,
+                                                                              Map<GeneratedTimeSlotResponse, Appointment> bookedSlots,
+                                                                              Set<String> appointmentIds) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("Range start must not be after its end");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_RANGE_DAYS) {
+            throw new IllegalArgumentException("Range cannot span more than " + MAX_RANGE_DAYS + " days");
+        }
+
+        // One query for the availability rules touching the range, one for its appointments
+        List<LecturerAvailability> availabilitySlots = availabilityRepository.findActiveByLecturerIdBetween(
+            lecturerId, from, to);
+        List<Appointment> existingAppointments = availabilitySlots.isEmpty() ? List.of()
+            : appointmentRepository.findByUserIdAndScheduledAtBetween(
+                lecturerId, from.minusDays(1).atStartOfDay(), to.atTime(23, 59, 59));
+
+        // An appointment blocks every day it runs into
+        Map<LocalDate, List<Appointment>> appointmentsByDate = new HashMap<>();
+        for (Appointment apt : existingAppointments) {
+            appointmentIds.add(apt.getId());
+            if (apt.getScheduledAt() == null) {
+                continue;
+            }
+            LocalDate lastDay = apt.getEndTime().minusNanos(1).toLocalDate();
+            for (LocalDate day = apt.getScheduledAt().toLocalDate(); !day.isAfter(lastDay); day = day.plusDays(1)) {
+                appointmentsByDate.computeIfAbsent(day, key -> new ArrayList<>()).add(apt);
+            }
+        }
+
+        Map<LocalDate, List<GeneratedTimeSlotResponse>> slotsByDate = new LinkedHashMap<>();
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            DayOccupancy occupancy = DayOccupancy.of(date, appointmentsByDate.getOrDefault(date, List.of()));
+            List<GeneratedTimeSlotResponse> timeSlots = new ArrayList<>();
+
+            for (LecturerAvailability availability : availabilitySlots) {
+                if (availability.isActiveOn(date)) {
+                    addTimeSlots(availability, date, occupancy, defaultDurationMinutes, timeSlots, bookedSlots);
+                }
+            }
+
+            // Sort by start time
+            timeSlots.sort(Comparator.comparing(GeneratedTimeSlotResponse::getStartTime));
+            slotsByDate.put(date, timeSlots);
+        }
+
+        log.info("Generated time slots for lecturer {} on {} days from {} availability rules and {} appointments",
+            lecturerId, slotsByDate.size(), availabilitySlots.size(), existingAppointments.size());
+        return slotsByDate;
+    }
+
+    private void addTimeSlots(LecturerAvailability availability, LocalDate date, DayOccupancy occupancy,
+                              Integer defaultDurationMinutes, List<GeneratedTimeSlotResponse> timeSlots,
+                              Map<GeneratedTimeSlotResponse, Appointment> bookedSlots) {
+        Integer slotDuration = availability.getSlotDurationMinutes() != null && availability.getSlotDurationMinutes() > 0
+            ? availability.getSlotDurationMinutes() : defaultDurationMinutes;
+        if (availability.getStartTime() == null || availability.getEndTime() == null
+                || slotDuration == null || slotDuration <= 0) {
+            return;
+        }
+
+        int duration = slotDuration;
+        int lastStart = availability.getEndTime().toSecondOfDay() / 60 - duration;
+        Appointment.AppointmentType type = availability.getAllowedType() != null
+            ? availability.getAllowedType() : Appointment.AppointmentType.OFFICE_HOURS;
+
+        for (int minute = availability.getStartTime().toSecondOfDay() / 60; minute <= lastStart; minute += duration) {
+            LocalTime slotStart = LocalTime.ofSecondOfDay(minute * 60L);
+            LocalTime slotEnd = slotStart.plusMinutes(duration);
+            LocalDateTime slotStartDateTime = date.atTime(slotStart);
+            LocalDateTime slotEndDateTime = slotStartDateTime.plusMinutes(duration);
+
+            // Check if slot is available (no conflicting appointments)
+            Appointment conflictingAppointment = occupancy.conflictOf(slotStartDateTime, slotEndDateTime);
+
+            GeneratedTimeSlotResponse.GeneratedTimeSlotResponseBuilder builder = GeneratedTimeSlotResponse.builder()
+                .slotId(availability.generateSlotId(date, slotStart))
+                .availabilityId(availability.getId())
+                .date(date)
+                .startTime(slotStart)
+                .endTime(slotEnd)
+                .startDateTime(slotStartDateTime)
+                .endDateTime(slotEndDateTime)
+                .durationMinutes(duration)
+                .location(availability.getLocation())
+                .type(type)
+                .isAvailable(conflictingAppointment == null)
+                .isBooked(conflictingAppointment != null);
+
+            if (conflictingAppointment != null && bookedSlots != null) {
+                builder.appointmentId(conflictingAppointment.getId())
+                       .appointmentStatus(conflictingAppointment.getStatus().toString());
+            }
+
+            GeneratedTimeSlotResponse timeSlot = builder.build();
+            if (conflictingAppointment != null && bookedSlots != null) {
+                bookedSlots.put(timeSlot, conflictingAppointment);
+            }
+            timeSlots.add(timeSlot);
+        }
+    }
+
+    // =================== EARLIEST AVAILABLE SLOTS ===================
+
+    /**
+     * The earliest free slots across all lecturers of a department or the lecturer of a course,
+     * answered from {@link LecturerSlotIndex} without touching availability or appointments.
+     */
+    public List<GeneratedTimeSlotResponse> findEarliestAvailableSlots(String department, String courseId,
+                                                                      Appointment.AppointmentType type,
+                                                                      int durationMinutes, LocalDateTime from,
+                                                                      LocalDateTime to, int limit) {
+        log.info("Finding earliest {} slots of {} minutes for department {} / course {}", limit, durationMinutes,
+            department, courseId);
+
+        if ((department == null) == (courseId == null)) {
+            throw new IllegalArgumentException("Specify either a department or a course");
+        }
+        if (durationMinutes < 5 || durationMinutes > 24 * 60) {
+            throw new IllegalArgumentException("Duration must be between 5 minutes and one day");
+        }
+        if (limit < 1 || limit > MAX_EARLIEST_SLOTS) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_EARLIEST_SLOTS);
+        }
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime windowStart = from == null || from.isBefore(now) ? now : from;
+        LocalDateTime windowEnd = to != null ? to : windowStart.plusDays(14);
+        if (!windowStart.isBefore(windowEnd)) {
+            throw new IllegalArgumentException("Window start must be before its end");
+        }
+        if (windowEnd.isAfter(windowStart.plusDays(MAX_RANGE_DAYS))) {
+            throw new IllegalArgumentException("Window cannot span more than " + MAX_RANGE_DAYS + " days");
+        }
+
+        List<User> lecturers;
+        if (courseId != null) {
+            lecturers = courseRepository.findById(courseId)
+                .filter(course -> course.getLecturerId() != null)
+                .flatMap(course -> userRepository.findById(course.getLecturerId()))
+                .map(List::of)
+                .orElseThrow(() -> new IllegalArgumentException("Course not found or has no lecturer: " + courseId));
+        } else {
+            lecturers = userRepository.findByRoleAndDepartmentAndIsActiveTrue(User.UserRole.LECTURER, department);
+        }
+        Map<String, User> lecturersById = lecturers.stream()
+            .collect(Collectors.toMap(User::getId, user -> user));
+
+        List<LecturerSlotIndex.FreeSlot> freeSlots = lecturerSlotIndex.findEarliest(
+            lecturersById.keySet(), type, durationMinutes, windowStart, windowEnd, limit);
+
+        Map<String, UserProfileResponse> profiles = new HashMap<>();
+        return freeSlots.stream()
+            .map(slot -> {
+                LecturerAvailability availability = slot.availability();
+                Appointment.AppointmentType slotType = availability.getAllowedType() != null ? availability.getAllowedType()
+                    : type != null ? type : Appointment.AppointmentType.OFFICE_HOURS;
+                return GeneratedTimeSlotResponse.builder()
+                    .slotId(availability.generateSlotId(slot.start().toLocalDate(), slot.start().toLocalTime()))
+                    .availabilityId(availability.getId())
+                    .date(slot.start().toLocalDate())
+                    .startTime(slot.start().toLocalTime())
+                    .endTime(slot.end().toLocalTime())
+                    .startDateTime(slot.start())
+                    .endDateTime(slot.end())
+                    .durationMinutes(durationMinutes)
+                    .location(availability.getLocation())
+                    .type(slotType)
+                    .isAvailable(true)
+                    .isBooked(false)
+                    .lecturer(profiles.computeIfAbsent(slot.lecturerId(),
+                        id -> UserService.mapToUserProfileResponse(lecturersById.get(id))))
+                    .build();
+            })
+            .collect(Collectors.toList());
     }
 
     // =================== UPDATE AVAILABILITY SLOT ===================
@@ -227,6 +459,13 @@ public class AvailabilityService {
             availability.setRecurringEndDate(request.getRecurringEndDate());
         }
 
+        if (availability.isActive()) {
+            String overlap = findOverlaps(List.of(availability), lecturerId).get(0);
+            if (overlap != null) {
+                throw new IllegalArgumentException(overlap);
+            }
+        }
+
         availability.updateTimestamp();
         LecturerAvailability updatedAvailability = availabilityRepository.save(availability);
 
@@ -246,6 +485,13 @@ public class AvailabilityService {
         boolean newStatus = !currentStatus;
         
         log.info("Changing slot {} status from {} to {}", slotId, currentStatus, newStatus);
+
+        if (newStatus) {
+            String overlap = findOverlaps(List.of(availability), lecturerId).get(0);
+            if (overlap != null) {
+                throw new IllegalArgumentException(overlap);
+            }
+        }
         
         availability.setActive(newStatus);
         availability.updateTimestamp();
@@ -272,63 +518,176 @@ public class AvailabilityService {
         // For simplicity, we'll allow deletion but could add validation here
         
         availabilityRepository.delete(availability);
+        slotListCache.invalidateLecturer(availability.getLecturerId());
         log.info("Availability slot {} deleted successfully", slotId);
     }
 
     // =================== BULK OPERATIONS ===================
-    public List<AvailabilitySlotResponse> createBulkAvailabilitySlots(List<AvailabilitySlotRequest> requests, 
-                                                                     String lecturerId) {
+    /**
+     * Create the valid, non-overlapping slots of the request with one insert. Each slot is checked
+     * against the lecturer's active slots and the earlier slots of the same request.
+     */
+    public BulkAvailabilityResponse createBulkAvailabilitySlots(List<AvailabilitySlotRequest> requests,
+                                                                String lecturerId) {
         log.info("Creating {} bulk availability slots for lecturer: {}", requests.size(), lecturerId);
 
         validateLecturer(lecturerId);
-        
-        List<AvailabilitySlotResponse> responses = new ArrayList<>();
-        List<String> errors = new ArrayList<>();
-        
+
+        BulkAvailabilityResponse.Item[] items = new BulkAvailabilityResponse.Item[requests.size()];
+        List<LecturerAvailability> candidates = new ArrayList<>();
+        List<Integer> candidateIndexes = new ArrayList<>();
+
         for (int i = 0; i < requests.size(); i++) {
             try {
                 AvailabilitySlotRequest request = requests.get(i);
                 validateAvailabilityRequest(request, lecturerId);
-                
-                LecturerAvailability availability = buildAvailabilitySlot(request, lecturerId);
-                LecturerAvailability savedAvailability = availabilityRepository.save(availability);
-                responses.add(mapToAvailabilitySlotResponse(savedAvailability));
-                
+                candidates.add(buildAvailabilitySlot(request, lecturerId));
+                candidateIndexes.add(i);
             } catch (Exception e) {
                 log.warn("Failed to create bulk availability slot at index {}: {}", i, e.getMessage());
-                errors.add("Slot " + (i + 1) + ": " + e.getMessage());
+                items[i] = failedItem(i, null, e.getMessage());
             }
         }
-        
-        if (!errors.isEmpty()) {
-            throw new RuntimeException("Some slots failed to create: " + String.join("; ", errors));
+
+        List<String> overlaps = findOverlaps(candidates, lecturerId);
+        List<LecturerAvailability> toInsert = new ArrayList<>();
+        List<Integer> insertIndexes = new ArrayList<>();
+        for (int c = 0; c < candidates.size(); c++) {
+            int index = candidateIndexes.get(c);
+            if (overlaps.get(c) != null) {
+                items[index] = failedItem(index, null, overlaps.get(c));
+            } else {
+                toInsert.add(candidates.get(c));
+                insertIndexes.add(index);
+            }
         }
-        
-        log.info("Successfully created {} bulk availability slots", responses.size());
-        return responses;
+
+        if (!toInsert.isEmpty()) {
+            List<LecturerAvailability> inserted = availabilityRepository.insert(toInsert);
+            for (int k = 0; k < inserted.size(); k++) {
+                int index = insertIndexes.get(k);
+                LecturerAvailability saved = inserted.get(k);
+                items[index] = BulkAvailabilityResponse.Item.builder()
+                        .index(index)
+                        .slotId(saved.getId())
+                        .success(true)
+                        .slot(mapToAvailabilitySlotResponse(saved))
+                        .build();
+            }
+        }
+
+        log.info("Created {} of {} bulk availability slots", toInsert.size(), requests.size());
+        return bulkResponse(items);
     }
 
-    public void deleteBulkAvailabilitySlots(List<String> slotIds, String lecturerId) {
+    /**
+     * Delete the lecturer's slots among {@code slotIds} with one lookup and one deleteMany.
+     */
+    public BulkAvailabilityResponse deleteBulkAvailabilitySlots(List<String> slotIds, String lecturerId) {
         log.info("Deleting {} bulk availability slots for lecturer: {}", slotIds.size(), lecturerId);
 
-        List<String> errors = new ArrayList<>();
-        int deletedCount = 0;
-        
-        for (String slotId : slotIds) {
-            try {
-                deleteAvailabilitySlot(slotId, lecturerId);
-                deletedCount++;
-            } catch (Exception e) {
-                log.warn("Failed to delete availability slot {}: {}", slotId, e.getMessage());
-                errors.add("Slot " + slotId + ": " + e.getMessage());
+        Map<String, LecturerAvailability> existing = new HashMap<>();
+        availabilityRepository.findAllById(new HashSet<>(slotIds))
+                .forEach(availability -> existing.put(availability.getId(), availability));
+
+        BulkAvailabilityResponse.Item[] items = new BulkAvailabilityResponse.Item[slotIds.size()];
+        Set<String> toDelete = new HashSet<>();
+        for (int i = 0; i < slotIds.size(); i++) {
+            String slotId = slotIds.get(i);
+            LecturerAvailability availability = existing.get(slotId);
+            if (availability == null) {
+                items[i] = failedItem(i, slotId, "Availability slot not found: " + slotId);
+            } else if (!lecturerId.equals(availability.getLecturerId())) {
+                items[i] = failedItem(i, slotId, "You can only modify your own availability slots");
+            } else if (!toDelete.add(slotId)) {
+                items[i] = failedItem(i, slotId, "Duplicate slot id in request");
+            } else {
+                items[i] = BulkAvailabilityResponse.Item.builder().index(i).slotId(slotId).success(true).build();
             }
         }
-        
-        if (!errors.isEmpty()) {
-            throw new RuntimeException("Some slots failed to delete: " + String.join("; ", errors));
+
+        if (!toDelete.isEmpty()) {
+            availabilityRepository.deleteAllById(toDelete);
+            slotListCache.invalidateLecturer(lecturerId);
         }
-        
-        log.info("Successfully deleted {} bulk availability slots", deletedCount);
+
+        log.info("Deleted {} of {} bulk availability slots", toDelete.size(), slotIds.size());
+        return bulkResponse(items);
+    }
+
+    private static BulkAvailabilityResponse.Item failedItem(int index, String slotId, String error) {
+        return BulkAvailabilityResponse.Item.builder()
+                .index(index)
+                .slotId(slotId)
+                .success(false)
+                .error(error)
+                .build();
+    }
+
+    private static BulkAvailabilityResponse bulkResponse(BulkAvailabilityResponse.Item[] items) {
+        int succeeded = (int) Arrays.stream(items).filter(BulkAvailabilityResponse.Item::isSuccess).count();
+        return BulkAvailabilityResponse.builder()
+                .succeeded(succeeded)
+                .failed(items.length - succeeded)
+                .items(Arrays.asList(items))
+                .build();
+    }
+
+    /**
+     * For each candidate, why it cannot be added next to the lecturer's active slots and the
+     * candidates before it, or null when it fits. One query for the existing slots. Candidates
+     * that are already stored (updated slots) are not checked against their old version.
+     */
+    private List<String> findOverlaps(List<LecturerAvailability> candidates, String lecturerId) {
+        List<String> errors = new ArrayList<>(Collections.nCopies(candidates.size(), (String) null));
+        if (candidates.isEmpty()) {
+            return errors;
+        }
+
+        Set<String> candidateIds = candidates.stream()
+                .map(LecturerAvailability::getId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        List<LecturerAvailability> existing = availabilityRepository.findByLecturerIdAndIsActiveTrueOrderByDateAscStartTimeAsc(lecturerId)
+                .stream()
+                .filter(slot -> !candidateIds.contains(slot.getId()))
+                .toList();
+        List<LecturerAvailability> rules = new ArrayList<>(existing);
+        rules.addAll(candidates);
+
+        // Overlapping partners of each candidate, by index into rules
+        Map<Integer, List<Integer>> partners = new HashMap<>();
+        for (int[] pair : AvailabilityOverlaps.find(rules)) {
+            if (pair[1] >= existing.size()) {
+                partners.computeIfAbsent(pair[1], key -> new ArrayList<>()).add(pair[0]);
+            }
+            if (pair[0] >= existing.size()) {
+                partners.computeIfAbsent(pair[0], key -> new ArrayList<>()).add(pair[1]);
+            }
+        }
+
+        // Candidates are accepted in request order; a rejected one does not block later ones
+        for (int c = 0; c < candidates.size(); c++) {
+            for (int other : partners.getOrDefault(existing.size() + c, List.of())) {
+                if (other < existing.size()) {
+                    errors.set(c, "Overlaps existing availability slot " + describe(existing.get(other)));
+                    break;
+                }
+                int otherCandidate = other - existing.size();
+                if (otherCandidate < c && errors.get(otherCandidate) == null) {
+                    errors.set(c, "Overlaps another slot in this request " + describe(candidates.get(otherCandidate)));
+                    break;
+                }
+            }
+        }
+        return errors;
+    }
+
+    private static String describe(LecturerAvailability availability) {
+        String day = availability.isRecurring() && availability.getDayOfWeek() != null
+                ? "every " + availability.getDayOfWeek().getDisplayName()
+                : String.valueOf(availability.getDate());
+        return "(" + day + " " + availability.getStartTime() + " - " + availability.getEndTime() + ")";
     }
 
     // =================== AVAILABILITY STATISTICS ===================
@@ -340,15 +699,11 @@ public class AvailabilityService {
         long oneTimeSlots = availabilityRepository.findByLecturerIdAndIsRecurringFalseAndIsActiveTrueAndDateGreaterThanEqualOrderByDateAscStartTimeAsc(lecturerId, LocalDate.now()).size();
 
         // Calculate total bookable slots for next 7 days
-        int bookableSlotsCount = 0;
-        for (int i = 0; i < 7; i++) {
-            LocalDate checkDate = LocalDate.now().plusDays(i);
-            List<GeneratedTimeSlotResponse> daySlots = getGeneratedTimeSlotsForDate(lecturerId, checkDate);
-            bookableSlotsCount += (int) daySlots.stream().filter(GeneratedTimeSlotResponse::isAvailable).count();
-        }
-        
-        // Make it effectively final by assigning to a final variable
-        final int bookableSlotsNext7Days = bookableSlotsCount;
+        LocalDate today = LocalDate.now();
+        final int bookableSlotsNext7Days = getBookableTimeSlotsForRange(lecturerId, today, today.plusDays(6), null)
+                .values().stream()
+                .mapToInt(List::size)
+                .sum();
 
         return new Object() {
             public final long total = totalSlots;
@@ -394,9 +749,6 @@ public class AvailabilityService {
                 throw new IllegalArgumentException("Cannot set day of week for non-recurring slots");
             }
         }
-
-        // Check for conflicts (simplified - could be more robust)
-        // This would check for overlapping availability slots
     }
 
     private LecturerAvailability buildAvailabilitySlot(AvailabilitySlotRequest request, String lecturerId) {
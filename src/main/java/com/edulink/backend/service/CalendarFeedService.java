@@ -0,0 +1,339 @@
+package com.edulink.backend.service;
+
+import com.edulink.backend.model.entity.Appointment;
+import com.edulink.backend.model.entity.LecturerAvailability;
+import com.edulink.backend.model.entity.User;
+import com.edulink.backend.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Base64;
+import java.util.Date;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Per-user iCalendar (RFC 5545) feed of appointments and, for lecturers, availability.
+ *
+ * The feed URL carries a secret token instead of a JWT so calendar apps can poll it.
+ * {@link #version} fingerprints the feed with two small aggregations, so unchanged polls
+ * are answered 304 without reading any appointment; {@link #write} streams the feed
+ * from Mongo cursors.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CalendarFeedService {
+
+    // Bump when the generated output changes, so clients do not keep a stale copy
+    private static final int FORMAT_VERSION = 1;
+    private static final int TOKEN_BYTES = 24;
+    private static final int MAX_LINE_OCTETS = 75;
+
+    private static final DateTimeFormatter UTC_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'").withZone(ZoneOffset.UTC);
+    private static final DateTimeFormatter LOCAL_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+
+    private final UserRepository userRepository;
+    private final MongoTemplate mongoTemplate;
+    private final SecureRandom random = new SecureRandom();
+
+    @Value("${calendar.feed.history-days:90}")
+    private int historyDays;
+
+    // =================== TOKENS ===================
+
+    /**
+     * Issue a new feed token for the user. Any previous feed URL stops working.
+     */
+    public String rotateToken(User user) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        user.setCalendarToken(token);
+        user.setUpdatedAt(LocalDateTime.now());
+        userRepository.save(user);
+        return token;
+    }
+
+    public void revokeToken(User user) {
+        user.setCalendarToken(null);
+        user.setUpdatedAt(LocalDateTime.now());
+        userRepository.save(user);
+    }
+
+    public Optional<User> findOwner(String token) {
+        if (token == null || token.isBlank()) {
+            return Optional.empty();
+        }
+        return userRepository.findByCalendarToken(token).filter(User::isActive);
+    }
+
+    // =================== VERSIONING ===================
+
+    /**
+     * Strong validator and modification time of the user's feed as it would be written now.
+     */
+    public FeedVersion version(User user) {
+        LocalDateTime since = windowStart();
+
+        Document appointments = summarize(Aggregation.newAggregation(
+                        Aggregation.match(participantCriteria(user).and("scheduledAt").gte(since)),
+                        Aggregation.group().count().as("count").max("lastModifiedAt").as("lastModified")),
+                Appointment.class);
+
+        Document availability = user.getRole() == User.UserRole.LECTURER
+                ? summarize(Aggregation.newAggregation(
+                        Aggregation.match(Criteria.where("lecturerId").is(user.getId())),
+                        Aggregation.group().count().as("count").max("updatedAt").as("lastModified")),
+                LecturerAvailability.class)
+                : new Document();
+
+        Instant lastModified = latest(latest(toInstant(appointments.getDate("lastModified")),
+                toInstant(availability.getDate("lastModified"))), toInstant(user.getCreatedAt()));
+
+        String fingerprint = String.join("|",
+                String.valueOf(FORMAT_VERSION), user.getId(), String.valueOf(user.getUpdatedAt()),
+                since.toLocalDate().toString(),
+                String.valueOf(appointments.get("count")), String.valueOf(appointments.get("lastModified")),
+                String.valueOf(availability.get("count")), String.valueOf(availability.get("lastModified")));
+        return new FeedVersion("\"" + sha256(fingerprint) + "\"", lastModified != null ? lastModified : Instant.EPOCH);
+    }
+
+    // =================== RENDERING ===================
+
+    /**
+     * Write the feed. Appointments cover the last calendar.feed.history-days days onwards.
+     */
+    public void write(User user, OutputStream output) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        line(writer, "BEGIN:VCALENDAR");
+        line(writer, "VERSION:2.0");
+        line(writer, "PRODID:-//EduLink//Appointments//EN");
+        line(writer, "CALSCALE:GREGORIAN");
+        line(writer, "METHOD:PUBLISH");
+        line(writer, "X-WR-CALNAME:" + escape("EduLink - " + user.getFullName()));
+
+        Query appointmentQuery = new Query(participantCriteria(user).and("scheduledAt").gte(windowStart()))
+                .with(Sort.by(Sort.Direction.ASC, "scheduledAt"));
+        try (Stream<Appointment> appointments = mongoTemplate.stream(appointmentQuery, Appointment.class)) {
+            for (Appointment appointment : (Iterable<Appointment>) appointments::iterator) {
+                writeAppointment(writer, appointment);
+            }
+        }
+
+        if (user.getRole() == User.UserRole.LECTURER) {
+            Query availabilityQuery = new Query(Criteria.where("lecturerId").is(user.getId()).and("isActive").is(true));
+            try (Stream<LecturerAvailability> slots = mongoTemplate.stream(availabilityQuery, LecturerAvailability.class)) {
+                for (LecturerAvailability slot : (Iterable<LecturerAvailability>) slots::iterator) {
+                    writeAvailability(writer, slot);
+                }
+            }
+        }
+
+        line(writer, "END:VCALENDAR");
+        writer.flush();
+    }
+
+    private void writeAppointment(Writer writer, Appointment appointment) throws IOException {
+        if (appointment.getScheduledAt() == null) {
+            return;
+        }
+        line(writer, "BEGIN:VEVENT");
+        line(writer, "UID:appointment-" + appointment.getId() + "@edulink");
+        line(writer, "DTSTAMP:" + stamp(appointment.getLastModifiedAt(), appointment.getUpdatedAt()));
+        line(writer, "DTSTART:" + utc(appointment.getScheduledAt()));
+        line(writer, "DTEND:" + utc(appointment.getEndTime()));
+        line(writer, "SUMMARY:" + escape(appointment.getSubject()));
+        if (appointment.getDescription() != null) {
+            line(writer, "DESCRIPTION:" + escape(appointment.getDescription()));
+        }
+        if (appointment.getLocation() != null) {
+            line(writer, "LOCATION:" + escape(appointment.getLocation()));
+        }
+        if (appointment.getMeetingLink() != null) {
+            line(writer, "URL:" + appointment.getMeetingLink());
+        }
+        if (appointment.getType() != null) {
+            line(writer, "CATEGORIES:" + escape(appointment.getType().getDisplayName()));
+        }
+        line(writer, "STATUS:" + eventStatus(appointment.getStatus()));
+        if (appointment.getLastModifiedAt() != null) {
+            line(writer, "LAST-MODIFIED:" + utc(appointment.getLastModifiedAt()));
+        }
+        line(writer, "END:VEVENT");
+    }
+
+    private void writeAvailability(Writer writer, LecturerAvailability slot) throws IOException {
+        if (slot.getStartTime() == null || slot.getEndTime() == null) {
+            return;
+        }
+
+        LocalDate firstDate;
+        if (slot.isRecurring()) {
+            if (slot.getDayOfWeek() == null) {
+                return;
+            }
+            LocalDate from = slot.getRecurringStartDate() != null ? slot.getRecurringStartDate()
+                    : slot.getCreatedAt() != null ? slot.getCreatedAt().toLocalDate() : LocalDate.now();
+            firstDate = from.with(TemporalAdjusters.nextOrSame(DayOfWeek.valueOf(slot.getDayOfWeek().name())));
+        } else {
+            if (slot.getDate() == null || slot.getDate().isBefore(windowStart().toLocalDate())) {
+                return;
+            }
+            firstDate = slot.getDate();
+        }
+
+        boolean blocked = slot.getType() == LecturerAvailability.AvailabilityType.BLOCKED;
+        line(writer, "BEGIN:VEVENT");
+        line(writer, "UID:availability-" + slot.getId() + "@edulink");
+        line(writer, "DTSTAMP:" + stamp(slot.getUpdatedAt(), slot.getCreatedAt()));
+        // Floating local times, so weekly office hours stay put across daylight saving changes
+        line(writer, "DTSTART:" + LOCAL_TIME.format(firstDate.atTime(slot.getStartTime())));
+        line(writer, "DTEND:" + LOCAL_TIME.format(firstDate.atTime(slot.getEndTime())));
+        if (slot.isRecurring()) {
+            String rule = "RRULE:FREQ=WEEKLY;BYDAY=" + slot.getDayOfWeek().name().substring(0, 2);
+            if (slot.getRecurringEndDate() != null) {
+                rule += ";UNTIL=" + LOCAL_TIME.format(slot.getRecurringEndDate().atTime(23, 59, 59));
+            }
+            line(writer, rule);
+        }
+        line(writer, "SUMMARY:" + escape(blocked ? "Blocked"
+                : "Available: " + (slot.getType() != null ? slot.getType().getDisplayName() : "Office Hours")));
+        if (slot.getDescription() != null) {
+            line(writer, "DESCRIPTION:" + escape(slot.getDescription()));
+        }
+        if (slot.getLocation() != null) {
+            line(writer, "LOCATION:" + escape(slot.getLocation()));
+        }
+        line(writer, "TRANSP:" + (blocked ? "OPAQUE" : "TRANSPARENT"));
+        line(writer, "END:VEVENT");
+    }
+
+    // =================== HELPERS ===================
+
+    private LocalDateTime windowStart() {
+        return LocalDate.now().minusDays(historyDays).atStartOfDay();
+    }
+
+    private static Criteria participantCriteria(User user) {
+        if (user.getRole() == User.UserRole.LECTURER) {
+            return Criteria.where("lecturerId").is(user.getId());
+        }
+        return Criteria.where("studentId").is(user.getId());
+    }
+
+    private Document summarize(Aggregation aggregation, Class<?> type) {
+        Document result = mongoTemplate.aggregate(aggregation, type, Document.class).getUniqueMappedResult();
+        return result != null ? result : new Document();
+    }
+
+    private static String eventStatus(Appointment.AppointmentStatus status) {
+        if (status == null) {
+            return "TENTATIVE";
+        }
+        return switch (status) {
+            case PENDING -> "TENTATIVE";
+            case CONFIRMED, COMPLETED -> "CONFIRMED";
+            case CANCELLED, NO_SHOW, RESCHEDULED -> "CANCELLED";
+        };
+    }
+
+    private static String utc(LocalDateTime time) {
+        return UTC_TIME.format(time.atZone(ZoneId.systemDefault()));
+    }
+
+    /**
+     * Taken from the data rather than the clock, so identical data renders identical bytes
+     */
+    private static String stamp(LocalDateTime preferred, LocalDateTime fallback) {
+        LocalDateTime time = preferred != null ? preferred : fallback;
+        return time != null ? utc(time) : "19700101T000000Z";
+    }
+
+    private static Instant toInstant(Date date) {
+        return date != null ? date.toInstant() : null;
+    }
+
+    private static Instant toInstant(LocalDateTime time) {
+        return time != null ? time.atZone(ZoneId.systemDefault()).toInstant() : null;
+    }
+
+    private static Instant latest(Instant a, Instant b) {
+        if (a == null) {
+            return b;
+        }
+        return b == null || a.isAfter(b) ? a : b;
+    }
+
+    /**
+     * TEXT value escaping (RFC 5545 3.3.11)
+     */
+    private static String escape(String text) {
+        if (text == null) {
+            return "";
+        }
+        return text.replace("\\", "\\\\")
+                .replace(";", "\\;")
+                .replace(",", "\\,")
+                .replace("\r\n", "\\n")
+                .replace("\n", "\\n")
+                .replace("\r", "");
+    }
+
+    /**
+     * Write a content line, folded at 75 octets (RFC 5545 3.1)
+     */
+    private static void line(Writer writer, String content) throws IOException {
+        int octets = 0;
+        for (int i = 0; i < content.length(); ) {
+            int codePoint = content.codePointAt(i);
+            int size = codePoint < 0x80 ? 1 : codePoint < 0x800 ? 2 : codePoint < 0x10000 ? 3 : 4;
+            if (octets + size > MAX_LINE_OCTETS) {
+                writer.write("\r\n ");
+                octets = 1;
+            }
+            writer.write(Character.toChars(codePoint));
+            octets += size;
+            i += Character.charCount(codePoint);
+        }
+        writer.write("\r\n");
+    }
+
+    private static String sha256(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public record FeedVersion(String etag, Instant lastModified) {
+    }
+}
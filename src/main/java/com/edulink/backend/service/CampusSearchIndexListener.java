@@ -0,0 +1,30 @@
+package com.edulink.backend.service;
+
+import com.edulink.backend.util.MongoEvents;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.stereotype.Component;
+
+/**
+ * Feeds repository saves and deletes into the campus search index.
+ * Hooking the Mongo lifecycle events covers every service that writes a searchable
+ * entity without each of them having to call the index explicitly.
+ */
+@Component
+@RequiredArgsConstructor
+public class CampusSearchIndexListener extends AbstractMongoEventListener<Object> {
+
+    private final CampusSearchService campusSearchService;
+
+    @Override
+    public void onAfterSave(AfterSaveEvent<Object> event) {
+        campusSearchService.indexAsync(event.getSource());
+    }
+
+    @Override
+    public void onAfterDelete(AfterDeleteEvent<Object> event) {
+        MongoEvents.deletedIds(event).forEach(id -> campusSearchService.removeAsync(event.getType(), id));
+    }
+}
@@ -0,0 +1,638 @@
+package com.edulink.backend.service;
+
+import com.edulink.backend.dto.response.SearchResponse;
+import com.edulink.backend.model.entity.Announcement;
+import com.edulink.backend.model.entity.Course;
+import com.edulink.backend.model.entity.LostFoundItem;
+import com.edulink.backend.model.entity.Resource;
+import com.edulink.backend.model.entity.User;
+import com.edulink.backend.repository.AnnouncementRepository;
+import com.edulink.backend.repository.CourseRepository;
+import com.edulink.backend.repository.LostFoundItemRepository;
+import com.edulink.backend.repository.ResourceRepository;
+import com.edulink.backend.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * Campus-wide search over users, courses, announcements, lost-and-found items and
+ * course resources, backed by a single in-memory inverted index.
+ *
+ * All index writes go through one background thread, so saves never wait on indexing
+ * and updates are applied in the order they were saved. A change becomes searchable
+ * as soon as that thread has applied it. {@link #reindexAsync()} rebuilds the whole
+ * index from Mongo and swaps it in atomically.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CampusSearchService {
+
+    public enum DocumentType {
+        USER, COURSE, ANNOUNCEMENT, LOST_FOUND, RESOURCE
+    }
+
+    private static final int TITLE_WEIGHT = 3;
+    private static final int BODY_WEIGHT = 1;
+    private static final int SNIPPET_LENGTH = 160;
+    private static final int MIN_PREFIX_LENGTH = 2; // Shorter last words match whole terms only
+
+    private final UserRepository userRepository;
+    private final CourseRepository courseRepository;
+    private final AnnouncementRepository announcementRepository;
+    private final LostFoundItemRepository lostFoundItemRepository;
+    private final ResourceRepository resourceRepository;
+
+    private final ExecutorService indexer = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "campus-search-indexer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private InvertedIndex index = new InvertedIndex();
+
+    // =================== LIFECYCLE ===================
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        reindexAsync();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        indexer.shutdownNow();
+    }
+
+    /**
+     * Queue a full rebuild from Mongo. Updates saved while it runs are applied after the swap.
+     */
+    public Future<?> reindexAsync() {
+        return indexer.submit(this::reindex);
+    }
+
+    private void reindex() {
+        long start = System.currentTimeMillis();
+        try {
+            InvertedIndex rebuilt = new InvertedIndex();
+            userRepository.findAll().forEach(user -> rebuilt.put(fromUser(user)));
+            courseRepository.findAll().forEach(course -> rebuilt.put(fromCourse(course)));
+            announcementRepository.findAll().forEach(announcement -> rebuilt.put(fromAnnouncement(announcement)));
+            lostFoundItemRepository.findAll().forEach(item -> rebuilt.put(fromLostFoundItem(item)));
+            resourceRepository.findAll().forEach(resource -> rebuilt.put(fromResource(resource)));
+
+            lock.writeLock().lock();
+            try {
+                index = rebuilt;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.info("🔎 Campus search index rebuilt with {} documents in {} ms",
+                    rebuilt.liveCount(), System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.error("❌ Campus search reindex failed: {}", e.getMessage(), e);
+        }
+    }
+
+    // =================== INCREMENTAL UPDATES ===================
+
+    /**
+     * Queue (re)indexing of a saved entity. Entities of other types are ignored.
+     */
+    public void indexAsync(Object entity) {
+        SearchDocument document = toDocument(entity);
+        if (document == null) {
+            return;
+        }
+        indexer.execute(() -> {
+            lock.writeLock().lock();
+            try {
+                index.put(document);
+                compactIfNeeded();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Queue removal of a deleted entity.
+     */
+    public void removeAsync(Class<?> entityType, String id) {
+        DocumentType type = documentTypeOf(entityType);
+        if (type == null || id == null) {
+            return;
+        }
+        indexer.execute(() -> {
+            lock.writeLock().lock();
+            try {
+                index.remove(type, id);
+                compactIfNeeded();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    private void compactIfNeeded() {
+        if (index.needsCompaction()) {
+            index = index.compacted();
+            log.debug("Compacted campus search index to {} documents", index.liveCount());
+        }
+    }
+
+    // =================== SEARCH ===================
+
+    /**
+     * Search every document type the viewer may see. Every query word must match;
+     * the last word also matches as a prefix (from two characters) so the endpoint works for typeahead.
+     *
+     * @param type optional type filter; facets are always counted across all types
+     */
+    public SearchResponse search(String query, DocumentType type, User viewer, int page, int size) {
+        String[] tokens = tokenize(query);
+        Map<String, Long> facets = new LinkedHashMap<>();
+        for (DocumentType documentType : DocumentType.values()) {
+            facets.put(documentType.name(), 0L);
+        }
+
+        List<ScoredDocument> hits = new ArrayList<>();
+        if (tokens.length > 0) {
+            Viewer context = new Viewer(viewer);
+
+            lock.readLock().lock();
+            try {
+                for (int docId : index.match(tokens)) {
+                    SearchDocument document = index.document(docId);
+                    if (document == null || !isVisible(document, context)) {
+                        continue;
+                    }
+                    facets.merge(document.type.name(), 1L, Long::sum);
+                    if (type == null || document.type == type) {
+                        hits.add(new ScoredDocument(document, index.score(document, tokens)));
+                    }
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        hits.sort(Comparator.comparingDouble(ScoredDocument::score).reversed()
+                .thenComparing(hit -> hit.document.timestamp, Comparator.nullsLast(Comparator.reverseOrder())));
+
+        int from = Math.min(page * size, hits.size());
+        int to = Math.min(from + size, hits.size());
+        List<SearchResponse.SearchHit> results = hits.subList(from, to).stream()
+                .map(hit -> SearchResponse.SearchHit.builder()
+                        .type(hit.document.type.name())
+                        .id(hit.document.id)
+                        .title(hit.document.title)
+                        .snippet(hit.document.snippet)
+                        .score(hit.score)
+                        .timestamp(hit.document.timestamp)
+                        .build())
+                .collect(Collectors.toList());
+
+        return SearchResponse.builder()
+                .query(query)
+                .totalHits(hits.size())
+                .facets(facets)
+                .results(results)
+                .page(page)
+                .size(size)
+                .build();
+    }
+
+    // =================== VISIBILITY ===================
+
+    private boolean isVisible(SearchDocument document, Viewer viewer) {
+        if (viewer.role == User.UserRole.ADMIN) {
+            return true;
+        }
+        switch (document.type) {
+            case USER:
+                return document.active;
+            case ANNOUNCEMENT:
+                return viewer.userId.equals(document.ownerId) || isAnnouncementVisible(document, viewer);
+            default:
+                return true;
+        }
+    }
+
+    /**
+     * Mirrors the targeting rules of AnnouncementService for published, unexpired announcements.
+     */
+    private boolean isAnnouncementVisible(SearchDocument document, Viewer viewer) {
+        LocalDateTime now = LocalDateTime.now();
+        if (!document.active
+                || (document.publishedAt != null && document.publishedAt.isAfter(now))
+                || (document.expiresAt != null && !document.expiresAt.isAfter(now))
+                || document.audience == null) {
+            return false;
+        }
+        switch (document.audience) {
+            case ALL:
+                return true;
+            case STUDENTS:
+                return viewer.role == User.UserRole.STUDENT;
+            case LECTURERS:
+                return viewer.role == User.UserRole.LECTURER;
+            case COURSE_SPECIFIC:
+                return document.courseId != null && viewer.courseIds().contains(document.courseId);
+            case YEAR_SPECIFIC:
+                return document.yearLevel != null && document.yearLevel.equals(viewer.year);
+            case CUSTOM:
+                return document.targetUserIds != null && document.targetUserIds.contains(viewer.userId);
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Per-request view of the searching user. Course memberships are only loaded
+     * if a course-specific announcement actually matched.
+     */
+    private class Viewer {
+        private final String userId;
+        private final User.UserRole role;
+        private final String year;
+        private Set<String> courseIds;
+
+        Viewer(User user) {
+            this.userId = user.getId();
+            this.role = user.getRole();
+            this.year = user.getProfile() != null ? user.getProfile().getYear() : null;
+        }
+
+        Set<String> courseIds() {
+            if (courseIds == null) {
+                List<Course> courses = role == User.UserRole.LECTURER
+                        ? courseRepository.findAllByLecturerId(userId)
+                        : courseRepository.findByEnrollmentStudentIdsContaining(userId);
+                courseIds = courses.stream().map(Course::getId).collect(Collectors.toSet());
+            }
+            return courseIds;
+        }
+    }
+
+    // =================== DOCUMENT MAPPING ===================
+
+    private static DocumentType documentTypeOf(Class<?> entityType) {
+        if (entityType == null) return null;
+        if (User.class.isAssignableFrom(entityType)) return DocumentType.USER;
+        if (Course.class.isAssignableFrom(entityType)) return DocumentType.COURSE;
+        if (Announcement.class.isAssignableFrom(entityType)) return DocumentType.ANNOUNCEMENT;
+        if (LostFoundItem.class.isAssignableFrom(entityType)) return DocumentType.LOST_FOUND;
+        if (Resource.class.isAssignableFrom(entityType)) return DocumentType.RESOURCE;
+        return null;
+    }
+
+    private static SearchDocument toDocument(Object entity) {
+        if (entity instanceof User user) return fromUser(user);
+        if (entity instanceof Course course) return fromCourse(course);
+        if (entity instanceof Announcement announcement) return fromAnnouncement(announcement);
+        if (entity instanceof LostFoundItem item) return fromLostFoundItem(item);
+        if (entity instanceof Resource resource) return fromResource(resource);
+        return null;
+    }
+
+    private static SearchDocument fromUser(User user) {
+        User.UserProfile profile = user.getProfile();
+        SearchDocument document = new SearchDocument(DocumentType.USER, user.getId());
+        document.title = user.getFullName();
+        document.snippet = join(" · ", user.getRole() != null ? user.getRole().name() : null,
+                profile != null ? profile.getDepartment() : null);
+        document.timestamp = user.getCreatedAt();
+        document.active = user.isActive();
+        document.addTerms(TITLE_WEIGHT, profile != null ? profile.getFirstName() : null,
+                profile != null ? profile.getLastName() : null, user.getEmail());
+        if (profile != null) {
+            document.addTerms(BODY_WEIGHT, profile.getDepartment(), profile.getStudentId(),
+                    profile.getEmployeeId(), profile.getTitle(), profile.getPosition());
+        }
+        return document;
+    }
+
+    private static SearchDocument fromCourse(Course course) {
+        SearchDocument document = new SearchDocument(DocumentType.COURSE, course.getId());
+        document.title = join(" - ", course.getCode(), course.getName());
+        document.snippet = truncate(course.getDescription());
+        document.timestamp = course.getCreatedAt();
+        document.addTerms(TITLE_WEIGHT, course.getCode(), course.getName());
+        document.addTerms(BODY_WEIGHT, course.getDescription(), course.getDepartment(), course.getSemester());
+        if (course.getTags() != null) {
+            course.getTags().forEach(tag -> document.addTerms(BODY_WEIGHT, tag));
+        }
+        return document;
+    }
+
+    private static SearchDocument fromAnnouncement(Announcement announcement) {
+        SearchDocument document = new SearchDocument(DocumentType.ANNOUNCEMENT, announcement.getId());
+        document.title = announcement.getTitle();
+        document.snippet = truncate(announcement.getContent());
+        document.timestamp = announcement.getPublishedAt() != null ? announcement.getPublishedAt() : announcement.getCreatedAt();
+        document.active = announcement.getStatus() == Announcement.AnnouncementStatus.PUBLISHED;
+        document.ownerId = announcement.getAuthorId();
+        document.audience = announcement.getTargetAudience();
+        document.courseId = announcement.getCourseId();
+        document.yearLevel = announcement.getYearLevel();
+        document.targetUserIds = announcement.getTargetUserIds();
+        document.publishedAt = announcement.getPublishedAt();
+        document.expiresAt = announcement.getExpiresAt();
+        document.addTerms(TITLE_WEIGHT, announcement.getTitle());
+        document.addTerms(BODY_WEIGHT, announcement.getContent());
+        return document;
+    }
+
+    private static SearchDocument fromLostFoundItem(LostFoundItem item) {
+        SearchDocument document = new SearchDocument(DocumentType.LOST_FOUND, item.getId());
+        document.title = item.getTitle();
+        document.snippet = truncate(item.getDescription());
+        document.timestamp = item.getCreatedAt();
+        document.addTerms(TITLE_WEIGHT, item.getTitle());
+        document.addTerms(BODY_WEIGHT, item.getDescription(), item.getLocation(),
+                item.getType() != null ? item.getType().name() : null);
+        return document;
+    }
+
+    private static SearchDocument fromResource(Resource resource) {
+        SearchDocument document = new SearchDocument(DocumentType.RESOURCE, resource.getId());
+        document.title = resource.getTitle();
+        document.snippet = truncate(resource.getDescription());
+        document.timestamp = resource.getUploadedAt();
+        document.addTerms(TITLE_WEIGHT, resource.getTitle(), resource.getOriginalFilename());
+        document.addTerms(BODY_WEIGHT, resource.getDescription());
+        return document;
+    }
+
+    private static String join(String separator, String... parts) {
+        return Arrays.stream(parts)
+                .filter(part -> part != null && !part.isBlank())
+                .collect(Collectors.joining(separator));
+    }
+
+    private static String truncate(String text) {
+        if (text == null || text.length() <= SNIPPET_LENGTH) {
+            return text;
+        }
+        return text.substring(0, SNIPPET_LENGTH) + "…";
+    }
+
+    private static String[] tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return new String[0];
+        }
+        return Arrays.stream(text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(word -> !word.isEmpty())
+                .toArray(String[]::new);
+    }
+
+    // =================== INDEX STRUCTURES ===================
+
+    private record ScoredDocument(SearchDocument document, double score) {
+    }
+
+    private static final class SearchDocument {
+        private final DocumentType type;
+        private final String id;
+        private final Map<String, Integer> termWeights = new HashMap<>();
+
+        private String title;
+        private String snippet;
+        private LocalDateTime timestamp;
+
+        // Visibility data, only populated where the type needs it
+        private boolean active = true;
+        private String ownerId;
+        private Announcement.TargetAudience audience;
+        private String courseId;
+        private String yearLevel;
+        private Set<String> targetUserIds;
+        private LocalDateTime publishedAt;
+        private LocalDateTime expiresAt;
+
+        SearchDocument(DocumentType type, String id) {
+            this.type = type;
+            this.id = id;
+        }
+
+        void addTerms(int weight, String... values) {
+            for (String value : values) {
+                for (String term : tokenize(value)) {
+                    termWeights.merge(term, weight, Integer::sum);
+                }
+            }
+        }
+    }
+
+    /**
+     * Term → ascending posting list of internal document ids. Postings cost one int per
+     * (term, document) pair, so rare terms stay small. Replaced documents leave a
+     * tombstoned slot behind until the index is compacted.
+     */
+    private static final class InvertedIndex {
+        private final List<SearchDocument> documents = new ArrayList<>();
+        private final Map<DocumentType, Map<String, Integer>> docIds = new EnumMap<>(DocumentType.class);
+        private final TreeMap<String, PostingList> postings = new TreeMap<>();
+        private int liveCount;
+        private int tombstones;
+
+        void put(SearchDocument document) {
+            if (document.id == null) {
+                return;
+            }
+            remove(document.type, document.id);
+            int docId = documents.size();
+            documents.add(document);
+            docIds.computeIfAbsent(document.type, t -> new HashMap<>()).put(document.id, docId);
+            for (String term : document.termWeights.keySet()) {
+                // New documents always get the highest id, so appending keeps every list sorted
+                postings.computeIfAbsent(term, t -> new PostingList()).append(docId);
+            }
+            liveCount++;
+        }
+
+        void remove(DocumentType type, String id) {
+            Integer docId = docIds.getOrDefault(type, Map.of()).get(id);
+            if (docId == null) {
+                return;
+            }
+            SearchDocument previous = documents.set(docId, null);
+            docIds.get(type).remove(id);
+            for (String term : previous.termWeights.keySet()) {
+                PostingList list = postings.get(term);
+                list.remove(docId);
+                if (list.size == 0) {
+                    postings.remove(term);
+                }
+            }
+            liveCount--;
+            tombstones++;
+        }
+
+        boolean needsCompaction() {
+            return tombstones >= 1024 && tombstones >= liveCount / 4;
+        }
+
+        InvertedIndex compacted() {
+            InvertedIndex compacted = new InvertedIndex();
+            for (SearchDocument document : documents) {
+                if (document != null) {
+                    compacted.put(document);
+                }
+            }
+            return compacted;
+        }
+
+        SearchDocument document(int docId) {
+            return documents.get(docId);
+        }
+
+        int liveCount() {
+            return liveCount;
+        }
+
+        /**
+         * Ascending ids of documents containing every token; the last token may also match as a term prefix.
+         * Token lists are intersected with merge walks; all prefix expansions are merged into one union first.
+         */
+        int[] match(String[] tokens) {
+            int[] result = null;
+            for (int i = 0; i < tokens.length; i++) {
+                int[] tokenMatches;
+                if (i == tokens.length - 1 && tokens[i].length() >= MIN_PREFIX_LENGTH) {
+                    tokenMatches = PostingList.union(prefixRange(tokens[i]).values());
+                } else {
+                    PostingList list = postings.get(tokens[i]);
+                    tokenMatches = list != null ? Arrays.copyOf(list.values, list.size) : new int[0];
+                }
+                result = result == null ? tokenMatches
+                        : PostingList.intersect(result, result.length, tokenMatches, tokenMatches.length);
+                if (result.length == 0) {
+                    break;
+                }
+            }
+            return result != null ? result : new int[0];
+        }
+
+        /**
+         * Sum of term weights per token; prefix-only matches on the last token count half.
+         */
+        double score(SearchDocument document, String[] tokens) {
+            double score = 0;
+            for (int i = 0; i < tokens.length; i++) {
+                Integer exact = document.termWeights.get(tokens[i]);
+                if (exact != null) {
+                    score += exact;
+                } else if (i == tokens.length - 1 && tokens[i].length() >= MIN_PREFIX_LENGTH) {
+                    int best = 0;
+                    for (Map.Entry<String, Integer> term : document.termWeights.entrySet()) {
+                        if (term.getKey().startsWith(tokens[i])) {
+                            best = Math.max(best, term.getValue());
+                        }
+                    }
+                    score += best / 2.0;
+                }
+            }
+            return score;
+        }
+
+        private SortedMap<String, PostingList> prefixRange(String prefix) {
+            return postings.subMap(prefix, prefix + Character.MAX_VALUE);
+        }
+    }
+
+    /**
+     * Growable ascending int array of document ids.
+     */
+    private static final class PostingList {
+        private int[] values = new int[2];
+        private int size;
+
+        void append(int docId) {
+            if (size > 0 && values[size - 1] == docId) {
+                return;
+            }
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = docId;
+        }
+
+        void remove(int docId) {
+            int at = Arrays.binarySearch(values, 0, size, docId);
+            if (at >= 0) {
+                System.arraycopy(values, at + 1, values, at, size - at - 1);
+                size--;
+            }
+        }
+
+        static int[] intersect(int[] a, int aSize, int[] b, int bSize) {
+            int[] out = new int[Math.min(aSize, bSize)];
+            int i = 0;
+            int j = 0;
+            int n = 0;
+            while (i < aSize && j < bSize) {
+                if (a[i] < b[j]) {
+                    i++;
+                } else if (a[i] > b[j]) {
+                    j++;
+                } else {
+                    out[n++] = a[i];
+                    i++;
+                    j++;
+                }
+            }
+            return n == out.length ? out : Arrays.copyOf(out, n);
+        }
+
+        /**
+         * Ascending ids in any of the lists. Concatenates and sorts once, instead of merging
+         * pairwise, so it stays O(n log n) however many terms a prefix expands to.
+         */
+        static int[] union(Collection<PostingList> lists) {
+            int total = 0;
+            for (PostingList list : lists) {
+                total += list.size;
+            }
+            int[] out = new int[total];
+            int n = 0;
+            for (PostingList list : lists) {
+                System.arraycopy(list.values, 0, out, n, list.size);
+                n += list.size;
+            }
+            Arrays.sort(out);
+            int distinct = 0;
+            for (int i = 0; i < out.length; i++) {
+                if (distinct == 0 || out[i] != out[distinct - 1]) {
+                    out[distinct++] = out[i];
+                }
+            }
+            return distinct == out.length ? out : Arrays.copyOf(out, distinct);
+        }
+    }
+}
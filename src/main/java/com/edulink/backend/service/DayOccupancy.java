@@ -0,0 +1,100 @@
+package com.edulink.backend.service;
+
+import com.edulink.backend.model.entity.Appointment;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+/**
+ * Busy time of one participant on one day, one bit per 5-minute bucket.
+ *
+ * Appointments mark every bucket they touch, the same rounding {@link SlotReservationService}
+ * claims with, so a range reported free here is one a booking can actually reserve. Free/busy
+ * checks are a handful of word masks regardless of how many appointments the day has.
+ */
+final class DayOccupancy {
+
+    static final int BUCKET_MINUTES = SlotReservationService.SLOT_GRANULARITY_MINUTES;
+    static final int BUCKETS = 24 * 60 / BUCKET_MINUTES;
+
+    private final LocalDateTime dayStart;
+    private final long[] busy = new long[(BUCKETS + 63) / 64];
+    // Earliest-starting appointment covering each busy bucket
+    private final Appointment[] owners = new Appointment[BUCKETS];
+
+    private DayOccupancy(LocalDate date) {
+        this.dayStart = date.atStartOfDay();
+    }
+
+    /**
+     * Occupancy of a day from the given appointments. Only pending and confirmed appointments
+     * block time; the parts of appointments running into a neighbouring day are ignored.
+     */
+    static DayOccupancy of(LocalDate date, Collection<Appointment> appointments) {
+        DayOccupancy occupancy = new DayOccupancy(date);
+        for (Appointment appointment : appointments) {
+            if (appointment.getScheduledAt() != null && SlotReservationService.holdsSlot(appointment.getStatus())) {
+                occupancy.mark(appointment);
+            }
+        }
+        return occupancy;
+    }
+
+    private void mark(Appointment appointment) {
+        int from = Math.max(0, floorBucket(appointment.getScheduledAt()));
+        int to = Math.min(BUCKETS, ceilBucket(appointment.getEndTime()));
+        for (int bucket = from; bucket < to; bucket++) {
+            busy[bucket >>> 6] |= 1L << bucket;
+            Appointment owner = owners[bucket];
+            if (owner == null || appointment.getScheduledAt().isBefore(owner.getScheduledAt())) {
+                owners[bucket] = appointment;
+            }
+        }
+    }
+
+    boolean isFree(LocalDateTime start, LocalDateTime end) {
+        return firstBusyBucket(start, end) < 0;
+    }
+
+    /**
+     * The appointment occupying the earliest busy bucket of the range, or null when it is free.
+     */
+    Appointment conflictOf(LocalDateTime start, LocalDateTime end) {
+        int bucket = firstBusyBucket(start, end);
+        return bucket < 0 ? null : owners[bucket];
+    }
+
+    private int firstBusyBucket(LocalDateTime start, LocalDateTime end) {
+        int from = Math.max(0, floorBucket(start));
+        int to = Math.min(BUCKETS, ceilBucket(end));
+        if (from >= to) {
+            return -1;
+        }
+        int lastWord = (to - 1) >>> 6;
+        for (int word = from >>> 6; word <= lastWord; word++) {
+            long mask = -1L;
+            if (word == from >>> 6) {
+                mask &= -1L << from; // Shift distance is taken mod 64
+            }
+            if (word == lastWord) {
+                mask &= -1L >>> (63 - ((to - 1) & 63));
+            }
+            long hits = busy[word] & mask;
+            if (hits != 0) {
+                return (word << 6) + Long.numberOfTrailingZeros(hits);
+            }
+        }
+        return -1;
+    }
+
+    private int floorBucket(LocalDateTime time) {
+        return (int) Math.floorDiv(Duration.between(dayStart, time).toMinutes(), BUCKET_MINUTES);
+    }
+
+    private int ceilBucket(LocalDateTime time) {
+        long seconds = Duration.between(dayStart, time).toSeconds();
+        return (int) Math.floorDiv(seconds + BUCKET_MINUTES * 60L - 1, BUCKET_MINUTES * 60L);
+    }
+}
@@ -0,0 +1,16 @@
+package com.edulink.backend.service;
+
+/**
+ * Outgoing e-mail. The default implementation only logs; provide another bean to
+ * deliver through SMTP or a mail API.
+ */
+public interface EmailSender {
+
+    /**
+     * @param to       recipient address
+     * @param template template name from mail.templates
+     * @param subject  subject line
+     * @param body     plain-text body
+     */
+    void send(String to, String template, String subject, String body);
+}
@@ -0,0 +1,181 @@
+package com.edulink.backend.service;
+
+import com.edulink.backend.model.entity.JobLease;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.net.InetAddress;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Mongo-backed leases that let each scheduled job run on one node of the cluster at a time.
+ *
+ * A lease is taken with a single findAndModify that only matches an expired lease; a lease
+ * that is still held makes the upsert collide on _id instead, so at most one node wins.
+ * A node that dies mid-run loses its lease after lockAtMostFor and another node takes over
+ * on its next tick. On release the lease is kept for at least lockAtLeastFor, so nodes whose
+ * timers fire slightly later do not run the same tick again.
+ *
+ * Node clocks are assumed to be NTP-synchronized; skew eats into lockAtLeastFor.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class JobLeaseService {
+
+    private final MongoTemplate mongoTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${scheduling.node-id:}")
+    private String configuredNodeId;
+
+    private String nodeId;
+
+    /**
+     * Run the task if this node can take the job's lease, and release the lease afterwards.
+     *
+     * @param lockAtMostFor  how long the lease survives a node that never releases it
+     * @param lockAtLeastFor minimum time between the start of two runs anywhere in the cluster
+     * @return whether the task ran here
+     */
+    public boolean runExclusive(String job, Duration lockAtMostFor, Duration lockAtLeastFor, Consumer<Lease> task) {
+        Lease lease = acquire(job, lockAtMostFor);
+        if (lease == null) {
+            count(job, "skipped");
+            log.debug("Job {} is running on another node, skipping", job);
+            return false;
+        }
+
+        count(job, "acquired");
+        long started = System.nanoTime();
+        try {
+            task.accept(lease);
+        } finally {
+            Timer.builder("edulink.jobs.lease.held")
+                    .description("Time scheduled jobs held their cluster lease")
+                    .tag("job", job)
+                    .register(meterRegistry)
+                    .record(Duration.ofNanos(System.nanoTime() - started));
+            release(lease, lockAtLeastFor);
+        }
+        return true;
+    }
+
+    private Lease acquire(String job, Duration lockAtMostFor) {
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            JobLease acquired = mongoTemplate.findAndModify(
+                    new Query(Criteria.where("_id").is(job).and("expiresAt").lte(now)),
+                    new Update()
+                            .set("owner", nodeId())
+                            .set("acquiredAt", now)
+                            .set("expiresAt", now.plus(lockAtMostFor))
+                            .unset("releasedAt")
+                            .inc("fencingToken", 1),
+                    FindAndModifyOptions.options().upsert(true).returnNew(true),
+                    JobLease.class);
+            return acquired != null ? new Lease(job, acquired.getFencingToken(), now, lockAtMostFor) : null;
+        } catch (DuplicateKeyException e) {
+            return null; // Held by another node
+        }
+    }
+
+    private void release(Lease lease, Duration lockAtLeastFor) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime holdUntil = lease.acquiredAt.plus(lockAtLeastFor);
+        try {
+            long released = mongoTemplate.updateFirst(lease.ownQuery(),
+                    new Update()
+                            .set("expiresAt", holdUntil.isAfter(now) ? holdUntil : now)
+                            .set("releasedAt", now),
+                    JobLease.class).getMatchedCount();
+            if (released == 0) {
+                count(lease.job, "lost");
+                log.warn("Job {} outlived its lease (token {}); another node may have run it concurrently",
+                        lease.job, lease.fencingToken);
+            }
+        } catch (Exception e) {
+            // The lease expires on its own after lockAtMostFor
+            log.error("❌ Failed to release lease of job {}: {}", lease.job, e.getMessage());
+        }
+    }
+
+    private void count(String job, String outcome) {
+        Counter.builder("edulink.jobs.lease.attempts")
+                .description("Scheduled job lease attempts by outcome")
+                .tag("job", job)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private String nodeId() {
+        if (nodeId == null) {
+            String host;
+            try {
+                host = InetAddress.getLocalHost().getHostName();
+            } catch (Exception e) {
+                host = "unknown";
+            }
+            nodeId = configuredNodeId != null && !configuredNodeId.isBlank() ? configuredNodeId
+                    : host + ":" + ProcessHandle.current().pid() + ":" + UUID.randomUUID().toString().substring(0, 8);
+        }
+        return nodeId;
+    }
+
+    /**
+     * A lease held by this node. Jobs that write in batches (recurring expansion, reminders,
+     * auto-complete, auto-cancel) call {@link #renew()} before each one: it pushes the expiry
+     * out and returns false once the fencing token has been superseded, after which the job
+     * stops writing. Jobs that make a single write, such as the cleanup's one delete, rely on
+     * lockAtMostFor being well above their run time.
+     */
+    public class Lease {
+        private final String job;
+        private final long fencingToken;
+        private final LocalDateTime acquiredAt;
+        private final Duration lockAtMostFor;
+
+        private Lease(String job, long fencingToken, LocalDateTime acquiredAt, Duration lockAtMostFor) {
+            this.job = job;
+            this.fencingToken = fencingToken;
+            this.acquiredAt = acquiredAt;
+            this.lockAtMostFor = lockAtMostFor;
+        }
+
+        public long getFencingToken() {
+            return fencingToken;
+        }
+
+        public boolean renew() {
+            boolean held = mongoTemplate.updateFirst(ownQuery(),
+                    new Update().set("expiresAt", LocalDateTime.now().plus(lockAtMostFor)),
+                    JobLease.class).getMatchedCount() > 0;
+            if (!held) {
+                count(job, "lost");
+                log.warn("Job {} lost its lease (token {}), stopping", job, fencingToken);
+            }
+            return held;
+        }
+
+        private Query ownQuery() {
+            return new Query(Criteria.where("_id").is(job)
+                    .and("owner").is(nodeId())
+                    .and("fencingToken").is(fencingToken));
+        }
+    }
+}
@@ -0,0 +1,329 @@
+package com.edulink.backend.service;
+
+import com.edulink.backend.model.entity.Appointment;
+import com.edulink.backend.model.entity.LecturerAvailability;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * In-memory availability rules and upcoming bookings of every lecturer, for searching the
+ * earliest free slots across many lecturers at once.
+ *
+ * The index is loaded at startup, kept current from Mongo save/delete events by
+ * {@link LecturerSlotIndexListener} and by the bulk status transitions in
+ * {@link AppointmentService#transitionStatus}, and rebuilt periodically to pick up writes
+ * that bypass both and to drop finished appointments. A search walks one lazily generated,
+ * time-ordered free list per lecturer and k-way merges them, so it stops after the first
+ * {@code limit} slots instead of expanding every lecturer's whole window.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LecturerSlotIndex {
+
+    private final MongoTemplate mongoTemplate;
+
+    private final Object lock = new Object();
+    private State state = new State();
+    // Changes recorded while a rebuild is reading Mongo, replayed onto its result
+    private List<Consumer<State>> pendingDuringRebuild;
+
+    // =================== LIFECYCLE ===================
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    /**
+     * Reload active availability and the pending/confirmed appointments not yet over, then swap them in.
+     */
+    @Scheduled(fixedDelayString = "${appointment.slot-index.refresh-interval-ms:900000}",
+            initialDelayString = "${appointment.slot-index.refresh-interval-ms:900000}")
+    public void rebuild() {
+        synchronized (lock) {
+            if (pendingDuringRebuild != null) {
+                return; // Already running
+            }
+            pendingDuringRebuild = new ArrayList<>();
+        }
+
+        try {
+            long start = System.currentTimeMillis();
+            State fresh = new State();
+            mongoTemplate.find(new Query(Criteria.where("isActive").is(true)), LecturerAvailability.class)
+                    .forEach(fresh::putRule);
+
+            Query appointmentQuery = new Query(Criteria.where("status")
+                    .in(Appointment.AppointmentStatus.PENDING, Appointment.AppointmentStatus.CONFIRMED)
+                    .and("endAt").gt(LocalDateTime.now()));
+            appointmentQuery.fields().include("lecturerId", "status", "scheduledAt", "durationMinutes");
+            try (Stream<Appointment> appointments = mongoTemplate.stream(appointmentQuery, Appointment.class)) {
+                appointments.forEach(fresh::putAppointment);
+            }
+
+            synchronized (lock) {
+                pendingDuringRebuild.forEach(change -> change.accept(fresh));
+                state = fresh;
+            }
+            log.debug("Lecturer slot index rebuilt with {} availability rules and {} appointments in {} ms",
+                    fresh.rules.size(), fresh.appointments.size(), System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.error("❌ Error rebuilding lecturer slot index: {}", e.getMessage(), e);
+        } finally {
+            synchronized (lock) {
+                pendingDuringRebuild = null;
+            }
+        }
+    }
+
+    // =================== MAINTENANCE ===================
+
+    public void indexAvailability(LecturerAvailability availability) {
+        if (availability.getId() != null) {
+            mutate(current -> current.putRule(availability));
+        }
+    }
+
+    public void removeAvailability(String availabilityId) {
+        mutate(current -> current.removeRule(availabilityId));
+    }
+
+    public void indexAppointment(Appointment appointment) {
+        if (appointment.getId() != null) {
+            mutate(current -> current.putAppointment(appointment));
+        }
+    }
+
+    public void removeAppointment(String appointmentId) {
+        mutate(current -> current.removeAppointment(appointmentId));
+    }
+
+    private void mutate(Consumer<State> change) {
+        synchronized (lock) {
+            change.accept(state);
+            if (pendingDuringRebuild != null) {
+                pendingDuringRebuild.add(change);
+            }
+        }
+    }
+
+    // =================== QUERIES ===================
+
+    /**
+     * The earliest free slots of the given lecturers inside [from, to], in start order.
+     *
+     * @param type only availability allowing this appointment type, or any when null
+     */
+    public List<FreeSlot> findEarliest(Collection<String> lecturerIds, Appointment.AppointmentType type,
+                                       int durationMinutes, LocalDateTime from, LocalDateTime to, int limit) {
+        List<FreeSlotCursor> cursors = new ArrayList<>();
+        synchronized (lock) {
+            for (String lecturerId : lecturerIds) {
+                Map<String, LecturerAvailability> rules = state.rulesByLecturer.get(lecturerId);
+                if (rules == null) {
+                    continue;
+                }
+                List<LecturerAvailability> matching = rules.values().stream()
+                        .filter(rule -> type == null || rule.getAllowedType() == null || rule.getAllowedType() == type)
+                        .toList();
+                if (!matching.isEmpty()) {
+                    Map<String, Appointment> booked = state.appointmentsByLecturer.getOrDefault(lecturerId, Map.of());
+                    cursors.add(new FreeSlotCursor(lecturerId, matching, List.copyOf(booked.values()),
+                            durationMinutes, from, to));
+                }
+            }
+        }
+
+        PriorityQueue<FreeSlotCursor> queue = new PriorityQueue<>(Comparator
+                .comparing((FreeSlotCursor cursor) -> cursor.head().start())
+                .thenComparing(cursor -> cursor.lecturerId));
+        for (FreeSlotCursor cursor : cursors) {
+            if (cursor.head() != null) {
+                queue.add(cursor);
+            }
+        }
+
+        List<FreeSlot> slots = new ArrayList<>(limit);
+        while (slots.size() < limit && !queue.isEmpty()) {
+            FreeSlotCursor cursor = queue.poll();
+            slots.add(cursor.head());
+            if (cursor.advance()) {
+                queue.add(cursor);
+            }
+        }
+        return slots;
+    }
+
+    /**
+     * A free slot of one lecturer and the availability rule it was generated from.
+     */
+    public record FreeSlot(String lecturerId, LecturerAvailability availability,
+                           LocalDateTime start, LocalDateTime end) {
+    }
+
+    // =================== STATE ===================
+
+    private static class State {
+        final Map<String, LecturerAvailability> rules = new HashMap<>();
+        final Map<String, Map<String, LecturerAvailability>> rulesByLecturer = new HashMap<>();
+        // Pending/confirmed appointments only, projected to the fields that block time
+        final Map<String, Appointment> appointments = new HashMap<>();
+        final Map<String, Map<String, Appointment>> appointmentsByLecturer = new HashMap<>();
+
+        void putRule(LecturerAvailability rule) {
+            removeRule(rule.getId());
+            if (rule.isActive() && rule.getLecturerId() != null) {
+                rules.put(rule.getId(), rule);
+                rulesByLecturer.computeIfAbsent(rule.getLecturerId(), id -> new HashMap<>()).put(rule.getId(), rule);
+            }
+        }
+
+        void removeRule(String id) {
+            LecturerAvailability previous = rules.remove(id);
+            if (previous != null) {
+                removeFrom(rulesByLecturer, previous.getLecturerId(), id);
+            }
+        }
+
+        void putAppointment(Appointment appointment) {
+            removeAppointment(appointment.getId());
+            if (appointment.getLecturerId() != null && appointment.getScheduledAt() != null
+                    && SlotReservationService.holdsSlot(appointment.getStatus())) {
+                Appointment busy = Appointment.builder()
+                        .id(appointment.getId())
+                        .lecturerId(appointment.getLecturerId())
+                        .status(appointment.getStatus())
+                        .scheduledAt(appointment.getScheduledAt())
+                        .durationMinutes(appointment.getDurationMinutes())
+                        .build();
+                appointments.put(busy.getId(), busy);
+                appointmentsByLecturer.computeIfAbsent(busy.getLecturerId(), id -> new HashMap<>()).put(busy.getId(), busy);
+            }
+        }
+
+        void removeAppointment(String id) {
+            Appointment previous = appointments.remove(id);
+            if (previous != null) {
+                removeFrom(appointmentsByLecturer, previous.getLecturerId(), id);
+            }
+        }
+
+        private static <T> void removeFrom(Map<String, Map<String, T>> byLecturer, String lecturerId, String id) {
+            Map<String, T> entries = byLecturer.get(lecturerId);
+            if (entries != null) {
+                entries.remove(id);
+                if (entries.isEmpty()) {
+                    byLecturer.remove(lecturerId);
+                }
+            }
+        }
+    }
+
+    /**
+     * Free slots of one lecturer in start order, generated a day at a time as the merge consumes them.
+     */
+    private static final class FreeSlotCursor {
+        final String lecturerId;
+        private final List<LecturerAvailability> rules;
+        private final Map<LocalDate, List<Appointment>> appointmentsByDate = new HashMap<>();
+        private final int durationMinutes;
+        private final LocalDateTime from;
+        private final LocalDateTime to;
+
+        private LocalDate day;
+        private List<FreeSlot> daySlots = List.of();
+        private int position;
+
+        FreeSlotCursor(String lecturerId, List<LecturerAvailability> rules, List<Appointment> appointments,
+                       int durationMinutes, LocalDateTime from, LocalDateTime to) {
+            this.lecturerId = lecturerId;
+            this.rules = rules;
+            this.durationMinutes = durationMinutes;
+            this.from = from;
+            this.to = to;
+
+            // An appointment blocks every day it runs into
+            for (Appointment appointment : appointments) {
+                LocalDate lastDay = appointment.getEndTime().minusNanos(1).toLocalDate();
+                for (LocalDate date = appointment.getScheduledAt().toLocalDate(); !date.isAfter(lastDay); date = date.plusDays(1)) {
+                    appointmentsByDate.computeIfAbsent(date, key -> new ArrayList<>()).add(appointment);
+                }
+            }
+
+            this.day = from.toLocalDate().minusDays(1);
+            nextDay();
+        }
+
+        FreeSlot head() {
+            return position < daySlots.size() ? daySlots.get(position) : null;
+        }
+
+        boolean advance() {
+            position++;
+            if (position >= daySlots.size()) {
+                nextDay();
+            }
+            return head() != null;
+        }
+
+        private void nextDay() {
+            daySlots = List.of();
+            position = 0;
+            while (daySlots.isEmpty() && day.isBefore(to.toLocalDate())) {
+                day = day.plusDays(1);
+                daySlots = slotsOn(day);
+            }
+        }
+
+        private List<FreeSlot> slotsOn(LocalDate date) {
+            DayOccupancy occupancy = DayOccupancy.of(date, appointmentsByDate.getOrDefault(date, List.of()));
+            List<FreeSlot> slots = new ArrayList<>();
+            for (LecturerAvailability rule : rules) {
+                if (!rule.isActiveOn(date) || rule.getStartTime() == null || rule.getEndTime() == null) {
+                    continue;
+                }
+                // Starts follow the rule's own slot grid; the requested duration has to fit before its end
+                int step = rule.getSlotDurationMinutes() != null && rule.getSlotDurationMinutes() > 0
+                        ? rule.getSlotDurationMinutes() : durationMinutes;
+                int lastStart = rule.getEndTime().toSecondOfDay() / 60 - durationMinutes;
+                for (int minute = rule.getStartTime().toSecondOfDay() / 60; minute <= lastStart; minute += step) {
+                    LocalDateTime start = date.atTime(LocalTime.ofSecondOfDay(minute * 60L));
+                    LocalDateTime end = start.plusMinutes(durationMinutes);
+                    if (!start.isBefore(from) && !end.isAfter(to) && occupancy.isFree(start, end)) {
+                        slots.add(new FreeSlot(lecturerId, rule, start, end));
+                    }
+                }
+            }
+            slots.sort(Comparator.comparing(FreeSlot::start));
+            // Overlapping rules of the same lecturer produce the same start twice
+            List<FreeSlot> distinct = new ArrayList<>(slots.size());
+            for (FreeSlot slot : slots) {
+                if (distinct.isEmpty() || !distinct.get(distinct.size() - 1).start().equals(slot.start())) {
+                    distinct.add(slot);
+                }
+            }
+            return distinct;
+        }
+    }
+}
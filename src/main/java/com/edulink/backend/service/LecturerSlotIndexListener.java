@@ -0,0 +1,46 @@
+package com.edulink.backend.service;
+
+import com.edulink.backend.model.entity.Appointment;
+import com.edulink.backend.model.entity.LecturerAvailability;
+import com.edulink.backend.util.MongoEvents;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.stereotype.Component;
+
+/**
+ * Feeds availability and appointment saves and deletes into {@link LecturerSlotIndex}.
+ */
+@Component
+@RequiredArgsConstructor
+public class LecturerSlotIndexListener extends AbstractMongoEventListener<Object> {
+
+    private final LecturerSlotIndex lecturerSlotIndex;
+
+    @Override
+    public void onAfterSave(AfterSaveEvent<Object> event) {
+        if (event.getSource() instanceof LecturerAvailability availability) {
+            lecturerSlotIndex.indexAvailability(availability);
+        } else if (event.getSource() instanceof Appointment appointment) {
+            lecturerSlotIndex.indexAppointment(appointment);
+        }
+    }
+
+    @Override
+    public void onAfterDelete(AfterDeleteEvent<Object> event) {
+        Class<?> type = event.getType();
+        if (type != LecturerAvailability.class && type != Appointment.class) {
+            return;
+        }
+        MongoEvents.deletedIds(event).forEach(id -> remove(type, id));
+    }
+
+    private void remove(Class<?> type, String id) {
+        if (type == LecturerAvailability.class) {
+            lecturerSlotIndex.removeAvailability(id);
+        } else {
+            lecturerSlotIndex.removeAppointment(id);
+        }
+    }
+}
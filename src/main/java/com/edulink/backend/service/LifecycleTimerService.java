@@ -0,0 +1,335 @@
+package com.edulink.backend.service;
+
+import com.edulink.backend.model.entity.LifecycleTimer;
+import com.edulink.backend.model.entity.LifecycleTimer.TimerType;
+import com.mongodb.bulk.BulkWriteUpsert;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Persistent timers for time-based state changes (publishing, expiring, auto-completing,
+ * auto-closing), so they happen within seconds of their due time instead of on the next
+ * sweep of the owning collection.
+ *
+ * Every timer is a document in lifecycle_timers, indexed by dueAt. Timers due within the
+ * wheel's horizon (about an hour) are also held in an in-memory {@link TimingWheel} that
+ * ticks every second; further ones are picked up by {@link #refill()} as they come close.
+ * On startup the refill also recovers timers that fell due while no node was running.
+ *
+ * Firing claims the document first, so with several nodes holding the same timer only one
+ * runs the transition. Handlers must still tolerate running twice: a claim that is never
+ * completed expires and the timer fires again.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LifecycleTimerService {
+
+    private static final long TICK_MILLIS = 1000;
+    private static final int LEVELS = 2; // 64 one-second slots, then 64 slots of ~1 minute
+    private static final long CLAIM_MINUTES = 5;
+
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${spring.task.scheduling.enabled:true}")
+    private boolean firingEnabled;
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Map<TimerType, Consumer<String>> handlers = new EnumMap<>(TimerType.class);
+    private final TimingWheel wheel = new TimingWheel(TICK_MILLIS, LEVELS, System.currentTimeMillis());
+    // Due time of each wheel entry, to fire only the version of a timer the wheel was given
+    private final Map<String, LocalDateTime> wheelDueAt = new HashMap<>();
+    // Schedule and cancel calls collected on this thread inside batch(), written on the way out
+    private final ThreadLocal<Batch> batch = new ThreadLocal<>();
+    private final ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "lifecycle-timer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Register the transition run for a timer type. Called by the owning services on startup.
+     */
+    public void registerHandler(TimerType type, Consumer<String> handler) {
+        handlers.put(type, handler);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!firingEnabled) {
+            return;
+        }
+        refill();
+        ticker.scheduleAtFixedRate(this::tick, TICK_MILLIS, TICK_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        ticker.shutdownNow();
+    }
+
+    // =================== REGISTRATION ===================
+
+    /**
+     * Create or move the timer of a document.
+     */
+    public void schedule(TimerType type, String targetId, LocalDateTime dueAt) {
+        String id = LifecycleTimer.idOf(type, targetId);
+        LocalDateTime due = roundUp(dueAt);
+        Batch pending = batch.get();
+        if (pending != null) {
+            pending.cancels.remove(id);
+            pending.schedules.put(id, new PendingSchedule(type, targetId, due, false));
+            return;
+        }
+        mongoTemplate.upsert(new Query(Criteria.where("_id").is(id)), scheduleUpdate(type, targetId, due), LifecycleTimer.class);
+        hold(id, due);
+    }
+
+    /**
+     * Create the timer of a document unless it already has one. An existing timer is left
+     * untouched, including a claim another node holds while firing it. Always batched.
+     */
+    public void scheduleIfAbsent(TimerType type, String targetId, LocalDateTime dueAt) {
+        batch(() -> {
+            String id = LifecycleTimer.idOf(type, targetId);
+            Batch pending = batch.get();
+            if (!pending.schedules.containsKey(id)) {
+                pending.schedules.put(id, new PendingSchedule(type, targetId, roundUp(dueAt), true));
+            }
+        });
+    }
+
+    // Round up to Mongo's millisecond precision so the timer never fires before dueAt
+    private static LocalDateTime roundUp(LocalDateTime dueAt) {
+        LocalDateTime due = dueAt.truncatedTo(ChronoUnit.MILLIS);
+        return due.isBefore(dueAt) ? due.plus(1, ChronoUnit.MILLIS) : due;
+    }
+
+    public void cancel(TimerType type, String targetId) {
+        String id = LifecycleTimer.idOf(type, targetId);
+        Batch pending = batch.get();
+        if (pending != null) {
+            pending.schedules.remove(id);
+            pending.cancels.add(id);
+            return;
+        }
+        mongoTemplate.remove(new Query(Criteria.where("_id").is(id)), LifecycleTimer.class);
+        release(id);
+    }
+
+    /**
+     * Run the action with every {@link #schedule} and {@link #cancel} it makes on this thread
+     * (directly or from save listeners) written as one unordered bulk operation once it returns.
+     * Nested calls join the outermost batch.
+     */
+    public <T> T batch(Supplier<T> action) {
+        if (batch.get() != null) {
+            return action.get();
+        }
+        Batch pending = new Batch();
+        batch.set(pending);
+        T result;
+        try {
+            result = action.get();
+        } finally {
+            batch.remove();
+        }
+        flush(pending);
+        return result;
+    }
+
+    public void batch(Runnable action) {
+        batch(() -> {
+            action.run();
+            return null;
+        });
+    }
+
+    private void flush(Batch pending) {
+        if (pending.schedules.isEmpty() && pending.cancels.isEmpty()) {
+            return;
+        }
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, LifecycleTimer.class);
+        List<String> scheduled = new ArrayList<>(pending.schedules.keySet());
+        for (String id : scheduled) {
+            PendingSchedule schedule = pending.schedules.get(id);
+            Update update = scheduleUpdate(schedule.type(), schedule.targetId(), schedule.dueAt());
+            bulk.upsert(new Query(Criteria.where("_id").is(id)), schedule.ifAbsent() ? onInsertOnly(update) : update);
+        }
+        if (!pending.cancels.isEmpty()) {
+            bulk.remove(new Query(Criteria.where("_id").in(pending.cancels)));
+        }
+        Set<Integer> inserted = bulk.execute().getUpserts().stream()
+                .map(BulkWriteUpsert::getIndex)
+                .collect(Collectors.toSet());
+
+        for (int i = 0; i < scheduled.size(); i++) {
+            PendingSchedule schedule = pending.schedules.get(scheduled.get(i));
+            // An existing timer kept by scheduleIfAbsent is already held, or brought in by the refill
+            if (!schedule.ifAbsent() || inserted.contains(i)) {
+                hold(scheduled.get(i), schedule.dueAt());
+            }
+        }
+        pending.cancels.forEach(this::release);
+    }
+
+    private static Update scheduleUpdate(TimerType type, String targetId, LocalDateTime dueAt) {
+        return new Update()
+                .set("type", type)
+                .set("targetId", targetId)
+                .set("dueAt", dueAt)
+                .unset("claimedBy")
+                .unset("claimedUntil");
+    }
+
+    private void release(String id) {
+        synchronized (wheel) {
+            wheel.cancel(id);
+            wheelDueAt.remove(id);
+        }
+    }
+
+    private static Update onInsertOnly(Update update) {
+        Update onInsert = new Update();
+        update.getUpdateObject().get("$set", Document.class).forEach(onInsert::setOnInsert);
+        return onInsert;
+    }
+
+    private record PendingSchedule(TimerType type, String targetId, LocalDateTime dueAt, boolean ifAbsent) {
+    }
+
+    private static class Batch {
+        final Map<String, PendingSchedule> schedules = new LinkedHashMap<>();
+        final Set<String> cancels = new LinkedHashSet<>();
+    }
+
+    private void hold(String id, LocalDateTime dueAt) {
+        if (!firingEnabled) {
+            return; // Another node fires it
+        }
+        synchronized (wheel) {
+            if (wheel.add(id, toMillis(dueAt))) {
+                wheelDueAt.put(id, dueAt);
+            } else {
+                wheel.cancel(id); // Beyond the horizon: the refill brings it back in time
+                wheelDueAt.remove(id);
+            }
+        }
+    }
+
+    // =================== FIRING ===================
+
+    /**
+     * Load timers coming due within the wheel's horizon, including overdue ones whose claim
+     * has lapsed. Runs on startup and at a fraction of the horizon so none is missed.
+     */
+    @Scheduled(fixedDelayString = "${lifecycle-timers.refill-interval-ms:600000}",
+            initialDelayString = "${lifecycle-timers.refill-interval-ms:600000}")
+    public void refill() {
+        if (!firingEnabled) {
+            return;
+        }
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            LocalDateTime until = now.plus(wheel.horizonMillis() / 2, ChronoUnit.MILLIS);
+            Query query = new Query(Criteria.where("dueAt").lte(until)
+                    .orOperator(Criteria.where("claimedUntil").is(null), Criteria.where("claimedUntil").lt(now)))
+                    .with(Sort.by(Sort.Direction.ASC, "dueAt"));
+            int loaded = 0;
+            try (Stream<LifecycleTimer> timers = mongoTemplate.stream(query, LifecycleTimer.class)) {
+                for (LifecycleTimer timer : (Iterable<LifecycleTimer>) timers::iterator) {
+                    hold(timer.getId(), timer.getDueAt());
+                    loaded++;
+                }
+            }
+            log.debug("Loaded {} lifecycle timers due before {}", loaded, until);
+        } catch (Exception e) {
+            log.error("❌ Error loading lifecycle timers: {}", e.getMessage(), e);
+        }
+    }
+
+    private void tick() {
+        List<String> due;
+        Map<String, LocalDateTime> dueAt = new HashMap<>();
+        synchronized (wheel) {
+            due = wheel.advance(System.currentTimeMillis());
+            due.forEach(id -> dueAt.put(id, wheelDueAt.remove(id)));
+        }
+        for (String id : due) {
+            try {
+                fire(id, dueAt.get(id));
+            } catch (Exception e) {
+                // Left claimed; fires again once the claim lapses
+                log.error("❌ Error firing lifecycle timer {}: {}", id, e.getMessage(), e);
+            }
+        }
+    }
+
+    private void fire(String id, LocalDateTime dueAt) {
+        if (dueAt == null) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        // Only the version of the timer the wheel was given, and only if nobody is running it
+        LifecycleTimer timer = mongoTemplate.findAndModify(
+                new Query(Criteria.where("_id").is(id).and("dueAt").is(dueAt)
+                        .orOperator(Criteria.where("claimedUntil").is(null), Criteria.where("claimedUntil").lt(now))),
+                new Update().set("claimedBy", nodeId).set("claimedUntil", now.plusMinutes(CLAIM_MINUTES)),
+                FindAndModifyOptions.options().returnNew(true),
+                LifecycleTimer.class);
+        if (timer == null) {
+            return; // Cancelled, moved, or fired by another node
+        }
+
+        Consumer<String> handler = handlers.get(timer.getType());
+        if (handler == null) {
+            log.warn("No handler for lifecycle timer {}, leaving it for another node", id);
+            return;
+        }
+        handler.accept(timer.getTargetId());
+
+        // Kept if the handler moved the timer meanwhile
+        mongoTemplate.remove(new Query(Criteria.where("_id").is(id)
+                .and("claimedBy").is(nodeId)
+                .and("dueAt").is(dueAt)), LifecycleTimer.class);
+    }
+
+    private static long toMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,15 @@
+package com.edulink.backend.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * {@link EmailSender} that writes messages to the log instead of sending them.
+ */
+@Slf4j
+public class LoggingEmailSender implements EmailSender {
+
+    @Override
+    public void send(String to, String template, String subject, String body) {
+        log.info("📧 [{}] To: {} | Subject: {} | {}", template, to, subject, body);
+    }
+}
@@ -1,18 +1,31 @@
 // File Path: src/main/java/com/edulink/backend/service/QueryService.java
 package com.edulink.backend.service;
 
+import com.edulink.backend.dto.request.BulkQueryUpdateRequest;
 import com.edulink.backend.dto.request.QueryRequest;
 import com.edulink.backend.dto.request.QueryMessageRequest;
 import com.edulink.backend.dto.request.QueryStatusUpdateRequest;
+import com.edulink.backend.dto.response.BulkQueryUpdateResponse;
+import com.edulink.backend.dto.response.QueryMessagePageResponse;
+import com.edulink.backend.dto.response.QueryMessageResponse;
 import com.edulink.backend.dto.response.QueryResponse;
 import com.edulink.backend.dto.response.QueryStatsResponse;
+import com.edulink.backend.model.entity.LifecycleTimer;
 import com.edulink.backend.model.entity.Query;
 import com.edulink.backend.model.entity.Query.*;
+import com.edulink.backend.model.entity.QueryMessage;
+import com.edulink.backend.model.entity.QueryStatusChange;
 import com.edulink.backend.model.entity.User;
+import com.edulink.backend.repository.QueryMessageRepository;
 import com.edulink.backend.repository.QueryRepository;
+import com.edulink.backend.repository.QueryRepositoryCustom;
+import com.edulink.backend.repository.QueryStatusChangeRepository;
 import com.edulink.backend.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -21,8 +34,15 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -30,8 +50,37 @@ import java.util.stream.Collectors;
 @Slf4j
 public class QueryService {
 
+    private static final int THREAD_PAGE_SIZE = 50;
+    private static final int MAX_THREAD_PAGE_SIZE = 100;
+    // Cursor before a thread's first message; migrated messages have seqs up to 0
+    private static final int THREAD_START = Integer.MIN_VALUE;
+
     private final QueryRepository queryRepository;
+    private final QueryMessageRepository queryMessageRepository;
+    private final QueryStatusChangeRepository queryStatusChangeRepository;
     private final UserRepository userRepository;
+    private final LifecycleTimerService lifecycleTimerService;
+    private final QueryStatsCache queryStatsCache;
+
+    @PostConstruct
+    void registerTimerHandlers() {
+        lifecycleTimerService.registerHandler(LifecycleTimer.TimerType.QUERY_AUTO_CLOSE, this::closeIfDue);
+    }
+
+    /**
+     * Arm timers for queries resolved before auto-close was acted on, in one bulk write.
+     * Existing timers are left alone, so a timer another node is firing is not un-claimed.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void armPendingAutoCloses() {
+        try {
+            lifecycleTimerService.batch(() -> queryRepository.findPendingAutoClose().forEach(query ->
+                    lifecycleTimerService.scheduleIfAbsent(LifecycleTimer.TimerType.QUERY_AUTO_CLOSE,
+                            query.getId(), query.getAutoCloseAt())));
+        } catch (Exception e) {
+            log.error("❌ Failed to arm query auto-close timers: {}", e.getMessage(), e);
+        }
+    }
 
     /**
      * Create a new query (student only)
@@ -74,18 +123,15 @@ public class QueryService {
                 request.getCourse()
         );
         
-        // Add initial message from student
-        String studentName = getFullName(student);
-        QueryMessage initialMessage = new QueryMessage(
-                studentId,
-                "STUDENT",
-                studentName,
-                request.getDescription()
-        );
-        query.addMessage(initialMessage);
+        // The description doubles as the first message of the thread
+        query.setMessageCount(1);
         
         // Save query
         Query savedQuery = queryRepository.save(query);
+        invalidateStats(savedQuery);
+        recordStatusChange(savedQuery.getId(), QueryStatus.PENDING, "System", "Query submitted");
+        queryMessageRepository.insert(newMessage(savedQuery.getId(), 1, studentId, "STUDENT",
+                getFullName(student), request.getDescription()));
         
         log.info("Query created successfully with ID: {}", savedQuery.getId());
         
@@ -112,14 +158,16 @@ public class QueryService {
         
         // Mark as read by the requesting user
         if (query.getStudentId().equals(userId) && !query.isReadByStudent()) {
+            queryRepository.markRead(queryId, true);
             query.setReadByStudent(true);
-            queryRepository.save(query);
+            invalidateStats(query);
         } else if (query.getLecturerId().equals(userId) && !query.isReadByLecturer()) {
+            queryRepository.markRead(queryId, false);
             query.setReadByLecturer(true);
-            queryRepository.save(query);
+            invalidateStats(query);
         }
         
-        return QueryResponse.fromQueryDetailed(query, student, lecturer);
+        return toDetailedResponse(query, student, lecturer);
     }
 
     /**
@@ -148,15 +196,7 @@ public class QueryService {
                     studentId, filters.getSearchTerm());
         }
         
-        // Get users for response
-        User student = userRepository.findById(studentId).orElse(null);
-        
-        return queries.stream()
-                .map(query -> {
-                    User lecturer = userRepository.findById(query.getLecturerId()).orElse(null);
-                    return QueryResponse.fromQuery(query, student, lecturer);
-                })
-                .collect(Collectors.toList());
+        return toSummaries(queries);
     }
 
     /**
@@ -208,15 +248,7 @@ public class QueryService {
                 })
                 .collect(Collectors.toList());
         
-        // Get lecturer info
-        User lecturer = userRepository.findById(lecturerId).orElse(null);
-        
-        return queries.stream()
-                .map(query -> {
-                    User student = userRepository.findById(query.getStudentId()).orElse(null);
-                    return QueryResponse.fromQuery(query, student, lecturer);
-                })
-                .collect(Collectors.toList());
+        return toSummaries(queries);
     }
 
     /**
@@ -246,30 +278,31 @@ public class QueryService {
         String senderType = user.getId().equals(query.getStudentId()) ? "STUDENT" : "LECTURER";
         String senderName = getFullName(user);
         
-        // Create message
-        QueryMessage message = new QueryMessage(userId, senderType, senderName, request.getContent());
-        query.addMessage(message);
-        
-        // Update status if lecturer is responding
-        if (senderType.equals("LECTURER") && query.getStatus() == QueryStatus.PENDING) {
-            query.addStatusHistory(QueryStatus.IN_PROGRESS, senderName, "Lecturer responded");
+        // Count the message (resetting read status for the other party) and take its place in the thread
+        Query savedQuery = queryRepository.recordMessage(queryId, senderType.equals("STUDENT"));
+        if (savedQuery == null) {
+            throw new RuntimeException("Cannot add messages to a closed query");
         }
+        invalidateStats(savedQuery);
+        QueryMessage message = queryMessageRepository.insert(newMessage(queryId, savedQuery.getMessageCount(),
+                userId, senderType, senderName, request.getContent()));
         
-        // Reset read status for the other party
-        if (senderType.equals("STUDENT")) {
-            query.setReadByLecturer(false);
-        } else {
-            query.setReadByStudent(false);
+        // Update status if lecturer is responding
+        if (senderType.equals("LECTURER") && savedQuery.getStatus() == QueryStatus.PENDING) {
+            Query inProgress = queryRepository.updateStatus(queryId, QueryStatus.PENDING, QueryStatus.IN_PROGRESS, null, false);
+            if (inProgress != null) {
+                recordStatusChange(queryId, QueryStatus.IN_PROGRESS, senderName, "Lecturer responded");
+                savedQuery = inProgress;
+            }
         }
         
-        // Save query
-        Query savedQuery = queryRepository.save(query);
-        
         // Get user details for response
         User student = userRepository.findById(query.getStudentId()).orElse(null);
         User lecturer = userRepository.findById(query.getLecturerId()).orElse(null);
         
-        return QueryResponse.fromQueryDetailed(savedQuery, student, lecturer);
+        // Only the new message is returned; the rest of the thread is paged from GET /{id}/messages
+        return QueryResponse.fromQueryDetailed(savedQuery, student, lecturer, List.of(message), null,
+                queryStatusChangeRepository.findByQueryIdOrderByTimestampAsc(queryId));
     }
 
     /**
@@ -293,24 +326,176 @@ public class QueryService {
         
         String lecturerName = getFullName(lecturer);
         
-        // Update status
-        query.addStatusHistory(request.getStatus(), lecturerName, request.getNote());
+        // Set auto-close for resolved queries; reopened or closed by hand clears it
+        LocalDateTime autoCloseAt = request.getStatus() == QueryStatus.RESOLVED
+                ? LocalDateTime.now().plusDays(7) // Auto-close after 7 days
+                : null;
         
-        // Set auto-close for resolved queries
-        if (request.getStatus() == QueryStatus.RESOLVED) {
-            query.setAutoCloseAt(LocalDateTime.now().plusDays(7)); // Auto-close after 7 days
+        // Update status and reset read status for student
+        Query savedQuery = queryRepository.updateStatus(queryId, null, request.getStatus(), autoCloseAt, true);
+        if (savedQuery == null) {
+            throw new RuntimeException("Query not found");
+        }
+        invalidateStats(savedQuery);
+        recordStatusChange(queryId, request.getStatus(), lecturerName, request.getNote());
+        if (savedQuery.getAutoCloseAt() != null) {
+            lifecycleTimerService.schedule(LifecycleTimer.TimerType.QUERY_AUTO_CLOSE, savedQuery.getId(), savedQuery.getAutoCloseAt());
+        } else {
+            lifecycleTimerService.cancel(LifecycleTimer.TimerType.QUERY_AUTO_CLOSE, savedQuery.getId());
         }
-        
-        // Reset read status for student
-        query.setReadByStudent(false);
-        
-        // Save query
-        Query savedQuery = queryRepository.save(query);
         
         // Get user details for response
         User student = userRepository.findById(query.getStudentId()).orElse(null);
         
-        return QueryResponse.fromQueryDetailed(savedQuery, student, lecturer);
+        return toDetailedResponse(savedQuery, student, lecturer);
+    }
+
+    /**
+     * Update status and/or priority of many queries at once (lecturer only).
+     * All updates go out as one bulkWrite and the status history of every changed query is
+     * appended with one insert; each requested query gets its own outcome.
+     */
+    public BulkQueryUpdateResponse updateQueriesInBulk(String lecturerId, BulkQueryUpdateRequest request) {
+        if (request.getStatus() == null && request.getPriority() == null) {
+            throw new IllegalArgumentException("Status or priority is required");
+        }
+        log.info("Bulk updating {} queries by lecturer: {}", request.getQueryIds().size(), lecturerId);
+        
+        User lecturer = userRepository.findById(lecturerId)
+                .orElseThrow(() -> new RuntimeException("Lecturer not found"));
+        String lecturerName = getFullName(lecturer);
+        
+        Map<String, Query> queries = queryRepository.findAllById(new HashSet<>(request.getQueryIds())).stream()
+                .collect(Collectors.toMap(Query::getId, Function.identity()));
+        
+        // Reject what can be decided up front; the rest is written in one bulkWrite
+        List<String> queryIds = request.getQueryIds();
+        String[] errors = new String[queryIds.size()];
+        Map<String, QueryStatus> expectedStatusById = new LinkedHashMap<>();
+        for (int i = 0; i < queryIds.size(); i++) {
+            String queryId = queryIds.get(i);
+            Query query = queryId != null ? queries.get(queryId) : null;
+            if (query == null) {
+                errors[i] = "Query not found";
+            } else if (!lecturerId.equals(query.getLecturerId())) {
+                errors[i] = "Only the assigned lecturer can update this query";
+            } else if (expectedStatusById.containsKey(queryId)) {
+                errors[i] = "Duplicate query in request";
+            } else {
+                expectedStatusById.put(queryId, query.getStatus());
+            }
+        }
+        
+        LocalDateTime autoCloseAt = request.getStatus() == QueryStatus.RESOLVED
+                ? LocalDateTime.now().plusDays(7) // Auto-close after 7 days
+                : null;
+        Set<String> applied = new HashSet<>(queryRepository.updateInBulk(
+                lecturerId, expectedStatusById, request.getStatus(), autoCloseAt, request.getPriority()));
+        
+        List<BulkQueryUpdateResponse.Item> items = new ArrayList<>(queryIds.size());
+        List<QueryStatusChange> statusChanges = new ArrayList<>();
+        List<String> retimed = new ArrayList<>();
+        for (int i = 0; i < queryIds.size(); i++) {
+            String queryId = queryIds.get(i);
+            if (errors[i] == null && !applied.contains(queryId)) {
+                errors[i] = "Query was changed by another request; reload and retry";
+            }
+            if (errors[i] != null) {
+                items.add(BulkQueryUpdateResponse.Item.builder().index(i).queryId(queryId).success(false).error(errors[i]).build());
+                continue;
+            }
+            
+            Query query = queries.get(queryId);
+            QueryStatus status = request.getStatus() != null ? request.getStatus() : query.getStatus();
+            QueryPriority priority = request.getPriority() != null ? request.getPriority() : query.getPriority();
+            items.add(BulkQueryUpdateResponse.Item.builder()
+                    .index(i)
+                    .queryId(queryId)
+                    .success(true)
+                    .status(status != null ? status.name() : null)
+                    .priority(priority != null ? priority.name() : null)
+                    .build());
+            invalidateStats(query);
+            
+            if (request.getStatus() != null) {
+                statusChanges.add(QueryStatusChange.builder()
+                        .queryId(queryId)
+                        .status(request.getStatus())
+                        .timestamp(LocalDateTime.now())
+                        .changedBy(lecturerName)
+                        .changedByName(lecturerName)
+                        .note(request.getNote())
+                        .build());
+                retimed.add(queryId);
+            }
+        }
+        if (!statusChanges.isEmpty()) {
+            queryStatusChangeRepository.insert(statusChanges);
+        }
+        // One bulk write for the auto-close timers of every updated query
+        lifecycleTimerService.batch(() -> retimed.forEach(queryId -> {
+            if (autoCloseAt != null) {
+                lifecycleTimerService.schedule(LifecycleTimer.TimerType.QUERY_AUTO_CLOSE, queryId, autoCloseAt);
+            } else {
+                lifecycleTimerService.cancel(LifecycleTimer.TimerType.QUERY_AUTO_CLOSE, queryId);
+            }
+        }));
+        
+        int succeeded = (int) items.stream().filter(BulkQueryUpdateResponse.Item::isSuccess).count();
+        return BulkQueryUpdateResponse.builder()
+                .succeeded(succeeded)
+                .failed(items.size() - succeeded)
+                .items(items)
+                .build();
+    }
+
+    /**
+     * Close a resolved query once its auto-close time has passed (lifecycle timer handler)
+     */
+    private void closeIfDue(String queryId) {
+        Query closed = queryRepository.closeIfDue(queryId, LocalDateTime.now());
+        if (closed != null) {
+            invalidateStats(closed);
+            recordStatusChange(queryId, QueryStatus.CLOSED, "System", "Auto-closed 7 days after being resolved");
+            log.info("Auto-closed query {}", queryId);
+        }
+    }
+
+    /**
+     * Get a page of a query's thread, oldest first, after the cursor of the previous page
+     */
+    public QueryMessagePageResponse getQueryMessages(String queryId, String userId, String cursor, int limit) {
+        Query query = queryRepository.findById(queryId)
+                .orElseThrow(() -> new RuntimeException("Query not found"));
+        
+        if (!query.getStudentId().equals(userId) && !query.getLecturerId().equals(userId)) {
+            throw new RuntimeException("Access denied to this query");
+        }
+        
+        int afterSeq = THREAD_START;
+        if (cursor != null && !cursor.isBlank()) {
+            try {
+                afterSeq = Integer.parseInt(cursor);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+        }
+        int pageSize = Math.min(Math.max(limit, 1), MAX_THREAD_PAGE_SIZE);
+        
+        // Fetch one extra message to learn whether another page exists
+        List<QueryMessage> messages = queryMessageRepository.findByQueryIdAndSeqGreaterThanOrderBySeqAsc(
+                queryId, afterSeq, PageRequest.of(0, pageSize + 1));
+        boolean hasMore = messages.size() > pageSize;
+        if (hasMore) {
+            messages = messages.subList(0, pageSize);
+        }
+        
+        return QueryMessagePageResponse.builder()
+                .messages(messages.stream().map(QueryMessageResponse::fromQueryMessage).collect(Collectors.toList()))
+                .nextCursor(hasMore ? String.valueOf(messages.get(messages.size() - 1).getSeq()) : null)
+                .hasMore(hasMore)
+                .totalMessages(query.getMessageCount())
+                .build();
     }
 
     /**
@@ -319,19 +504,19 @@ public class QueryService {
     public QueryStatsResponse getQueryStatsForLecturer(String lecturerId) {
         log.info("Getting query statistics for lecturer: {}", lecturerId);
         
-        LocalDateTime weekAgo = LocalDateTime.now().minusWeeks(1);
-        LocalDateTime monthAgo = LocalDateTime.now().minusMonths(1);
-        
-        return QueryStatsResponse.builder()
-                .totalQueries(queryRepository.countByLecturerId(lecturerId))
-                .pendingQueries(queryRepository.countByLecturerIdAndStatus(lecturerId, QueryStatus.PENDING))
-                .inProgressQueries(queryRepository.countByLecturerIdAndStatus(lecturerId, QueryStatus.IN_PROGRESS))
-                .resolvedQueries(queryRepository.countByLecturerIdAndStatus(lecturerId, QueryStatus.RESOLVED))
-                .unreadQueries(queryRepository.countByLecturerIdAndReadByLecturerFalse(lecturerId))
-                .highPriorityQueries(queryRepository.countByLecturerIdAndPriority(lecturerId, QueryPriority.HIGH))
-                .queriesThisWeek(queryRepository.findByLecturerIdAndSubmittedAtAfterOrderBySubmittedAtDesc(lecturerId, weekAgo).size())
-                .queriesThisMonth(queryRepository.findByLecturerIdAndSubmittedAtAfterOrderBySubmittedAtDesc(lecturerId, monthAgo).size())
-                .build();
+        return queryStatsCache.get(lecturerId, () -> {
+            QueryRepositoryCustom.ParticipantCounts counts = countForParticipant(lecturerId, true);
+            return QueryStatsResponse.builder()
+                    .totalQueries(counts.total())
+                    .pendingQueries(counts.byStatus().getOrDefault(QueryStatus.PENDING, 0L))
+                    .inProgressQueries(counts.byStatus().getOrDefault(QueryStatus.IN_PROGRESS, 0L))
+                    .resolvedQueries(counts.byStatus().getOrDefault(QueryStatus.RESOLVED, 0L))
+                    .unreadQueries(counts.unread())
+                    .highPriorityQueries(counts.highPriority())
+                    .queriesThisWeek((int) counts.submittedSinceWeekAgo())
+                    .queriesThisMonth((int) counts.submittedSinceMonthAgo())
+                    .build();
+        });
     }
 
     /**
@@ -340,18 +525,23 @@ public class QueryService {
     public QueryStatsResponse getQueryStatsForStudent(String studentId) {
         log.info("Getting query statistics for student: {}", studentId);
         
-        LocalDateTime weekAgo = LocalDateTime.now().minusWeeks(1);
-        LocalDateTime monthAgo = LocalDateTime.now().minusMonths(1);
-        
-        return QueryStatsResponse.builder()
-                .totalQueries(queryRepository.countByStudentId(studentId))
-                .pendingQueries(queryRepository.countByStudentIdAndStatus(studentId, QueryStatus.PENDING))
-                .inProgressQueries(queryRepository.countByStudentIdAndStatus(studentId, QueryStatus.IN_PROGRESS))
-                .resolvedQueries(queryRepository.countByStudentIdAndStatus(studentId, QueryStatus.RESOLVED))
-                .unreadQueries(queryRepository.countByStudentIdAndReadByStudentFalse(studentId))
-                .queriesThisWeek(queryRepository.findByStudentIdAndSubmittedAtAfterOrderBySubmittedAtDesc(studentId, weekAgo).size())
-                .queriesThisMonth(queryRepository.findByStudentIdAndSubmittedAtAfterOrderBySubmittedAtDesc(studentId, monthAgo).size())
-                .build();
+        return queryStatsCache.get(studentId, () -> {
+            QueryRepositoryCustom.ParticipantCounts counts = countForParticipant(studentId, false);
+            return QueryStatsResponse.builder()
+                    .totalQueries(counts.total())
+                    .pendingQueries(counts.byStatus().getOrDefault(QueryStatus.PENDING, 0L))
+                    .inProgressQueries(counts.byStatus().getOrDefault(QueryStatus.IN_PROGRESS, 0L))
+                    .resolvedQueries(counts.byStatus().getOrDefault(QueryStatus.RESOLVED, 0L))
+                    .unreadQueries(counts.unread())
+                    .queriesThisWeek((int) counts.submittedSinceWeekAgo())
+                    .queriesThisMonth((int) counts.submittedSinceMonthAgo())
+                    .build();
+        });
+    }
+
+    private QueryRepositoryCustom.ParticipantCounts countForParticipant(String userId, boolean lecturer) {
+        LocalDateTime now = LocalDateTime.now();
+        return queryRepository.countForParticipant(userId, lecturer, now.minusWeeks(1), now.minusMonths(1));
     }
 
     /**
@@ -365,14 +555,13 @@ public class QueryService {
                 .orElseThrow(() -> new RuntimeException("Query not found"));
         
         if (query.getStudentId().equals(userId)) {
-            query.setReadByStudent(true);
+            queryRepository.markRead(queryId, true);
         } else if (query.getLecturerId().equals(userId)) {
-            query.setReadByLecturer(true);
+            queryRepository.markRead(queryId, false);
         } else {
             throw new RuntimeException("Access denied to this query");
         }
-        
-        queryRepository.save(query);
+        invalidateStats(query);
     }
 
     /**
@@ -382,11 +571,11 @@ public class QueryService {
     public void markAllQueriesAsReadForLecturer(String lecturerId) {
         log.info("Marking all queries as read for lecturer: {}", lecturerId);
         
-        List<Query> unreadQueries = queryRepository.findByLecturerIdAndReadByLecturerFalseOrderBySubmittedAtDesc(lecturerId);
-        
-        unreadQueries.forEach(query -> query.setReadByLecturer(true));
+        long marked = queryRepository.markAllReadForLecturer(lecturerId);
         
-        queryRepository.saveAll(unreadQueries);
+        // Only the lecturer's read flags changed, so students' stats are unaffected
+        queryStatsCache.invalidate(lecturerId);
+        log.info("Marked {} queries as read for lecturer: {}", marked, lecturerId);
     }
 
     /**
@@ -405,9 +594,80 @@ public class QueryService {
         
         // For now, we'll actually delete. In production, consider soft delete
         queryRepository.delete(query);
+        invalidateStats(query);
+        queryMessageRepository.deleteByQueryId(queryId);
+        queryStatusChangeRepository.deleteByQueryId(queryId);
+        lifecycleTimerService.cancel(LifecycleTimer.TimerType.QUERY_AUTO_CLOSE, queryId);
     }
 
     // Helper methods
+
+    /**
+     * Summary responses for a list, resolving every distinct participant with one projected lookup
+     */
+    private List<QueryResponse> toSummaries(List<Query> queries) {
+        if (queries.isEmpty()) {
+            return List.of();
+        }
+        
+        Set<String> userIds = new HashSet<>();
+        for (Query query : queries) {
+            userIds.add(query.getStudentId());
+            userIds.add(query.getLecturerId());
+        }
+        userIds.remove(null);
+        
+        Map<String, User> users = userRepository.findQueryParticipantsByIdIn(userIds).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        
+        return queries.stream()
+                .map(query -> QueryResponse.fromQuery(query,
+                        query.getStudentId() != null ? users.get(query.getStudentId()) : null,
+                        query.getLecturerId() != null ? users.get(query.getLecturerId()) : null))
+                .collect(Collectors.toList());
+    }
+
+    private QueryResponse toDetailedResponse(Query query, User student, User lecturer) {
+        List<QueryMessage> messages = queryMessageRepository.findByQueryIdAndSeqGreaterThanOrderBySeqAsc(
+                query.getId(), THREAD_START, PageRequest.of(0, THREAD_PAGE_SIZE + 1));
+        String nextCursor = null;
+        if (messages.size() > THREAD_PAGE_SIZE) {
+            messages = messages.subList(0, THREAD_PAGE_SIZE);
+            nextCursor = String.valueOf(messages.get(THREAD_PAGE_SIZE - 1).getSeq());
+        }
+        return QueryResponse.fromQueryDetailed(query, student, lecturer, messages, nextCursor,
+                queryStatusChangeRepository.findByQueryIdOrderByTimestampAsc(query.getId()));
+    }
+
+    private void invalidateStats(Query query) {
+        queryStatsCache.invalidate(query.getStudentId(), query.getLecturerId());
+    }
+
+    private QueryMessage newMessage(String queryId, int seq, String sender, String senderType,
+                                    String senderName, String content) {
+        return QueryMessage.builder()
+                .id(UUID.randomUUID().toString())
+                .queryId(queryId)
+                .seq(seq)
+                .sender(sender)
+                .senderType(senderType)
+                .senderName(senderName)
+                .content(content)
+                .timestamp(LocalDateTime.now())
+                .build();
+    }
+
+    private void recordStatusChange(String queryId, QueryStatus status, String changedBy, String note) {
+        queryStatusChangeRepository.insert(QueryStatusChange.builder()
+                .queryId(queryId)
+                .status(status)
+                .timestamp(LocalDateTime.now())
+                .changedBy(changedBy)
+                .changedByName(changedBy)
+                .note(note)
+                .build());
+    }
+
     private User findLecturerForCourse(String course, String department) {
         // TODO: Implement logic to find appropriate lecturer based on course and department
         // For now, return any lecturer in the department
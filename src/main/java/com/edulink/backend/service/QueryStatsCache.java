@@ -0,0 +1,73 @@
+package com.edulink.backend.service;
+
+import com.edulink.backend.dto.response.QueryStatsResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Short-lived per-user cache of query statistics. QueryService invalidates both participants
+ * whenever one of their queries changes; the TTL only bounds staleness from writes made elsewhere.
+ */
+@Component
+public class QueryStatsCache {
+
+    @Value("${cache.query-stats.ttl-seconds:30}")
+    private long ttlSeconds;
+
+    // A load first puts a placeholder entry and only caches its result if that entry is still
+    // there, so a load that raced with an invalidation (which removes it) is not cached
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    public QueryStatsResponse get(String userId, Supplier<QueryStatsResponse> loader) {
+        long now = System.currentTimeMillis();
+        Entry entry = entries.get(userId);
+        if (entry != null && entry.stats != null && entry.expiresAt > now) {
+            return entry.stats;
+        }
+
+        Entry loading = new Entry(null, now + ttlSeconds * 1000);
+        entries.put(userId, loading);
+        QueryStatsResponse stats;
+        try {
+            stats = loader.get();
+        } catch (RuntimeException e) {
+            entries.remove(userId, loading);
+            throw e;
+        }
+        entries.replace(userId, loading, new Entry(stats, now + ttlSeconds * 1000));
+        return stats;
+    }
+
+    public void invalidate(String... userIds) {
+        for (String userId : userIds) {
+            if (userId != null) {
+                entries.remove(userId);
+            }
+        }
+    }
+
+    /**
+     * Drop expired entries of users who have not asked again.
+     */
+    @Scheduled(fixedDelayString = "${cache.query-stats.prune-interval-ms:300000}")
+    public void prune() {
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(entry -> entry.expiresAt <= now);
+    }
+
+    // Compared by identity: each load is told apart by its own placeholder
+    private static final class Entry {
+        final QueryStatsResponse stats; // null while loading
+        final long expiresAt;
+
+        Entry(QueryStatsResponse stats, long expiresAt) {
+            this.stats = stats;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
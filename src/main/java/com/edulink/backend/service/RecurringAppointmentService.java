@@ -0,0 +1,387 @@
+package com.edulink.backend.service;
+
+import com.edulink.backend.dto.response.RecurringConflictResponse;
+import com.edulink.backend.model.entity.Appointment;
+import com.edulink.backend.repository.AppointmentRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+
+/**
+ * Expands recurring appointment series into instances.
+ *
+ * Each series parent carries its own state (nextOccurrenceAt, generatedUntil, instanceCount),
+ * so expanding never reads the instances already created. Series are expanded in batches:
+ * one conflict query per lecturer and per student covering all of the batch's new occurrences,
+ * one bulk insert of the accepted instances, one bulk update of the parents.
+ * Occurrences that collide with either participant are checked in memory and skipped,
+ * and reported per occurrence to the caller creating the series.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RecurringAppointmentService {
+
+    private static final int BATCH_SIZE = 200;
+
+    private final AppointmentRepository appointmentRepository;
+    private final SlotReservationService slotReservationService;
+    private final MongoTemplate mongoTemplate;
+    private final LifecycleTimerService lifecycleTimerService;
+
+    @Value("${appointment.recurring.max-instances:52}")
+    private int maxInstances;
+
+    @Value("${appointment.recurring.horizon-days:30}")
+    private int horizonDays;
+
+    /**
+     * Set the series state of a new recurring parent. Call before the parent is first saved.
+     */
+    public void initializeSeries(Appointment parent) {
+        if (!parent.isRecurring() || parent.getRecurringPattern() == null) {
+            return;
+        }
+        LocalDateTime first = nextOccurrence(parent.getRecurringPattern(), parent.getScheduledAt());
+        parent.setNextOccurrenceAt(withinSeries(parent, first, 0) ? first : null);
+        parent.setInstanceCount(0);
+    }
+
+    /**
+     * Expand a newly created series: up to its end date when it has one, otherwise up to the
+     * rolling horizon. Both are capped by appointment.recurring.max-instances.
+     *
+     * @return instances created and occurrences skipped because of conflicts
+     */
+    public SeriesExpansion expandNewSeries(Appointment parent, String createdBy) {
+        if (parent.getNextOccurrenceAt() == null) {
+            return new SeriesExpansion(0, List.of());
+        }
+        LocalDateTime horizon = parent.getRecurringEndDate() != null
+                ? parent.getRecurringEndDate()
+                : LocalDateTime.now().plusDays(horizonDays);
+        return expand(List.of(parent), horizon, createdBy);
+    }
+
+    /**
+     * Expand every series whose next occurrence falls inside the rolling horizon.
+     *
+     * @param stillLeased checked before each batch; expansion stops once it returns false
+     * @return number of instances created
+     */
+    public int expandDueSeries(BooleanSupplier stillLeased) {
+        LocalDateTime horizon = LocalDateTime.now().plusDays(horizonDays);
+        int created = 0;
+        String lastId = null;
+
+        while (stillLeased.getAsBoolean()) {
+            Criteria criteria = Criteria.where("nextOccurrenceAt").lte(horizon)
+                    .and("isRecurring").is(true)
+                    .and("parentAppointmentId").is(null)
+                    .and("status").ne(Appointment.AppointmentStatus.CANCELLED);
+            if (lastId != null) {
+                criteria.and("_id").gt(new ObjectId(lastId));
+            }
+            List<Appointment> parents = mongoTemplate.find(new Query(criteria)
+                    .with(Sort.by(Sort.Direction.ASC, "_id"))
+                    .limit(BATCH_SIZE), Appointment.class);
+            if (parents.isEmpty()) {
+                break;
+            }
+
+            created += expand(parents, horizon, "SYSTEM_RECURRING").created();
+            lastId = parents.get(parents.size() - 1).getId();
+        }
+        return created;
+    }
+
+    /**
+     * Derive the series state of parents created before it was stored, from their existing instances.
+     *
+     * @return number of series updated
+     */
+    public int backfillSeriesState() {
+        List<Appointment> parents = mongoTemplate.find(new Query(Criteria.where("isRecurring").is(true)
+                .and("parentAppointmentId").is(null)
+                .and("instanceCount").exists(false)), Appointment.class);
+        if (parents.isEmpty()) {
+            return 0;
+        }
+
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("parentAppointmentId").in(parents.stream().map(Appointment::getId).toList())),
+                Aggregation.group("parentAppointmentId").max("scheduledAt").as("last").count().as("count"));
+        Map<String, Document> instances = new HashMap<>();
+        for (Document row : mongoTemplate.aggregate(aggregation, Appointment.class, Document.class)) {
+            instances.put(row.getString("_id"), row);
+        }
+
+        for (Appointment parent : parents) {
+            Document row = instances.get(parent.getId());
+            LocalDateTime last = row != null
+                    ? LocalDateTime.ofInstant(row.getDate("last").toInstant(), ZoneId.systemDefault())
+                    : parent.getScheduledAt();
+            int count = row != null ? row.get("count", Number.class).intValue() : 0;
+            LocalDateTime next = nextOccurrence(parent.getRecurringPattern(), last);
+
+            parent.setNextOccurrenceAt(withinSeries(parent, next, count) ? next : null);
+            parent.setGeneratedUntil(last);
+            parent.setInstanceCount(count);
+        }
+        saveSeriesState(parents);
+        return parents.size();
+    }
+
+    // =================== EXPANSION ===================
+
+    private SeriesExpansion expand(List<Appointment> parents, LocalDateTime horizon, String createdBy) {
+        List<Appointment> candidates = new ArrayList<>();
+        for (Appointment parent : parents) {
+            int count = parent.getInstanceCount() != null ? parent.getInstanceCount() : 0;
+            LocalDateTime occurrence = parent.getNextOccurrenceAt();
+
+            while (withinSeries(parent, occurrence, count) && !occurrence.isAfter(horizon)) {
+                candidates.add(buildInstance(parent, occurrence, createdBy));
+                count++;
+                occurrence = nextOccurrence(parent.getRecurringPattern(), occurrence);
+            }
+
+            parent.setNextOccurrenceAt(withinSeries(parent, occurrence, count) ? occurrence : null);
+            parent.setGeneratedUntil(horizon);
+            parent.setInstanceCount(count);
+        }
+
+        List<Appointment> accepted = new ArrayList<>();
+        List<RecurringConflictResponse> conflicts = new ArrayList<>();
+        if (!candidates.isEmpty()) {
+            List<Appointment> free = new ArrayList<>();
+            candidates.sort(Comparator.comparing(Appointment::getScheduledAt));
+            Map<String, BusyTimeline> lecturerBusy = loadBusy(candidates, Appointment::getLecturerId, true);
+            Map<String, BusyTimeline> studentBusy = loadBusy(candidates, Appointment::getStudentId, false);
+
+            for (Appointment candidate : candidates) {
+                BusyTimeline lecturer = lecturerBusy.get(candidate.getLecturerId());
+                BusyTimeline student = studentBusy.get(candidate.getStudentId());
+                LocalDateTime start = candidate.getScheduledAt();
+                LocalDateTime end = candidate.getEndTime();
+
+                RecurringConflictResponse.Reason reason = null;
+                List<String> conflictingIds = List.of();
+                if (lecturer.overlaps(start, end)) {
+                    reason = RecurringConflictResponse.Reason.LECTURER_BUSY;
+                    conflictingIds = lecturer.overlapping(start, end);
+                } else if (student.overlaps(start, end)) {
+                    reason = RecurringConflictResponse.Reason.STUDENT_BUSY;
+                    conflictingIds = student.overlapping(start, end);
+                }
+                if (reason != null) {
+                    conflicts.add(conflict(candidate, reason, conflictingIds));
+                    continue;
+                }
+
+                lecturer.add(candidate.getId(), start, end);
+                student.add(candidate.getId(), start, end);
+                free.add(candidate);
+            }
+
+            // Claims of every free candidate in one bulk insert; losers were booked concurrently
+            Set<String> slotTaken = slotReservationService.reserveAll(free);
+            for (Appointment candidate : free) {
+                if (slotTaken.contains(candidate.getId())) {
+                    conflicts.add(conflict(candidate, RecurringConflictResponse.Reason.SLOT_TAKEN, List.of()));
+                } else {
+                    accepted.add(candidate);
+                }
+            }
+        }
+
+        if (!accepted.isEmpty()) {
+            try {
+                // The save listeners' timer writes for every instance go out as one bulk write
+                lifecycleTimerService.batch(() -> appointmentRepository.insert(accepted));
+            } catch (RuntimeException e) {
+                slotReservationService.releaseAll(accepted.stream().map(Appointment::getId).toList());
+                throw e;
+            }
+            slotReservationService.confirmAll(accepted);
+        }
+
+        saveSeriesState(parents);
+        if (!accepted.isEmpty()) {
+            log.info("Created {} recurring instances for {} series", accepted.size(), parents.size());
+        }
+        return new SeriesExpansion(accepted.size(), conflicts);
+    }
+
+    private static RecurringConflictResponse conflict(Appointment candidate, RecurringConflictResponse.Reason reason,
+                                                      List<String> conflictingIds) {
+        log.warn("Skipping recurring instance for appointment {} at {}: {}",
+                candidate.getParentAppointmentId(), candidate.getScheduledAt(), reason);
+        return RecurringConflictResponse.builder()
+                .scheduledAt(candidate.getScheduledAt())
+                .endTime(candidate.getEndTime())
+                .reason(reason)
+                .conflictingAppointmentIds(conflictingIds)
+                .build();
+    }
+
+    /**
+     * Active appointments of every participant over the span of their candidate instances,
+     * fetched with one conflict query per participant.
+     */
+    private Map<String, BusyTimeline> loadBusy(List<Appointment> candidates,
+                                               Function<Appointment, String> participant, boolean lecturer) {
+        Map<String, LocalDateTime[]> spans = new HashMap<>();
+        for (Appointment candidate : candidates) {
+            spans.merge(participant.apply(candidate),
+                    new LocalDateTime[]{candidate.getScheduledAt(), candidate.getEndTime()},
+                    (a, b) -> new LocalDateTime[]{
+                            a[0].isBefore(b[0]) ? a[0] : b[0],
+                            a[1].isAfter(b[1]) ? a[1] : b[1]});
+        }
+
+        Map<String, BusyTimeline> busy = new HashMap<>();
+        spans.forEach((participantId, span) -> {
+            List<Appointment> existing = lecturer
+                    ? appointmentRepository.findConflictingAppointmentsForLecturer(participantId, span[0], span[1])
+                    : appointmentRepository.findConflictingAppointmentsForStudent(participantId, span[0], span[1]);
+            BusyTimeline timeline = new BusyTimeline();
+            existing.forEach(appointment ->
+                    timeline.add(appointment.getId(), appointment.getScheduledAt(), appointment.getEndTime()));
+            busy.put(participantId, timeline);
+        });
+        return busy;
+    }
+
+    private void saveSeriesState(List<Appointment> parents) {
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Appointment.class);
+        for (Appointment parent : parents) {
+            Update update = new Update()
+                    .set("generatedUntil", parent.getGeneratedUntil())
+                    .set("instanceCount", parent.getInstanceCount());
+            if (parent.getNextOccurrenceAt() != null) {
+                update.set("nextOccurrenceAt", parent.getNextOccurrenceAt());
+            } else {
+                // Unset rather than null so exhausted series drop out of the sparse index
+                update.unset("nextOccurrenceAt");
+            }
+            bulk.updateOne(new Query(Criteria.where("_id").is(parent.getId())), update);
+        }
+        bulk.execute();
+    }
+
+    private boolean withinSeries(Appointment parent, LocalDateTime occurrence, int count) {
+        return occurrence != null
+                && count < maxInstances
+                && (parent.getRecurringEndDate() == null || occurrence.isBefore(parent.getRecurringEndDate()));
+    }
+
+    private static LocalDateTime nextOccurrence(Appointment.RecurringPattern pattern, LocalDateTime from) {
+        if (pattern == null || from == null) {
+            return null;
+        }
+        return switch (pattern) {
+            case WEEKLY -> from.plusWeeks(1);
+            case BIWEEKLY -> from.plusWeeks(2);
+            case MONTHLY -> from.plusMonths(1);
+        };
+    }
+
+    private static Appointment buildInstance(Appointment parent, LocalDateTime scheduledAt, String createdBy) {
+        return Appointment.builder()
+                .id(new ObjectId().toHexString())
+                .studentId(parent.getStudentId())
+                .lecturerId(parent.getLecturerId())
+                .subject(parent.getSubject())
+                .description(parent.getDescription())
+                .scheduledAt(scheduledAt)
+                .durationMinutes(parent.getDurationMinutes())
+                .location(parent.getLocation())
+                .type(parent.getType())
+                .status(Appointment.AppointmentStatus.PENDING)
+                .courseId(parent.getCourseId())
+                .meetingLink(parent.getMeetingLink())
+                .meetingPassword(parent.getMeetingPassword())
+                .isRecurring(false)
+                .parentAppointmentId(parent.getId())
+                .bookedAt(LocalDateTime.now())
+                .lastModifiedAt(LocalDateTime.now())
+                .lastModifiedBy(createdBy)
+                .build();
+    }
+
+    public record SeriesExpansion(int created, List<RecurringConflictResponse> conflicts) {
+    }
+
+    /**
+     * Busy intervals of one participant, merged so that at most one interval can start
+     * before a given end and still reach past a given start. The appointments behind them are
+     * kept by start time, to name the ones a rejected occurrence collides with.
+     */
+    private static class BusyTimeline {
+        private final TreeMap<LocalDateTime, LocalDateTime> intervals = new TreeMap<>();
+        private final TreeMap<LocalDateTime, List<Busy>> appointments = new TreeMap<>();
+        private Duration longest = Duration.ZERO;
+
+        private record Busy(String appointmentId, LocalDateTime end) {
+        }
+
+        boolean overlaps(LocalDateTime start, LocalDateTime end) {
+            Map.Entry<LocalDateTime, LocalDateTime> before = intervals.lowerEntry(end);
+            return before != null && before.getValue().isAfter(start);
+        }
+
+        List<String> overlapping(LocalDateTime start, LocalDateTime end) {
+            List<String> ids = new ArrayList<>();
+            // Nothing starting earlier than the longest appointment can still be running at start
+            appointments.subMap(start.minus(longest), true, end, false).values().forEach(busy -> busy.stream()
+                    .filter(b -> b.end().isAfter(start))
+                    .forEach(b -> ids.add(b.appointmentId())));
+            return ids;
+        }
+
+        void add(String appointmentId, LocalDateTime start, LocalDateTime end) {
+            appointments.computeIfAbsent(start, key -> new ArrayList<>()).add(new Busy(appointmentId, end));
+            Duration length = Duration.between(start, end);
+            if (length.compareTo(longest) > 0) {
+                longest = length;
+            }
+            merge(start, end);
+        }
+
+        private void merge(LocalDateTime start, LocalDateTime end) {
+            Map.Entry<LocalDateTime, LocalDateTime> before = intervals.lowerEntry(end);
+            while (before != null && before.getValue().isAfter(start)) {
+                // Absorb every interval overlapping [start, end)
+                start = before.getKey().isBefore(start) ? before.getKey() : start;
+                end = before.getValue().isAfter(end) ? before.getValue() : end;
+                intervals.remove(before.getKey());
+                before = intervals.lowerEntry(end);
+            }
+            intervals.put(start, end);
+        }
+    }
+}
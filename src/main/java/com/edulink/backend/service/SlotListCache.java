@@ -0,0 +1,222 @@
+package com.edulink.backend.service;
+
+import com.edulink.backend.model.entity.Appointment;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/**
+ * Bounded LRU cache of computed slot lists per (lecturer, date, duration).
+ *
+ * Concurrent requests for a missing entry share one computation: the first caller loads
+ * and the others wait on its future. Loaders report the appointments they read, so a save or
+ * delete of any of them, or of an appointment now on that lecturer and date, drops the entry;
+ * an availability change drops every entry of its lecturer. Bulk status transitions invalidate
+ * through {@link AppointmentService#transitionStatus}. Entries also expire after
+ * cache.available-slots.ttl-minutes to cover any other writes that bypass the repository events.
+ */
+@Component
+public class SlotListCache {
+
+    public enum Kind {
+        GENERATED, // Lecturer's own view, booked slots included
+        BOOKABLE   // Free slots offered to students
+    }
+
+    @Value("${cache.available-slots.ttl-minutes:5}")
+    private long ttlMinutes;
+
+    @Value("${cache.available-slots.max-entries:5000}")
+    private int maxEntries;
+
+    private final Object lock = new Object();
+    private final Map<Key, Entry> entries = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+            if (size() > maxEntries) {
+                unindex(eldest.getKey(), eldest.getValue());
+                return true;
+            }
+            return false;
+        }
+    };
+    // Appointment id -> entries computed from it
+    private final Map<String, Set<Key>> keysByAppointment = new HashMap<>();
+    // Lecturer id -> its entries
+    private final Map<String, Set<Key>> keysByLecturer = new HashMap<>();
+    // Entries whose value is still being computed
+    private final Set<Entry> inFlight = new HashSet<>();
+
+    /**
+     * The cached list, or the result of {@code loader}, which receives a set to add the ids of
+     * the appointments it read to.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> List<T> get(Kind kind, String lecturerId, LocalDate date, int durationMinutes,
+                           Function<Set<String>, List<T>> loader) {
+        Key key = new Key(kind, lecturerId, date, durationMinutes);
+        Entry entry;
+        boolean loading = false;
+        synchronized (lock) {
+            entry = entries.get(key);
+            if (entry != null && entry.expiresAt.isBefore(LocalDateTime.now())) {
+                remove(key);
+                entry = null;
+            }
+            if (entry == null) {
+                entry = new Entry(LocalDateTime.now().plusMinutes(ttlMinutes));
+                entries.put(key, entry);
+                keysByLecturer.computeIfAbsent(lecturerId, any -> new HashSet<>()).add(key);
+                inFlight.add(entry);
+                loading = true;
+            }
+        }
+
+        if (loading) {
+            load(key, entry, loader);
+        }
+        try {
+            return (List<T>) entry.value.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    private <T> void load(Key key, Entry entry, Function<Set<String>, List<T>> loader) {
+        Set<String> appointmentIds = new HashSet<>();
+        List<T> value;
+        try {
+            value = List.copyOf(loader.apply(appointmentIds));
+        } catch (RuntimeException e) {
+            synchronized (lock) {
+                inFlight.remove(entry);
+                if (entries.get(key) == entry) {
+                    remove(key);
+                }
+            }
+            entry.value.completeExceptionally(e);
+            return;
+        }
+
+        synchronized (lock) {
+            inFlight.remove(entry);
+            // Still cached, and none of the appointments it read changed while it was loading
+            if (entries.get(key) == entry) {
+                if (appointmentIds.stream().anyMatch(entry.changedWhileLoading::contains)) {
+                    remove(key);
+                } else {
+                    entry.appointmentIds = appointmentIds;
+                    entry.changedWhileLoading = null;
+                    appointmentIds.forEach(id -> keysByAppointment.computeIfAbsent(id, any -> new HashSet<>()).add(key));
+                }
+            }
+        }
+        entry.value.complete(value);
+    }
+
+    // =================== INVALIDATION ===================
+
+    public void invalidateLecturer(String lecturerId) {
+        synchronized (lock) {
+            Set<Key> keys = keysByLecturer.get(lecturerId);
+            if (keys != null) {
+                List.copyOf(keys).forEach(this::remove);
+            }
+        }
+    }
+
+    /**
+     * Drop the entries an appointment was read into, and those of its participants on the days it now covers.
+     */
+    public void invalidateAppointment(Appointment appointment) {
+        Set<String> participants = new HashSet<>();
+        participants.add(appointment.getLecturerId());
+        participants.add(appointment.getStudentId());
+        participants.remove(null);
+
+        synchronized (lock) {
+            invalidateAppointmentId(appointment.getId());
+            if (appointment.getScheduledAt() == null || participants.isEmpty()) {
+                return;
+            }
+            LocalDate firstDay = appointment.getScheduledAt().toLocalDate();
+            LocalDate lastDay = appointment.getEndTime().minusNanos(1).toLocalDate();
+            List<Key> keys = participants.stream()
+                    .map(keysByLecturer::get)
+                    .filter(Objects::nonNull)
+                    .flatMap(Set::stream)
+                    .filter(key -> !key.date().isBefore(firstDay) && !key.date().isAfter(lastDay))
+                    .toList();
+            keys.forEach(this::remove);
+        }
+    }
+
+    public void invalidateAppointment(String appointmentId) {
+        synchronized (lock) {
+            invalidateAppointmentId(appointmentId);
+        }
+    }
+
+    private void invalidateAppointmentId(String appointmentId) {
+        Set<Key> keys = keysByAppointment.get(appointmentId);
+        if (keys != null) {
+            List.copyOf(keys).forEach(this::remove);
+        }
+        for (Entry entry : inFlight) {
+            entry.changedWhileLoading.add(appointmentId);
+        }
+    }
+
+    private void remove(Key key) {
+        Entry entry = entries.remove(key);
+        if (entry != null) {
+            unindex(key, entry);
+        }
+    }
+
+    private void unindex(Key key, Entry entry) {
+        Set<Key> lecturerKeys = keysByLecturer.get(key.lecturerId());
+        if (lecturerKeys != null) {
+            lecturerKeys.remove(key);
+            if (lecturerKeys.isEmpty()) {
+                keysByLecturer.remove(key.lecturerId());
+            }
+        }
+        for (String appointmentId : entry.appointmentIds) {
+            Set<Key> keys = keysByAppointment.get(appointmentId);
+            if (keys != null) {
+                keys.remove(key);
+                if (keys.isEmpty()) {
+                    keysByAppointment.remove(appointmentId);
+                }
+            }
+        }
+    }
+
+    private record Key(Kind kind, String lecturerId, LocalDate date, int durationMinutes) {
+    }
+
+    private static final class Entry {
+        final CompletableFuture<List<?>> value = new CompletableFuture<>();
+        final LocalDateTime expiresAt;
+        Set<String> appointmentIds = Set.of();
+        // Appointments saved or deleted while the value was being computed; null once loaded
+        Set<String> changedWhileLoading = new HashSet<>();
+
+        Entry(LocalDateTime expiresAt) {
+            this.expiresAt = expiresAt;
+        }
+    }
+}
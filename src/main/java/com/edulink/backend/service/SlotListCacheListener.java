@@ -0,0 +1,47 @@
+package com.edulink.backend.service;
+
+import com.edulink.backend.model.entity.Appointment;
+import com.edulink.backend.model.entity.LecturerAvailability;
+import com.edulink.backend.util.MongoEvents;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.stereotype.Component;
+
+/**
+ * Drops cached slot lists when the availability or appointments they were computed from change.
+ */
+@Component
+@RequiredArgsConstructor
+public class SlotListCacheListener extends AbstractMongoEventListener<Object> {
+
+    private final SlotListCache slotListCache;
+
+    @Override
+    public void onAfterSave(AfterSaveEvent<Object> event) {
+        if (event.getSource() instanceof LecturerAvailability availability && availability.getLecturerId() != null) {
+            slotListCache.invalidateLecturer(availability.getLecturerId());
+        } else if (event.getSource() instanceof Appointment appointment) {
+            slotListCache.invalidateAppointment(appointment);
+        }
+    }
+
+    @Override
+    public void onAfterDelete(AfterDeleteEvent<Object> event) {
+        Class<?> type = event.getType();
+        if (type != LecturerAvailability.class && type != Appointment.class) {
+            return;
+        }
+        Document query = event.getSource();
+        if (type == LecturerAvailability.class) {
+            // Deletes by id carry no lecturer; AvailabilityService invalidates those itself
+            if (query.get("lecturerId") instanceof String lecturerId) {
+                slotListCache.invalidateLecturer(lecturerId);
+            }
+            return;
+        }
+        MongoEvents.deletedIds(event).forEach(slotListCache::invalidateAppointment);
+    }
+}
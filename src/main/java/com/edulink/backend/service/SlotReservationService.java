@@ -0,0 +1,223 @@
+package com.edulink.backend.service;
+
+import com.edulink.backend.model.entity.Appointment;
+import com.edulink.backend.model.entity.AppointmentSlotClaim;
+import com.edulink.backend.repository.AppointmentSlotClaimRepository;
+import com.mongodb.bulk.BulkWriteError;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Atomic time-slot reservation for appointments.
+ *
+ * An appointment claims every 5-minute bucket it covers, for both the lecturer and the
+ * student, by inserting {@link AppointmentSlotClaim} documents under a unique
+ * (participantId, slotStart) index. Whichever concurrent booking inserts a bucket first
+ * wins; the loser gets a duplicate key, rolls back its own claims and is rejected.
+ *
+ * Usage: {@link #reserve} before saving the appointment, {@link #confirm} after the
+ * save succeeded, {@link #release} when it is cancelled, finished or deleted.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SlotReservationService {
+
+    public static final int SLOT_GRANULARITY_MINUTES = 5;
+
+    // Unconfirmed claims (e.g. the process died between reserve and save) disappear after this
+    private static final long HOLD_MINUTES = 2;
+    // Confirmed claims are kept this long past the appointment end, then removed by the TTL index
+    private static final long RETENTION_DAYS = 1;
+    private static final int DUPLICATE_KEY = 11000;
+
+    private final AppointmentSlotClaimRepository claimRepository;
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * Claim the appointment's buckets. The appointment must already carry its id.
+     * Buckets it holds from an earlier time (reschedule) are kept until {@link #confirm}.
+     *
+     * @return ids of the claims added, for {@link #abandon} should the save fail
+     * @throws IllegalStateException if another appointment holds any of the buckets
+     */
+    public List<String> reserve(Appointment appointment) {
+        if (appointment.getId() == null) {
+            throw new IllegalArgumentException("Appointment id must be assigned before reserving its slot");
+        }
+
+        Set<String> held = claimRepository.findByAppointmentId(appointment.getId()).stream()
+                .map(AppointmentSlotClaim::getId)
+                .collect(Collectors.toSet());
+
+        LocalDateTime holdUntil = LocalDateTime.now().plusMinutes(HOLD_MINUTES);
+        List<AppointmentSlotClaim> toInsert = buildClaims(appointment, holdUntil).stream()
+                .filter(claim -> !held.contains(claim.getId()))
+                .collect(Collectors.toList());
+        List<String> inserted = toInsert.stream().map(AppointmentSlotClaim::getId).collect(Collectors.toList());
+        if (toInsert.isEmpty()) {
+            return inserted;
+        }
+
+        try {
+            claimRepository.insert(toInsert);
+            return inserted;
+        } catch (DataIntegrityViolationException e) {
+            // Ordered insert stops at the first duplicate; drop whatever made it in before that
+            claimRepository.deleteAllById(inserted);
+            log.info("Slot reservation lost for appointment {} at {}", appointment.getId(), appointment.getScheduledAt());
+            throw new IllegalStateException("This time slot has just been booked by someone else. Please choose another time.");
+        }
+    }
+
+    /**
+     * {@link #reserve} for a batch of new appointments that hold no buckets yet, such as the
+     * instances of a recurring series: every claim goes out in one unordered bulk insert.
+     * Each duplicate key is mapped back to the appointment whose claim it was, and the
+     * buckets those appointments did get are removed again.
+     *
+     * @return ids of the appointments that lost a bucket to another booking
+     */
+    public Set<String> reserveAll(Collection<Appointment> appointments) {
+        if (appointments.isEmpty()) {
+            return Set.of();
+        }
+
+        LocalDateTime holdUntil = LocalDateTime.now().plusMinutes(HOLD_MINUTES);
+        List<AppointmentSlotClaim> claims = new ArrayList<>();
+        for (Appointment appointment : appointments) {
+            if (appointment.getId() == null) {
+                throw new IllegalArgumentException("Appointment id must be assigned before reserving its slot");
+            }
+            claims.addAll(buildClaims(appointment, holdUntil));
+        }
+
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, AppointmentSlotClaim.class)
+                    .insert(claims)
+                    .execute();
+            return Set.of();
+        } catch (BulkOperationException e) {
+            Set<String> lost = new HashSet<>();
+            for (BulkWriteError error : e.getErrors()) {
+                if (error.getCode() != DUPLICATE_KEY) {
+                    releaseAll(appointments.stream().map(Appointment::getId).toList());
+                    throw e;
+                }
+                lost.add(claims.get(error.getIndex()).getAppointmentId());
+            }
+            releaseAll(lost);
+            log.info("Slot reservation lost for {} of {} appointments", lost.size(), appointments.size());
+            return lost;
+        }
+    }
+
+    /**
+     * Make the reservation permanent after the appointment was saved, and drop buckets
+     * left over from a previous time of the same appointment.
+     */
+    public void confirm(Appointment appointment) {
+        List<String> current = buildClaims(appointment, null).stream()
+                .map(AppointmentSlotClaim::getId)
+                .collect(Collectors.toList());
+
+        mongoTemplate.remove(new Query(Criteria.where("appointmentId").is(appointment.getId())
+                .and("_id").nin(current)), AppointmentSlotClaim.class);
+        mongoTemplate.updateMulti(new Query(Criteria.where("appointmentId").is(appointment.getId())),
+                Update.update("expiresAt", appointment.getEndTime().plusDays(RETENTION_DAYS)),
+                AppointmentSlotClaim.class);
+    }
+
+    /**
+     * {@link #confirm} for a batch of newly created appointments, in one bulk write.
+     * They hold no buckets from an earlier time, so there is nothing to drop.
+     */
+    public void confirmAll(Collection<Appointment> appointments) {
+        if (appointments.isEmpty()) {
+            return;
+        }
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, AppointmentSlotClaim.class);
+        for (Appointment appointment : appointments) {
+            bulk.updateMulti(new Query(Criteria.where("appointmentId").is(appointment.getId())),
+                    Update.update("expiresAt", appointment.getEndTime().plusDays(RETENTION_DAYS)));
+        }
+        bulk.execute();
+    }
+
+    /**
+     * Drop the claims a {@link #reserve} added when the save they were for failed, keeping
+     * the buckets the appointment held before (its current time, on a reschedule).
+     */
+    public void abandon(Collection<String> claimIds) {
+        if (!claimIds.isEmpty()) {
+            claimRepository.deleteAllById(claimIds);
+        }
+    }
+
+    /**
+     * Free every bucket held by the appointment.
+     */
+    public void release(String appointmentId) {
+        long released = claimRepository.deleteByAppointmentId(appointmentId);
+        log.debug("Released {} slot claims of appointment {}", released, appointmentId);
+    }
+
+    /**
+     * Free every bucket held by any of the appointments in a single delete.
+     */
+    public void releaseAll(Collection<String> appointmentIds) {
+        if (appointmentIds.isEmpty()) {
+            return;
+        }
+        long released = mongoTemplate.remove(new Query(Criteria.where("appointmentId").in(appointmentIds)),
+                AppointmentSlotClaim.class).getDeletedCount();
+        log.debug("Released {} slot claims of {} appointments", released, appointmentIds.size());
+    }
+
+    /**
+     * Whether the status still blocks the appointment's time.
+     */
+    public static boolean holdsSlot(Appointment.AppointmentStatus status) {
+        return status == Appointment.AppointmentStatus.PENDING || status == Appointment.AppointmentStatus.CONFIRMED;
+    }
+
+    private List<AppointmentSlotClaim> buildClaims(Appointment appointment, LocalDateTime expiresAt) {
+        List<AppointmentSlotClaim> claims = new ArrayList<>();
+        LocalDateTime end = appointment.getEndTime();
+        for (LocalDateTime bucket = floorToBucket(appointment.getScheduledAt()); bucket.isBefore(end);
+             bucket = bucket.plusMinutes(SLOT_GRANULARITY_MINUTES)) {
+            for (String participantId : List.of(appointment.getLecturerId(), appointment.getStudentId())) {
+                claims.add(AppointmentSlotClaim.builder()
+                        .id(appointment.getId() + ":" + participantId + ":" + bucket)
+                        .participantId(participantId)
+                        .slotStart(bucket)
+                        .appointmentId(appointment.getId())
+                        .expiresAt(expiresAt)
+                        .build());
+            }
+        }
+        return claims;
+    }
+
+    private static LocalDateTime floorToBucket(LocalDateTime time) {
+        LocalDateTime minutes = time.truncatedTo(ChronoUnit.MINUTES);
+        return minutes.minusMinutes(minutes.getMinute() % SLOT_GRANULARITY_MINUTES);
+    }
+}
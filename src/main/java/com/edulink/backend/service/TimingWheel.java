@@ -0,0 +1,116 @@
+package com.edulink.backend.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hierarchical timing wheel: level 0 has one slot per tick, each level above has slots
+ * {@value #SLOTS} times wider. Adding and cancelling are O(1); each tick touches one slot
+ * per level, and an entry moves down at most once per level on its way to firing.
+ *
+ * Entries further out than the top level are refused; the caller keeps them elsewhere
+ * and adds them once they come within {@link #horizonMillis()}. Not thread-safe.
+ */
+final class TimingWheel {
+
+    static final int SLOTS = 64;
+
+    private final long tickMillis;
+    private final long[] slotTicks; // Ticks covered by one slot of each level
+    private final List<List<Map<String, Long>>> levels = new ArrayList<>();
+    private final Map<String, Map<String, Long>> slotOf = new HashMap<>();
+    private final List<String> ready = new ArrayList<>();
+    private long currentTick;
+
+    TimingWheel(long tickMillis, int levelCount, long nowMillis) {
+        this.tickMillis = tickMillis;
+        this.slotTicks = new long[levelCount];
+        long ticks = 1;
+        for (int level = 0; level < levelCount; level++) {
+            slotTicks[level] = ticks;
+            ticks *= SLOTS;
+            List<Map<String, Long>> slots = new ArrayList<>(SLOTS);
+            for (int slot = 0; slot < SLOTS; slot++) {
+                slots.add(new LinkedHashMap<>());
+            }
+            levels.add(slots);
+        }
+        this.currentTick = nowMillis / tickMillis;
+    }
+
+    long horizonMillis() {
+        return slotTicks[slotTicks.length - 1] * SLOTS * tickMillis;
+    }
+
+    /**
+     * Add or move an entry. Entries already due fire on the next {@link #advance}.
+     *
+     * @return false when the entry lies beyond the horizon and was not added
+     */
+    boolean add(String key, long dueMillis) {
+        cancel(key);
+        long dueTick = (dueMillis + tickMillis - 1) / tickMillis; // Never fire early
+        if (dueTick <= currentTick) {
+            ready.add(key);
+            return true;
+        }
+        long delta = dueTick - currentTick;
+        for (int level = 0; level < slotTicks.length; level++) {
+            if (delta < slotTicks[level] * SLOTS) {
+                Map<String, Long> slot = levels.get(level).get((int) ((dueTick / slotTicks[level]) % SLOTS));
+                slot.put(key, dueMillis);
+                slotOf.put(key, slot);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    void cancel(String key) {
+        Map<String, Long> slot = slotOf.remove(key);
+        if (slot != null) {
+            slot.remove(key);
+        } else {
+            ready.remove(key);
+        }
+    }
+
+    boolean contains(String key) {
+        return slotOf.containsKey(key) || ready.contains(key);
+    }
+
+    /**
+     * Move time forward to now.
+     *
+     * @return keys that fell due, in due order per tick
+     */
+    List<String> advance(long nowMillis) {
+        long targetTick = nowMillis / tickMillis;
+        while (currentTick < targetTick) {
+            currentTick++;
+            // Cascade the higher-level slot starting at this tick down to the finer levels
+            for (int level = slotTicks.length - 1; level > 0; level--) {
+                if (currentTick % slotTicks[level] == 0) {
+                    Map<String, Long> slot = levels.get(level).get((int) ((currentTick / slotTicks[level]) % SLOTS));
+                    Map<String, Long> entries = new LinkedHashMap<>(slot);
+                    slot.clear();
+                    entries.forEach((key, due) -> {
+                        slotOf.remove(key);
+                        add(key, due);
+                    });
+                }
+            }
+            Map<String, Long> slot = levels.get(0).get((int) (currentTick % SLOTS));
+            slot.keySet().forEach(slotOf::remove);
+            ready.addAll(slot.keySet());
+            slot.clear();
+        }
+
+        List<String> due = new ArrayList<>(ready);
+        ready.clear();
+        return due;
+    }
+}
@@ -0,0 +1,391 @@
+package com.edulink.backend.service;
+
+import com.edulink.backend.dto.response.UserProfileResponse;
+import com.edulink.backend.model.entity.User;
+import com.edulink.backend.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory typeahead index over user name, email and department.
+ *
+ * Every word of the indexed fields contributes its trigrams plus two boundary grams
+ * for its one- and two-character prefixes. Grams are packed into a {@code long} key
+ * and map to ascending {@code int} postings of internal document ids, so a query only
+ * walks the rarest posting list and verifies those candidates against the cached fields.
+ *
+ * Each entry caches only the {@link UserProfileResponse} a search returns plus the role and
+ * active flag it filters on, never the entity itself (password hash, academic records).
+ * The index is loaded once at startup and kept current by {@link UserSearchIndexListener}
+ * from Mongo save/delete events, so every write path is covered.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UserSearchIndex {
+
+    private static final char BOUNDARY = '\u0001';
+
+    // Field order inside IndexedUser.words, with the weight a hit in that field is worth
+    private static final int[] FIELD_WEIGHTS = {3, 3, 2, 1}; // firstName, lastName, email, department
+
+    private static final int EXACT_WORD_SCORE = 10;
+    private static final int WORD_PREFIX_SCORE = 6;
+    private static final int SUBSTRING_SCORE = 2;
+
+    private final UserRepository userRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final List<IndexedUser> docs = new ArrayList<>();
+    private final Map<String, Integer> docIdByUserId = new HashMap<>();
+    private final Map<Long, IntList> postings = new HashMap<>();
+    private int deletedDocs;
+
+    // =================== LIFECYCLE ===================
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        List<User> users = userRepository.findAll();
+
+        lock.writeLock().lock();
+        try {
+            clear();
+            for (User user : users) {
+                addDocument(toEntry(user));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        log.info("User search index built with {} users and {} grams in {} ms",
+                users.size(), postings.size(), System.currentTimeMillis() - start);
+    }
+
+    // =================== MAINTENANCE ===================
+
+    /**
+     * Adds or replaces the given user. Called with the saved entity.
+     */
+    public void index(User user) {
+        if (user == null || user.getId() == null) {
+            return;
+        }
+        IndexedUser entry = toEntry(user);
+
+        lock.writeLock().lock();
+        try {
+            Integer existing = docIdByUserId.get(user.getId());
+            if (existing != null) {
+                IndexedUser current = docs.get(existing);
+                if (entry != null && Arrays.deepEquals(current.words, entry.words)) {
+                    // Searchable text is unchanged, just refresh the cached fields
+                    docs.set(existing, entry);
+                    return;
+                }
+                deleteDocument(existing);
+            }
+            addDocument(entry);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Drops the user from the index. Called with the id of a deleted user.
+     */
+    public void remove(String userId) {
+        lock.writeLock().lock();
+        try {
+            Integer existing = docIdByUserId.get(userId);
+            if (existing != null) {
+                deleteDocument(existing);
+                compactIfNeeded();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // =================== QUERIES ===================
+
+    /**
+     * Returns up to {@code limit} users matching every word of the query, best match first.
+     * Short words (one or two characters) match as word prefixes, longer words as substrings.
+     *
+     * @param role       restricts results to a role, or {@code null} for any role
+     * @param activeOnly skips deactivated accounts
+     */
+    public List<UserProfileResponse> search(String query, User.UserRole role, boolean activeOnly, int limit) {
+        String[] tokens = tokenize(query);
+        if (tokens.length == 0 || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            IntList candidates = null;
+            for (String token : tokens) {
+                IntList tokenPostings = rarestPostings(token);
+                if (tokenPostings == null) {
+                    return List.of();
+                }
+                if (candidates == null || tokenPostings.size < candidates.size) {
+                    candidates = tokenPostings;
+                }
+            }
+
+            // Min-heap of (score << 32 | ~docId) so ties prefer the earlier indexed user
+            PriorityQueue<Long> top = new PriorityQueue<>(limit + 1);
+            for (int i = 0; i < candidates.size; i++) {
+                int docId = candidates.values[i];
+                IndexedUser doc = docs.get(docId);
+                if (doc == null || !accepts(doc, role, activeOnly)) {
+                    continue;
+                }
+                int score = score(doc.words, tokens);
+                if (score == 0) {
+                    continue;
+                }
+                top.offer(((long) score << 32) | (~docId & 0xFFFFFFFFL));
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+
+            UserProfileResponse[] results = new UserProfileResponse[top.size()];
+            for (int i = results.length - 1; i >= 0; i--) {
+                int docId = ~(int) (top.poll() & 0xFFFFFFFFL);
+                results[i] = docs.get(docId).profile;
+            }
+            return Arrays.asList(results);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns every indexed user, optionally restricted to a role.
+     */
+    public List<UserProfileResponse> findAll(User.UserRole role, boolean activeOnly) {
+        lock.readLock().lock();
+        try {
+            List<UserProfileResponse> results = new ArrayList<>(docIdByUserId.size());
+            for (IndexedUser doc : docs) {
+                if (doc != null && accepts(doc, role, activeOnly)) {
+                    results.add(doc.profile);
+                }
+            }
+            return results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docIdByUserId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // =================== INTERNALS ===================
+
+    private void clear() {
+        docs.clear();
+        docIdByUserId.clear();
+        postings.clear();
+        deletedDocs = 0;
+    }
+
+    /**
+     * The cached projection of a user, or {@code null} for users without a role or profile, which searches never return.
+     */
+    private static IndexedUser toEntry(User user) {
+        if (user.getId() == null || user.getRole() == null) {
+            return null;
+        }
+        UserProfileResponse profile = UserService.mapToUserProfileResponse(user);
+        if (profile == null) {
+            return null;
+        }
+        return new IndexedUser(profile, user.getRole(), user.isActive(), extractWords(user));
+    }
+
+    private void addDocument(IndexedUser entry) {
+        if (entry == null) {
+            return;
+        }
+        int docId = docs.size();
+        docs.add(entry);
+        docIdByUserId.put(entry.profile.getId(), docId);
+
+        for (String[] fieldWords : entry.words) {
+            for (String word : fieldWords) {
+                addPosting(gramKey(BOUNDARY, word.charAt(0), '\0'), docId);
+                if (word.length() >= 2) {
+                    addPosting(gramKey(BOUNDARY, word.charAt(0), word.charAt(1)), docId);
+                }
+                for (int i = 0; i + 3 <= word.length(); i++) {
+                    addPosting(gramKey(word.charAt(i), word.charAt(i + 1), word.charAt(i + 2)), docId);
+                }
+            }
+        }
+    }
+
+    private void deleteDocument(int docId) {
+        IndexedUser doc = docs.set(docId, null);
+        if (doc != null) {
+            docIdByUserId.remove(doc.profile.getId());
+            deletedDocs++;
+        }
+    }
+
+    /**
+     * Postings are append-only, so replaced and removed users leave dead ids behind.
+     * Rebuild from the cached entries once they make up a quarter of the index.
+     */
+    private void compactIfNeeded() {
+        if (deletedDocs < 1024 || deletedDocs < docs.size() / 4) {
+            return;
+        }
+        List<IndexedUser> live = new ArrayList<>(docIdByUserId.size());
+        for (IndexedUser doc : docs) {
+            if (doc != null) {
+                live.add(doc);
+            }
+        }
+        clear();
+        for (IndexedUser doc : live) {
+            addDocument(doc);
+        }
+        log.debug("Compacted user search index to {} users", live.size());
+    }
+
+    private void addPosting(long key, int docId) {
+        postings.computeIfAbsent(key, k -> new IntList()).addIfAbsentAtEnd(docId);
+    }
+
+    /**
+     * Smallest posting list that every match of the token must appear in,
+     * or {@code null} when some required gram is missing entirely.
+     */
+    private IntList rarestPostings(String token) {
+        if (token.length() < 3) {
+            char second = token.length() == 2 ? token.charAt(1) : '\0';
+            return postings.get(gramKey(BOUNDARY, token.charAt(0), second));
+        }
+        IntList rarest = null;
+        for (int i = 0; i + 3 <= token.length(); i++) {
+            IntList list = postings.get(gramKey(token.charAt(i), token.charAt(i + 1), token.charAt(i + 2)));
+            if (list == null) {
+                return null;
+            }
+            if (rarest == null || list.size < rarest.size) {
+                rarest = list;
+            }
+        }
+        return rarest;
+    }
+
+    private static boolean accepts(IndexedUser doc, User.UserRole role, boolean activeOnly) {
+        return (role == null || doc.role == role) && (!activeOnly || doc.active);
+    }
+
+    /**
+     * Sums the best field hit of every token; zero when any token has no hit at all.
+     */
+    private static int score(String[][] words, String[] tokens) {
+        int total = 0;
+        for (String token : tokens) {
+            int best = 0;
+            for (int f = 0; f < words.length; f++) {
+                int hit = fieldScore(words[f], token, token.length() >= 3);
+                best = Math.max(best, hit * FIELD_WEIGHTS[f]);
+            }
+            if (best == 0) {
+                return 0;
+            }
+            total += best;
+        }
+        return total;
+    }
+
+    private static int fieldScore(String[] fieldWords, String token, boolean allowSubstring) {
+        int best = 0;
+        for (String word : fieldWords) {
+            if (word.equals(token)) {
+                return EXACT_WORD_SCORE;
+            }
+            if (word.startsWith(token)) {
+                best = WORD_PREFIX_SCORE;
+            } else if (allowSubstring && best == 0 && word.contains(token)) {
+                best = SUBSTRING_SCORE;
+            }
+        }
+        return best;
+    }
+
+    private static String[][] extractWords(User user) {
+        User.UserProfile profile = user.getProfile();
+        return new String[][]{
+                tokenize(profile != null ? profile.getFirstName() : null),
+                tokenize(profile != null ? profile.getLastName() : null),
+                tokenize(user.getEmail()),
+                tokenize(profile != null ? profile.getDepartment() : null)
+        };
+    }
+
+    /**
+     * Splits on anything that is not a letter or digit, so "jane.doe@uni.edu" yields four words.
+     */
+    private static String[] tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return new String[0];
+        }
+        return Arrays.stream(text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(word -> !word.isEmpty())
+                .toArray(String[]::new);
+    }
+
+    private static long gramKey(char a, char b, char c) {
+        return ((long) a << 32) | ((long) b << 16) | c;
+    }
+
+    private record IndexedUser(UserProfileResponse profile, User.UserRole role, boolean active, String[][] words) {
+    }
+
+    /**
+     * Growable ascending int array used as a posting list.
+     */
+    private static final class IntList {
+        private int[] values = new int[4];
+        private int size;
+
+        void addIfAbsentAtEnd(int value) {
+            if (size > 0 && values[size - 1] == value) {
+                return;
+            }
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.edulink.backend.service;
+
+import com.edulink.backend.model.entity.User;
+import com.edulink.backend.util.MongoEvents;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.stereotype.Component;
+
+/**
+ * Feeds user saves and deletes into {@link UserSearchIndex}, so registration, profile edits,
+ * activation changes and any other repository write keep typeahead results current.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserSearchIndexListener extends AbstractMongoEventListener<User> {
+
+    private final UserSearchIndex userSearchIndex;
+
+    @Override
+    public void onAfterSave(AfterSaveEvent<User> event) {
+        userSearchIndex.index(event.getSource());
+    }
+
+    @Override
+    public void onAfterDelete(AfterDeleteEvent<User> event) {
+        MongoEvents.deletedIds(event).forEach(userSearchIndex::remove);
+    }
+}
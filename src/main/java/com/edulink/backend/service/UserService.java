@@ -7,6 +7,7 @@ import com.edulink.backend.model.entity.User;
 import com.edulink.backend.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -23,6 +24,10 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final PasswordService passwordService;
+    private final UserSearchIndex userSearchIndex;
+
+    @Value("${search.users.max-results:50}")
+    private int maxSearchResults;
 
     /**
      * Register a new user (student or lecturer)
@@ -380,37 +385,36 @@ public class UserService {
     }
 
     /**
-     * Search users by query string (name, email, department)
+     * Search users by query string (name, email, department), best matches first.
+     * Served from the in-memory {@link UserSearchIndex}, capped at search.users.max-results.
      */
-    public List<User> searchUsers(String query) {
-        log.info("Searching users with query: {}", query);
-        
-        if (query == null || query.trim().isEmpty()) {
-            return userRepository.findAll();
-        }
-        
-        String lowercaseQuery = query.toLowerCase().trim();
-        
-        return userRepository.findAll().stream()
-                .filter(user -> 
-                    (user.getProfile() != null && (
-                        (user.getProfile().getFirstName() != null && user.getProfile().getFirstName().toLowerCase().contains(lowercaseQuery)) ||
-                        (user.getProfile().getLastName() != null && user.getProfile().getLastName().toLowerCase().contains(lowercaseQuery)) ||
-                        (user.getEmail() != null && user.getEmail().toLowerCase().contains(lowercaseQuery)) ||
-                        (user.getProfile().getDepartment() != null && user.getProfile().getDepartment().toLowerCase().contains(lowercaseQuery))
-                    ))
-                )
-                .collect(Collectors.toList());
+    public List<UserProfileResponse> searchUsers(String query) {
+        log.debug("Searching users with query: {}", query);
+        return searchIndex(query, null, false);
     }
 
     /**
      * Search users by query string and role
      */
-    public List<User> searchUsersByRole(String query, User.UserRole role) {
-        log.info("Searching users with query: {} and role: {}", query, role);
-        return searchUsers(query).stream()
-                .filter(user -> user.getRole() == role)
-                .collect(Collectors.toList());
+    public List<UserProfileResponse> searchUsersByRole(String query, User.UserRole role) {
+        log.debug("Searching users with query: {} and role: {}", query, role);
+        return searchIndex(query, role, false);
+    }
+
+    /**
+     * Typeahead search over active accounts only, optionally restricted to a role.
+     * Inactive users are skipped before the result cap is applied.
+     */
+    public List<UserProfileResponse> searchActiveUsers(String query, User.UserRole role) {
+        log.debug("Searching active users with query: {} and role: {}", query, role);
+        return searchIndex(query, role, true);
+    }
+
+    private List<UserProfileResponse> searchIndex(String query, User.UserRole role, boolean activeOnly) {
+        if (query == null || query.trim().isEmpty()) {
+            return userSearchIndex.findAll(role, activeOnly);
+        }
+        return userSearchIndex.search(query, role, activeOnly, maxSearchResults);
     }
 
     /**
@@ -0,0 +1,94 @@
+package com.edulink.backend.service;
+
+import com.edulink.backend.model.entity.Appointment;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+
+/**
+ * Appointment counts and booked minutes of one lecturer, by weekday, start hour and status,
+ * in two flat arrays. An appointment's minutes are all counted in the hour it starts in.
+ */
+public final class UtilizationCube {
+
+    public static final int DAYS = 7;
+    public static final int HOURS = 24;
+    static final int STATUSES = Appointment.AppointmentStatus.values().length;
+    static final int SIZE = DAYS * HOURS * STATUSES;
+
+    private final long[] counts;
+    private final long[] minutes;
+
+    public UtilizationCube() {
+        this(new long[SIZE], new long[SIZE]);
+    }
+
+    private UtilizationCube(long[] counts, long[] minutes) {
+        this.counts = counts;
+        this.minutes = minutes;
+    }
+
+    /**
+     * Rebuild a cube from its persisted arrays. Arrays of another shape (the status enum
+     * changed since they were written) give an empty cube.
+     */
+    public static UtilizationCube of(long[] counts, long[] minutes) {
+        if (counts == null || minutes == null || counts.length != SIZE || minutes.length != SIZE) {
+            return new UtilizationCube();
+        }
+        return new UtilizationCube(counts.clone(), minutes.clone());
+    }
+
+    void add(LocalDateTime start, Integer durationMinutes, Appointment.AppointmentStatus status, int delta) {
+        int index = index(start.getDayOfWeek(), start.getHour(), status);
+        counts[index] += delta;
+        minutes[index] += (long) delta * (durationMinutes != null ? durationMinutes : 0);
+    }
+
+    void add(DayOfWeek day, int hour, Appointment.AppointmentStatus status, long count, long bookedMinutes) {
+        int index = index(day, hour, status);
+        counts[index] += count;
+        minutes[index] += bookedMinutes;
+    }
+
+    public long count(DayOfWeek day, int hour, Appointment.AppointmentStatus status) {
+        return counts[index(day, hour, status)];
+    }
+
+    public long minutes(DayOfWeek day, int hour, Appointment.AppointmentStatus status) {
+        return minutes[index(day, hour, status)];
+    }
+
+    public boolean isEmpty() {
+        for (long count : counts) {
+            if (count != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public void addAll(UtilizationCube other) {
+        for (int i = 0; i < SIZE; i++) {
+            counts[i] += other.counts[i];
+            minutes[i] += other.minutes[i];
+        }
+    }
+
+    public UtilizationCube copy() {
+        return new UtilizationCube(counts.clone(), minutes.clone());
+    }
+
+    public long[] countsArray() {
+        return counts.clone();
+    }
+
+    public long[] minutesArray() {
+        return minutes.clone();
+    }
+
+    private static int index(DayOfWeek day, int hour, Appointment.AppointmentStatus status) {
+        return ((day.getValue() - 1) * HOURS + hour) * STATUSES + status.ordinal();
+    }
+
+}
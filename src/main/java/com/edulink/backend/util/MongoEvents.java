@@ -0,0 +1,30 @@
+package com.edulink.backend.util;
+
+import org.bson.Document;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Helpers for reading Mongo mapping events.
+ */
+public final class MongoEvents {
+
+    private MongoEvents() {
+    }
+
+    /**
+     * Ids named by a delete's query: {_id: id}, or {_id: {$in: [...]}} for repository deletes of
+     * several documents. Empty when the delete was by any other criteria.
+     */
+    public static List<String> deletedIds(AfterDeleteEvent<?> event) {
+        Object id = event.getSource().get("_id");
+        if (id instanceof Document idQuery) {
+            return idQuery.get("$in") instanceof Collection<?> ids
+                    ? ids.stream().map(String::valueOf).toList()
+                    : List.of();
+        }
+        return id != null ? List.of(id.toString()) : List.of();
+    }
+}
@@ -0,0 +1,191 @@
+package com.edulink.backend.repository;
+
+import com.edulink.backend.model.entity.Appointment;
+import com.mongodb.ExplainVerbosity;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.model.Filters;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Benchmark for appointment conflict detection against lecturers with 10k historical appointments.
+ * <p>
+ * Needs a real MongoDB, so it only runs when one is supplied:
+ * {@code mvn test -Dtest=AppointmentConflictQueryBenchmarkTest -Dbenchmark.mongodb.uri=mongodb://localhost:27017}.
+ * Seeds a throwaway database, checks with explain() that the indexed query examines only the
+ * handful of active appointments near the requested slot, and prints its latency next to the old
+ * load-the-whole-history approach. The database is dropped afterwards.
+ */
+@EnabledIfSystemProperty(named = "benchmark.mongodb.uri", matches = ".+")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@Slf4j
+class AppointmentConflictQueryBenchmarkTest {
+
+    private static final int LECTURERS = 5;
+    private static final int HISTORY_PER_LECTURER = 10_000;
+    private static final int UPCOMING_PER_LECTURER = 40;
+    private static final int STUDENTS = 500;
+    private static final int QUERIES = 1_000;
+
+    private MongoClient client;
+    private MongoTemplate mongoTemplate;
+    private AppointmentRepository appointmentRepository;
+    private String databaseName;
+    private final LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+
+    @BeforeAll
+    void seed() {
+        client = MongoClients.create(System.getProperty("benchmark.mongodb.uri"));
+        databaseName = "edulink_conflict_benchmark_" + System.currentTimeMillis();
+        mongoTemplate = new MongoTemplate(client, databaseName);
+        appointmentRepository = new MongoRepositoryFactory(mongoTemplate)
+                .getRepository(AppointmentRepository.class, new AppointmentRepositoryImpl(mongoTemplate));
+
+        IndexOperations indexOps = mongoTemplate.indexOps(Appointment.class);
+        IndexResolver.create(mongoTemplate.getConverter().getMappingContext())
+                .resolveIndexFor(Appointment.class)
+                .forEach(indexOps::createIndex);
+
+        Random random = new Random(42);
+        for (int l = 0; l < LECTURERS; l++) {
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Appointment.class);
+            // Finished history: one appointment every two hours going back from yesterday
+            for (int i = 0; i < HISTORY_PER_LECTURER; i++) {
+                Appointment.AppointmentStatus status = random.nextInt(10) == 0
+                        ? Appointment.AppointmentStatus.CANCELLED
+                        : Appointment.AppointmentStatus.COMPLETED;
+                bulk.insert(appointment(l, random, now.minusDays(1).minusHours(2L * i), status));
+            }
+            // Upcoming bookings: one a day at 10:00
+            for (int i = 0; i < UPCOMING_PER_LECTURER; i++) {
+                bulk.insert(appointment(l, random, now.toLocalDate().plusDays(i + 1L).atTime(10, 0),
+                        Appointment.AppointmentStatus.CONFIRMED));
+            }
+            bulk.execute();
+        }
+    }
+
+    @AfterAll
+    void dropDatabase() {
+        if (client != null) {
+            client.getDatabase(databaseName).drop();
+            client.close();
+        }
+    }
+
+    @Test
+    void conflictQueryOnlyExaminesActiveAppointmentsNearTheSlot() {
+        LocalDateTime start = now.toLocalDate().plusDays(3).atTime(10, 15);
+        LocalDateTime end = start.plusMinutes(30);
+
+        List<Appointment> conflicts = appointmentRepository.findConflictingAppointmentsForLecturer(lecturerId(0), start, end);
+        assertThat(conflicts).hasSize(1);
+
+        Document explain = mongoTemplate.getCollection("appointments")
+                .find(conflictFilter(lecturerId(0), start, end))
+                .explain(ExplainVerbosity.EXECUTION_STATS);
+        Document stats = explain.get("executionStats", Document.class);
+
+        assertThat(explain.get("queryPlanner", Document.class).toJson()).contains("lecturer_conflict_idx");
+        // The range scan starts at endAt > start, so none of the 10k finished appointments are read
+        assertThat(stats.get("totalDocsExamined", Number.class).intValue()).isLessThanOrEqualTo(UPCOMING_PER_LECTURER);
+        assertThat(stats.get("totalKeysExamined", Number.class).intValue()).isLessThanOrEqualTo(UPCOMING_PER_LECTURER + 2);
+    }
+
+    @Test
+    void reportConflictQueryLatency() {
+        Random random = new Random(7);
+        List<LocalDateTime> starts = new ArrayList<>();
+        for (int i = 0; i < QUERIES; i++) {
+            starts.add(now.toLocalDate().plusDays(1 + random.nextInt(UPCOMING_PER_LECTURER)).atTime(8 + random.nextInt(8), 0));
+        }
+
+        // Warm up connection pool and caches
+        appointmentRepository.findConflictingAppointmentsForLecturer(lecturerId(0), starts.get(0), starts.get(0).plusMinutes(30));
+        appointmentRepository.findByLecturerIdOrderByScheduledAtDesc(lecturerId(0));
+
+        long indexedNanos = 0;
+        for (int i = 0; i < QUERIES; i++) {
+            LocalDateTime start = starts.get(i);
+            long begin = System.nanoTime();
+            appointmentRepository.findConflictingAppointmentsForLecturer(lecturerId(i % LECTURERS), start, start.plusMinutes(30));
+            indexedNanos += System.nanoTime() - begin;
+        }
+
+        // Previous implementation: load the lecturer's whole history and filter overlaps in Java
+        int historyQueries = QUERIES / 20;
+        long historyNanos = 0;
+        for (int i = 0; i < historyQueries; i++) {
+            LocalDateTime start = starts.get(i);
+            LocalDateTime end = start.plusMinutes(30);
+            long begin = System.nanoTime();
+            appointmentRepository.findByLecturerIdOrderByScheduledAtDesc(lecturerId(i % LECTURERS)).stream()
+                    .filter(a -> a.isPending() || a.isConfirmed())
+                    .filter(a -> a.getScheduledAt().isBefore(end) && a.getEndTime().isAfter(start))
+                    .count();
+            historyNanos += System.nanoTime() - begin;
+        }
+
+        double indexedMs = indexedNanos / 1e6 / QUERIES;
+        double historyMs = historyNanos / 1e6 / historyQueries;
+        log.info("Conflict detection, {} lecturers x {} historical appointments: indexed endAt query {} ms/query over {} queries, full history scan {} ms/query over {} queries",
+                LECTURERS, HISTORY_PER_LECTURER, String.format("%.3f", indexedMs), QUERIES,
+                String.format("%.3f", historyMs), historyQueries);
+
+        assertThat(indexedMs).isLessThan(historyMs);
+    }
+
+    private Appointment appointment(int lecturer, Random random, LocalDateTime scheduledAt, Appointment.AppointmentStatus status) {
+        Appointment appointment = Appointment.builder()
+                .lecturerId(lecturerId(lecturer))
+                .studentId("student-" + random.nextInt(STUDENTS))
+                .subject("Benchmark appointment")
+                .scheduledAt(scheduledAt)
+                .durationMinutes(30)
+                .type(Appointment.AppointmentType.OFFICE_HOURS)
+                .status(status)
+                .bookedAt(scheduledAt.minusDays(7))
+                .build();
+        // No mapping event listeners are registered outside the application context
+        appointment.refreshDerivedFields();
+        return appointment;
+    }
+
+    private static String lecturerId(int lecturer) {
+        return "lecturer-" + lecturer;
+    }
+
+    private static Bson conflictFilter(String lecturerId, LocalDateTime start, LocalDateTime end) {
+        return Filters.and(
+                Filters.eq("lecturerId", lecturerId),
+                Filters.in("status", "PENDING", "CONFIRMED"),
+                Filters.gt("endAt", toDate(start)),
+                Filters.lt("scheduledAt", toDate(end)));
+    }
+
+    private static Date toDate(LocalDateTime dateTime) {
+        return Date.from(dateTime.atZone(ZoneId.systemDefault()).toInstant());
+    }
+}
@@ -0,0 +1,145 @@
+package com.edulink.backend.service;
+
+import com.edulink.backend.dto.response.AppointmentResponse;
+import com.edulink.backend.model.entity.Appointment;
+import com.edulink.backend.model.entity.Course;
+import com.edulink.backend.model.entity.User;
+import com.edulink.backend.repository.AppointmentRepository;
+import com.edulink.backend.repository.CourseRepository;
+import com.edulink.backend.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.when;
+
+/**
+ * Counts the Mongo commands issued per appointment list request. Every repository call is one
+ * command, so the count must stay constant however many appointments the list holds.
+ */
+class AppointmentListQueryCountTest {
+
+    private static final String LECTURER_ID = "lecturer-1";
+    private static final int STUDENTS = 40;
+    private static final int COURSES = 5;
+
+    private AppointmentRepository appointmentRepository;
+    private UserRepository userRepository;
+    private CourseRepository courseRepository;
+    private AppointmentService appointmentService;
+
+    @BeforeEach
+    void setUp() {
+        appointmentRepository = mock(AppointmentRepository.class);
+        userRepository = mock(UserRepository.class);
+        courseRepository = mock(CourseRepository.class);
+
+        when(userRepository.findAllById(anyIterable())).thenAnswer(invocation -> {
+            List<User> users = new ArrayList<>();
+            ((Iterable<String>) invocation.getArgument(0)).forEach(id -> users.add(user(id)));
+            return users;
+        });
+        when(userRepository.findById(LECTURER_ID)).thenReturn(Optional.of(user(LECTURER_ID)));
+        when(courseRepository.findAllById(anyIterable())).thenAnswer(invocation -> {
+            List<Course> courses = new ArrayList<>();
+            ((Iterable<String>) invocation.getArgument(0)).forEach(id -> courses.add(Course.builder().id(id).name("Course " + id).build()));
+            return courses;
+        });
+
+        appointmentService = new AppointmentService(appointmentRepository, userRepository, courseRepository,
+                mock(SlotReservationService.class), mock(AppointmentMetricsService.class),
+                new AppointmentResponseAssembler(userRepository, courseRepository),
+                mock(RecurringAppointmentService.class), mock(LifecycleTimerService.class),
+                mock(LecturerSlotIndex.class), mock(SlotListCache.class));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 20, 200})
+    void filteredListUsesThreeCommandsRegardlessOfSize(int size) {
+        when(appointmentRepository.findAppointmentsByFilters(eq(LECTURER_ID), any(), any(), any()))
+                .thenReturn(appointments(size));
+
+        List<AppointmentResponse> responses = appointmentService.getAppointmentsByUser(LECTURER_ID, null, null, null);
+
+        assertThat(responses).hasSize(size).allSatisfy(response -> {
+            assertThat(response.getStudent()).isNotNull();
+            assertThat(response.getLecturer()).isNotNull();
+            assertThat(response.getCourseName()).isNotNull();
+        });
+        // The appointments, then one findAllById for users and one for courses
+        assertThat(commands(appointmentRepository)).isEqualTo(1);
+        assertThat(commands(userRepository)).isEqualTo(1);
+        assertThat(commands(courseRepository)).isEqualTo(1);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 20, 200})
+    void upcomingListUsesFourCommandsRegardlessOfSize(int size) {
+        when(appointmentRepository.findUpcomingAppointmentsByLecturerId(eq(LECTURER_ID), any()))
+                .thenReturn(appointments(size));
+
+        List<AppointmentResponse> responses = appointmentService.getUpcomingAppointments(LECTURER_ID);
+
+        assertThat(responses).hasSize(size);
+        // The caller's role, the appointments, then one findAllById for users and one for courses
+        assertThat(commands(appointmentRepository)).isEqualTo(1);
+        assertThat(commands(userRepository)).isEqualTo(2);
+        assertThat(commands(courseRepository)).isEqualTo(1);
+    }
+
+    @Test
+    void listWithoutCoursesSkipsCourseLookup() {
+        List<Appointment> appointments = appointments(50);
+        appointments.forEach(appointment -> appointment.setCourseId(null));
+        when(appointmentRepository.findAppointmentsByFilters(eq(LECTURER_ID), any(), any(), any()))
+                .thenReturn(appointments);
+
+        appointmentService.getAppointmentsByUser(LECTURER_ID, null, null, null);
+
+        assertThat(commands(appointmentRepository) + commands(userRepository) + commands(courseRepository)).isEqualTo(2);
+    }
+
+    private static int commands(Object repository) {
+        return mockingDetails(repository).getInvocations().size();
+    }
+
+    private static List<Appointment> appointments(int size) {
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withHour(9).withMinute(0).withSecond(0).withNano(0);
+        List<Appointment> appointments = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            appointments.add(Appointment.builder()
+                    .id("appointment-" + i)
+                    .lecturerId(LECTURER_ID)
+                    .studentId("student-" + (i % STUDENTS))
+                    .courseId("course-" + (i % COURSES))
+                    .subject("Consultation " + i)
+                    .scheduledAt(start.plusMinutes(30L * i))
+                    .durationMinutes(30)
+                    .type(Appointment.AppointmentType.CONSULTATION)
+                    .status(Appointment.AppointmentStatus.CONFIRMED)
+                    .build());
+        }
+        return appointments;
+    }
+
+    private static User user(String id) {
+        return User.builder()
+                .id(id)
+                .email(id + "@edulink.test")
+                .role(id.startsWith("lecturer") ? User.UserRole.LECTURER : User.UserRole.STUDENT)
+                .profile(User.UserProfile.builder().firstName("First " + id).lastName("Last").build())
+                .build();
+    }
+}
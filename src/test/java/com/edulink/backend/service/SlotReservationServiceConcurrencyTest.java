@@ -0,0 +1,168 @@
+package com.edulink.backend.service;
+
+import com.edulink.backend.model.entity.Appointment;
+import com.edulink.backend.model.entity.AppointmentSlotClaim;
+import com.edulink.backend.repository.AppointmentSlotClaimRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Fires hundreds of simultaneous bookings at one slot and checks that exactly one wins.
+ * <p>
+ * The claim repository is backed by an in-memory store that enforces the unique
+ * (participantId, slotStart) index the way Mongo does: an ordered insert stops at the first
+ * duplicate with a {@link DuplicateKeyException}, leaving the documents before it in place.
+ */
+class SlotReservationServiceConcurrencyTest {
+
+    private static final int BOOKINGS = 400;
+    private static final int THREADS = 64;
+
+    private final Map<String, AppointmentSlotClaim> claimsByKey = new ConcurrentHashMap<>();
+    private SlotReservationService slotReservationService;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        AppointmentSlotClaimRepository claimRepository = mock(AppointmentSlotClaimRepository.class);
+
+        when(claimRepository.findByAppointmentId(anyString())).thenAnswer(invocation -> {
+            String appointmentId = invocation.getArgument(0);
+            return claimsByKey.values().stream()
+                    .filter(claim -> claim.getAppointmentId().equals(appointmentId))
+                    .collect(Collectors.toList());
+        });
+        when(claimRepository.insert(anyIterable())).thenAnswer(invocation -> {
+            Iterable<AppointmentSlotClaim> claims = invocation.getArgument(0);
+            List<AppointmentSlotClaim> inserted = new ArrayList<>();
+            for (AppointmentSlotClaim claim : claims) {
+                AppointmentSlotClaim existing = claimsByKey.putIfAbsent(uniqueKey(claim), claim);
+                if (existing != null) {
+                    throw new DuplicateKeyException("E11000 duplicate key error: participant_slot_unique_idx " + uniqueKey(claim));
+                }
+                inserted.add(claim);
+            }
+            return inserted;
+        });
+        doAnswer(invocation -> {
+            Iterable<String> ids = invocation.getArgument(0);
+            Set<String> idSet = new HashSet<>();
+            ids.forEach(idSet::add);
+            claimsByKey.values().removeIf(claim -> idSet.contains(claim.getId()));
+            return null;
+        }).when(claimRepository).deleteAllById(anyIterable());
+
+        slotReservationService = new SlotReservationService(claimRepository, mock(MongoTemplate.class));
+        executor = Executors.newFixedThreadPool(THREADS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void exactlyOneOfManySimultaneousBookingsOfTheSameSlotSucceeds() throws Exception {
+        LocalDateTime slot = LocalDateTime.of(2030, 3, 4, 10, 0);
+        List<Appointment> bookings = new ArrayList<>();
+        for (int i = 0; i < BOOKINGS; i++) {
+            bookings.add(booking("appointment-" + i, "student-" + i, slot, 30));
+        }
+
+        List<Appointment> winners = bookConcurrently(bookings);
+
+        assertThat(winners).hasSize(1);
+        assertOnlyWinnerHoldsClaims(winners.get(0));
+    }
+
+    @Test
+    void exactlyOneOfManySimultaneousOverlappingBookingsSucceeds() throws Exception {
+        // Different start times that all overlap 10:25-10:30, so at most one of them can fit
+        LocalDateTime base = LocalDateTime.of(2030, 3, 4, 10, 0);
+        List<Appointment> bookings = new ArrayList<>();
+        for (int i = 0; i < BOOKINGS; i++) {
+            bookings.add(booking("appointment-" + i, "student-" + i, base.plusMinutes(5L * (i % 6)), 30));
+        }
+
+        List<Appointment> winners = bookConcurrently(bookings);
+
+        assertThat(winners).hasSize(1);
+        assertOnlyWinnerHoldsClaims(winners.get(0));
+    }
+
+    private List<Appointment> bookConcurrently(List<Appointment> bookings) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+
+        for (Appointment booking : bookings) {
+            results.add(executor.submit(() -> {
+                start.await();
+                try {
+                    slotReservationService.reserve(booking);
+                    return true;
+                } catch (IllegalStateException e) {
+                    return false;
+                }
+            }));
+        }
+
+        // Release every thread at once; the pool size keeps THREADS of them racing at any moment
+        start.countDown();
+
+        List<Appointment> winners = new ArrayList<>();
+        for (int i = 0; i < results.size(); i++) {
+            if (results.get(i).get(30, TimeUnit.SECONDS)) {
+                winners.add(bookings.get(i));
+            }
+        }
+        return winners;
+    }
+
+    private void assertOnlyWinnerHoldsClaims(Appointment winner) {
+        // Losers rolled back whatever buckets they got before hitting the duplicate
+        assertThat(claimsByKey.values())
+                .isNotEmpty()
+                .allSatisfy(claim -> assertThat(claim.getAppointmentId()).isEqualTo(winner.getId()));
+        // 30 minutes = 6 buckets, for the lecturer and the student
+        assertThat(claimsByKey).hasSize(12);
+    }
+
+    private static Appointment booking(String id, String studentId, LocalDateTime scheduledAt, int durationMinutes) {
+        return Appointment.builder()
+                .id(id)
+                .lecturerId("lecturer-1")
+                .studentId(studentId)
+                .scheduledAt(scheduledAt)
+                .durationMinutes(durationMinutes)
+                .status(Appointment.AppointmentStatus.PENDING)
+                .build();
+    }
+
+    private static String uniqueKey(AppointmentSlotClaim claim) {
+        return claim.getParticipantId() + "|" + claim.getSlotStart();
+    }
+}